@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.vault.support.JsonMapFlattener;
+
+/**
+ * Benchmarks for {@link JsonMapFlattener} over Key-Value payloads.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMapFlattenerBenchmarks {
+
+	@Param({ "10", "100", "1000", "10000" })
+	int keys;
+
+	@Param({ "FLAT", "NESTED", "LARGE_VALUES" })
+	Payloads.Shape shape;
+
+	Map<String, Object> payload;
+
+	Map<String, Object> versionedPayload;
+
+	@Setup
+	public void setUp() {
+		this.payload = Payloads.create(this.keys, this.shape);
+		this.versionedPayload = Payloads.wrapData(this.payload);
+	}
+
+	@Benchmark
+	public Map<String, Object> flatten() {
+		return JsonMapFlattener.flatten(this.payload);
+	}
+
+	@Benchmark
+	public Map<String, Object> flattenVersioned() {
+		return JsonMapFlattener.flatten(this.versionedPayload);
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Factory for Vault response payloads of various sizes and shapes.
+ *
+ * @author Mark Paluch
+ */
+final class Payloads {
+
+	private static final int LARGE_VALUE_LENGTH = 1024;
+
+	private Payloads() {
+	}
+
+	/**
+	 * Create a payload with {@code keys} leaf values.
+	 * @param keys number of leaf values.
+	 * @param shape the payload shape.
+	 * @return the payload.
+	 */
+	static Map<String, Object> create(int keys, Shape shape) {
+
+		Map<String, Object> payload = new LinkedHashMap<>();
+
+		for (int i = 0; i < keys; i++) {
+
+			switch (shape) {
+
+			case FLAT:
+				payload.put("key" + i, "value" + i);
+				break;
+
+			case NESTED:
+				putNested(payload, i);
+				break;
+
+			case LARGE_VALUES:
+				payload.put("key" + i, largeValue(i));
+				break;
+			}
+		}
+
+		return payload;
+	}
+
+	/**
+	 * Wrap {@code payload} in a {@code data} object as returned by the versioned
+	 * Key-Value backend.
+	 * @param payload the payload.
+	 * @return the wrapped payload.
+	 */
+	static Map<String, Object> wrapData(Map<String, Object> payload) {
+
+		Map<String, Object> metadata = new LinkedHashMap<>();
+		metadata.put("version", 1);
+		metadata.put("created_time", "2021-01-01T00:00:00.000000Z");
+
+		Map<String, Object> wrapped = new LinkedHashMap<>();
+		wrapped.put("data", payload);
+		wrapped.put("metadata", metadata);
+		return wrapped;
+	}
+
+	/**
+	 * Nest values three levels deep ({@code section.group.key}) and place every tenth
+	 * value into a list.
+	 */
+	@SuppressWarnings("unchecked")
+	private static void putNested(Map<String, Object> payload, int i) {
+
+		Map<String, Object> section = (Map<String, Object>) payload.computeIfAbsent("section" + (i / 100),
+				k -> new LinkedHashMap<>());
+		Map<String, Object> group = (Map<String, Object>) section.computeIfAbsent("group" + ((i / 10) % 10),
+				k -> new LinkedHashMap<>());
+
+		if (i % 10 == 0) {
+			List<Object> list = new ArrayList<>();
+			list.add("value" + i);
+			list.add(i);
+			group.put("list" + i, list);
+		}
+		else {
+			group.put("key" + i, "value" + i);
+		}
+	}
+
+	private static String largeValue(int i) {
+
+		StringBuilder builder = new StringBuilder(LARGE_VALUE_LENGTH);
+
+		while (builder.length() < LARGE_VALUE_LENGTH) {
+			builder.append(i).append('-');
+		}
+
+		return builder.substring(0, LARGE_VALUE_LENGTH);
+	}
+
+	/**
+	 * Payload shapes.
+	 */
+	enum Shape {
+
+		/**
+		 * Top-level string values.
+		 */
+		FLAT,
+
+		/**
+		 * Nested objects and lists.
+		 */
+		NESTED,
+
+		/**
+		 * Top-level values of 1 KiB each.
+		 */
+		LARGE_VALUES
+
+	}
+
+}
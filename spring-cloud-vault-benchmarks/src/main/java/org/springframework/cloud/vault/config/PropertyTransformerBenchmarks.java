@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.vault.config.KeyValueSecretBackendMetadata.UnwrappingPropertyTransformer;
+import org.springframework.vault.core.util.PropertyTransformer;
+import org.springframework.vault.support.JsonMapFlattener;
+
+/**
+ * Benchmarks for {@link PropertyTransformer}s applied to flattened versioned Key-Value
+ * payloads: unwrapping of {@code data.}, renaming through {@link PropertyNameTransformer}
+ * and the equivalent {@link CompiledPropertyTransformer}.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyTransformerBenchmarks {
+
+	@Param({ "10", "100", "1000", "10000" })
+	int keys;
+
+	@Param({ "FLAT", "NESTED" })
+	Payloads.Shape shape;
+
+	Map<String, Object> flattened;
+
+	PropertyTransformer unwrap;
+
+	PropertyTransformer unwrapAndRename;
+
+	PropertyTransformer compiled;
+
+	@Setup
+	public void setUp() {
+
+		this.flattened = JsonMapFlattener.flatten(Payloads.wrapData(Payloads.create(this.keys, this.shape)));
+
+		PropertyNameTransformer rename = new PropertyNameTransformer();
+		rename.addKeyTransformation("key1", "spring.datasource.username");
+		rename.addKeyTransformation("key2", "spring.datasource.password");
+
+		this.unwrap = UnwrappingPropertyTransformer.unwrap("data");
+		this.unwrapAndRename = this.unwrap.andThen(rename);
+		this.compiled = CompiledPropertyTransformer.compile(this.unwrap, rename);
+	}
+
+	@Benchmark
+	public Map<String, Object> unwrap() {
+		return this.unwrap.transformProperties(this.flattened);
+	}
+
+	@Benchmark
+	public Map<String, Object> unwrapAndRename() {
+		return this.unwrapAndRename.transformProperties(this.flattened);
+	}
+
+	@Benchmark
+	public Map<String, Object> compiledUnwrapAndRename() {
+		return this.compiled.transformProperties(this.flattened);
+	}
+
+}
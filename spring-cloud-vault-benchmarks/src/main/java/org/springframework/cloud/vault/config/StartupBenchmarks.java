@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.vault.util.FakeVaultServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+
+/**
+ * Measures the time until a Spring Boot application importing Vault config locations
+ * through {@code spring.config.import} is ready. Vault is served by
+ * {@link FakeVaultServer} with a configurable per-request latency.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class StartupBenchmarks {
+
+	@Param({ "1", "10", "100" })
+	int contexts;
+
+	@Param({ "TOKEN", "APPROLE" })
+	String authentication;
+
+	@Param({ "false", "true" })
+	boolean lifecycle;
+
+	@Param({ "0", "5" })
+	int latencyMillis;
+
+	FakeVaultServer vault;
+
+	Map<String, Object> properties;
+
+	@Nullable
+	ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+
+		this.vault = FakeVaultServer.start();
+		this.vault.setLatency(Duration.ofMillis(this.latencyMillis));
+
+		StringJoiner locations = new StringJoiner(",");
+
+		for (int i = 0; i < this.contexts; i++) {
+
+			String path = "secret/application" + i;
+			this.vault.putSecret(path, Collections.singletonMap("key" + i, "value" + i));
+			locations.add("vault://" + path);
+		}
+
+		Map<String, Object> properties = new LinkedHashMap<>(this.vault.getProperties());
+		properties.put("spring.config.import", locations.toString());
+		properties.put("spring.cloud.vault.authentication", this.authentication);
+		properties.put("spring.cloud.vault.app-role.role-id", "role-id");
+		properties.put("spring.cloud.vault.app-role.secret-id", "secret-id");
+		properties.put("spring.cloud.vault.config.lifecycle.enabled", this.lifecycle);
+		properties.put("spring.cloud.vault.session.lifecycle.enabled", this.lifecycle);
+		properties.put("spring.main.banner-mode", "off");
+		properties.put("logging.level.root", "warn");
+
+		this.properties = properties;
+	}
+
+	@TearDown(Level.Invocation)
+	public void closeContext() {
+
+		if (this.context != null) {
+			this.context.close();
+			this.context = null;
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.vault.close();
+	}
+
+	@Benchmark
+	public ConfigurableApplicationContext startup() {
+
+		// SpringApplicationBuilder can run only once
+		this.context = new SpringApplicationBuilder(BenchmarkApplication.class).web(WebApplicationType.NONE)
+				.properties(this.properties).run();
+		return this.context;
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableAutoConfiguration
+	static class BenchmarkApplication {
+
+	}
+
+}
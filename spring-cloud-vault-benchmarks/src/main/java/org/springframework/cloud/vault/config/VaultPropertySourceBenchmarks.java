@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.vault.client.VaultEndpoint;
+import org.springframework.vault.core.VaultTemplate;
+import org.springframework.vault.support.VaultToken;
+
+/**
+ * Benchmarks for {@link VaultPropertySource} initialization through
+ * {@link VaultConfigTemplate} (response parsing with and without streaming, flattening
+ * and property transformation) and property lookups through
+ * {@link CompositePropertySource}. Secrets are read through a {@link VaultTemplate}
+ * backed by an in-memory {@link ClientHttpRequestFactory} so that both read paths are
+ * measured without network overhead.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VaultPropertySourceBenchmarks {
+
+	private static final int PROPERTY_SOURCES = 3;
+
+	@Param({ "10", "100", "1000", "10000" })
+	int keys;
+
+	@Param({ "FLAT", "NESTED", "LARGE_VALUES" })
+	Payloads.Shape shape;
+
+	@Param({ "false", "true" })
+	boolean streaming;
+
+	VaultConfigTemplate configTemplate;
+
+	SecretBackendMetadata metadata;
+
+	CompositePropertySource composite;
+
+	String existingKey;
+
+	@Setup
+	public void setUp() throws Exception {
+
+		byte[] body = new ObjectMapper()
+				.writeValueAsBytes(Collections.singletonMap("data", Payloads.create(this.keys, this.shape)));
+
+		VaultProperties properties = new VaultProperties();
+		properties.getConfig().setStreaming(this.streaming);
+
+		this.configTemplate = new VaultConfigTemplate(vaultTemplate(body), properties);
+		this.metadata = KeyValueSecretBackendMetadata.create("secret/application");
+		this.composite = new CompositePropertySource("vault");
+
+		for (int i = 0; i < PROPERTY_SOURCES; i++) {
+
+			VaultPropertySource propertySource = new VaultPropertySource(this.configTemplate, false,
+					KeyValueSecretBackendMetadata.create("secret/application" + i));
+			propertySource.init();
+			this.composite.addPropertySource(propertySource);
+		}
+
+		this.existingKey = this.composite.getPropertyNames()[this.keys / 2];
+	}
+
+	@Benchmark
+	public VaultPropertySource init() {
+
+		VaultPropertySource propertySource = new VaultPropertySource(this.configTemplate, false, this.metadata);
+		propertySource.init();
+		return propertySource;
+	}
+
+	@Benchmark
+	public Object getExistingProperty() {
+		return this.composite.getProperty(this.existingKey);
+	}
+
+	@Benchmark
+	public Object getAbsentProperty() {
+		return this.composite.getProperty("spring.application.name");
+	}
+
+	@Benchmark
+	public String[] getPropertyNames() {
+		return this.composite.getPropertyNames();
+	}
+
+	@Benchmark
+	public void containsProperty(Blackhole blackhole) {
+		blackhole.consume(this.composite.containsProperty(this.existingKey));
+		blackhole.consume(this.composite.containsProperty("spring.application.name"));
+	}
+
+	/**
+	 * Create a {@link VaultTemplate} returning {@code body} for all secret reads. Mount
+	 * lookups ({@code sys/}) return {@literal 404 Not Found} so that secrets are read
+	 * without versioning.
+	 */
+	private static VaultTemplate vaultTemplate(byte[] body) {
+
+		ClientHttpRequestFactory requestFactory = (uri, httpMethod) -> new InMemoryRequest(uri, httpMethod,
+				uri.getPath().startsWith("/v1/sys/") ? null : body);
+
+		return new VaultTemplate(VaultEndpoint.create("localhost", 8200), requestFactory,
+				() -> VaultToken.of("token"));
+	}
+
+	/**
+	 * {@link org.springframework.http.client.ClientHttpRequest} responding with a fixed
+	 * body or {@literal 404 Not Found} if the body is {@literal null}.
+	 */
+	static class InMemoryRequest extends AbstractClientHttpRequest {
+
+		private final URI uri;
+
+		private final HttpMethod method;
+
+		@Nullable
+		private final byte[] body;
+
+		InMemoryRequest(URI uri, HttpMethod method, @Nullable byte[] body) {
+			this.uri = uri;
+			this.method = method;
+			this.body = body;
+		}
+
+		@Override
+		public String getMethodValue() {
+			return this.method.name();
+		}
+
+		@Override
+		public URI getURI() {
+			return this.uri;
+		}
+
+		@Override
+		protected OutputStream getBodyInternal(HttpHeaders headers) {
+			return new ByteArrayOutputStream();
+		}
+
+		@Override
+		protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+			return new InMemoryResponse(this.body);
+		}
+
+	}
+
+	/**
+	 * {@link ClientHttpResponse} with a JSON body.
+	 */
+	static class InMemoryResponse implements ClientHttpResponse {
+
+		@Nullable
+		private final byte[] body;
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		InMemoryResponse(@Nullable byte[] body) {
+			this.body = body;
+			this.headers.setContentType(MediaType.APPLICATION_JSON);
+		}
+
+		@Override
+		public HttpStatus getStatusCode() {
+			return this.body != null ? HttpStatus.OK : HttpStatus.NOT_FOUND;
+		}
+
+		@Override
+		public int getRawStatusCode() {
+			return getStatusCode().value();
+		}
+
+		@Override
+		public String getStatusText() {
+			return getStatusCode().getReasonPhrase();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(this.body != null ? this.body : new byte[0]);
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
@@ -55,4 +55,14 @@ public interface DatabaseSecretProperties extends VaultSecretBackendDescriptor {
 	 */
 	String getPasswordProperty();
 
+	/**
+	 * Whether to rotate credentials before their lease expires instead of renewing the
+	 * lease only. Rotated credentials are applied to HikariCP connection pools.
+	 * @return {@literal true} if credentials are rotated.
+	 * @since 3.1
+	 */
+	default boolean isRotate() {
+		return false;
+	}
+
 }
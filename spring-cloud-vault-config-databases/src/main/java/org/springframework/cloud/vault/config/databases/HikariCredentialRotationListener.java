@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config.databases;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.vault.core.lease.domain.RequestedSecret.Mode;
+import org.springframework.vault.core.lease.event.LeaseListener;
+import org.springframework.vault.core.lease.event.SecretLeaseCreatedEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseEvent;
+
+/**
+ * {@link LeaseListener} applying rotated database credentials to HikariCP connection
+ * pools. Credentials are updated through {@link HikariConfigMXBean} so that new
+ * connections use the rotated credentials. Existing connections are soft-evicted: idle
+ * connections are closed immediately and connections in use are closed once they are
+ * returned to the pool. Connections are therefore replaced gradually instead of failing
+ * at once when the previous credentials expire.
+ * <p>
+ * Rotated credentials are applied only to the pools that use the previous username of
+ * the rotated role. Pools using other credentials are left unchanged.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class HikariCredentialRotationListener implements LeaseListener {
+
+	private static final Log log = LogFactory.getLog(HikariCredentialRotationListener.class);
+
+	private final Map<String, String> usernames;
+
+	private final Supplier<? extends Collection<DataSource>> dataSources;
+
+	/**
+	 * Create a new {@link HikariCredentialRotationListener}.
+	 * @param usernames secret paths of rotated database credentials mapped to the
+	 * currently used username. Usernames may be {@literal null} if unknown. Must not be
+	 * {@literal null}.
+	 * @param dataSources supplier of {@link DataSource}s to update, must not be
+	 * {@literal null}.
+	 */
+	HikariCredentialRotationListener(Map<String, String> usernames,
+			Supplier<? extends Collection<DataSource>> dataSources) {
+
+		Assert.notNull(usernames, "Usernames must not be null");
+		Assert.notNull(dataSources, "DataSources must not be null");
+
+		this.usernames = new ConcurrentHashMap<>(usernames.size());
+		this.dataSources = dataSources;
+
+		usernames.forEach((path, username) -> this.usernames.put(path, username != null ? username : ""));
+	}
+
+	@Override
+	public void onLeaseEvent(SecretLeaseEvent leaseEvent) {
+
+		String path = leaseEvent.getSource().getPath();
+
+		if (!(leaseEvent instanceof SecretLeaseCreatedEvent) || leaseEvent.getSource().getMode() != Mode.ROTATE
+				|| !this.usernames.containsKey(path)) {
+			return;
+		}
+
+		Map<String, Object> secrets = ((SecretLeaseCreatedEvent) leaseEvent).getSecrets();
+		Object username = secrets.get("username");
+		Object password = secrets.get("password");
+
+		if (username == null || password == null) {
+			return;
+		}
+
+		String previous = this.usernames.put(path, username.toString());
+
+		for (DataSource dataSource : this.dataSources.get()) {
+
+			HikariDataSource hikariDataSource = unwrap(dataSource);
+
+			if (hikariDataSource != null && isUsing(hikariDataSource, previous)) {
+				rotate(hikariDataSource, username.toString(), password.toString());
+			}
+		}
+	}
+
+	private static boolean isUsing(HikariDataSource dataSource, String previousUsername) {
+		return StringUtils.hasText(previousUsername) && previousUsername.equals(dataSource.getUsername());
+	}
+
+	private static void rotate(HikariDataSource dataSource, String username, String password) {
+
+		HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+		config.setUsername(username);
+		config.setPassword(password);
+
+		HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+		if (pool != null) {
+			pool.softEvictConnections();
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug(String.format("Applied rotated credentials to connection pool %s", dataSource.getPoolName()));
+		}
+	}
+
+	@Nullable
+	private static HikariDataSource unwrap(DataSource dataSource) {
+
+		if (dataSource instanceof HikariDataSource) {
+			return (HikariDataSource) dataSource;
+		}
+
+		try {
+			return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+		}
+		catch (SQLException e) {
+			return null;
+		}
+	}
+
+}
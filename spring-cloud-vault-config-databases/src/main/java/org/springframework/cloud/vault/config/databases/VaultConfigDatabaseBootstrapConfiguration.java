@@ -16,11 +16,15 @@
 
 package org.springframework.cloud.vault.config.databases;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.vault.config.LeasingSecretBackendMetadata;
 import org.springframework.cloud.vault.config.PropertyNameTransformer;
 import org.springframework.cloud.vault.config.SecretBackendMetadata;
 import org.springframework.cloud.vault.config.SecretBackendMetadataFactory;
@@ -28,6 +32,8 @@ import org.springframework.cloud.vault.config.VaultSecretBackendDescriptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.vault.core.lease.domain.RequestedSecret.Mode;
 import org.springframework.vault.core.util.PropertyTransformer;
 
 /**
@@ -63,7 +69,9 @@ public class VaultConfigDatabaseBootstrapConfiguration {
 		 * {@link DatabaseSecretProperties}. This accessor transforms Vault's
 		 * username/password property names to names provided with
 		 * {@link DatabaseSecretProperties#getUsernameProperty()} and
-		 * {@link DatabaseSecretProperties#getPasswordProperty()}.
+		 * {@link DatabaseSecretProperties#getPasswordProperty()}. Credentials are
+		 * {@link Mode#ROTATE rotated} if {@link DatabaseSecretProperties#isRotate()} is
+		 * enabled for a non-static role.
 		 * @param properties must not be {@literal null}.
 		 * @return the {@link SecretBackendMetadata}
 		 */
@@ -75,10 +83,15 @@ public class VaultConfigDatabaseBootstrapConfiguration {
 			transformer.addKeyTransformation("username", properties.getUsernameProperty());
 			transformer.addKeyTransformation("password", properties.getPasswordProperty());
 
-			return new SecretBackendMetadata() {
+			return new LeasingSecretBackendMetadata() {
 
 				private final String credPath = properties.isStaticRole() ? "static-creds" : "creds";
 
+				@Override
+				public Mode getLeaseMode() {
+					return properties.isRotate() && !properties.isStaticRole() ? Mode.ROTATE : Mode.RENEW;
+				}
+
 				@Override
 				public String getName() {
 					return String.format("%s with Role %s", properties.getBackend(), properties.getRole());
@@ -105,11 +118,50 @@ public class VaultConfigDatabaseBootstrapConfiguration {
 			};
 		}
 
+		/**
+		 * Resolve the {@link DatabaseSecretProperties} for the configured role and all
+		 * {@link VaultDatabaseProperties#getRoles() additional roles}. Additional roles
+		 * inherit the backend and rotation settings.
+		 * @param properties must not be {@literal null}.
+		 * @return the {@link DatabaseSecretProperties} for each role.
+		 * @since 3.1
+		 */
+		static List<DatabaseSecretProperties> getRoles(VaultDatabaseProperties properties) {
+
+			Assert.notNull(properties, "VaultDatabaseProperties must not be null");
+
+			List<DatabaseSecretProperties> roles = new ArrayList<>(properties.getRoles().size() + 1);
+
+			if (properties.getRoles().isEmpty() || StringUtils.hasText(properties.getRole())) {
+				roles.add(properties);
+			}
+
+			properties.getRoles().forEach((name, role) -> roles.add(new AdditionalRole(name, role, properties)));
+
+			return roles;
+		}
+
 		@Override
 		public SecretBackendMetadata createMetadata(DatabaseSecretProperties backendDescriptor) {
 			return forDatabase(backendDescriptor);
 		}
 
+		@Override
+		public Collection<SecretBackendMetadata> createAllMetadata(DatabaseSecretProperties backendDescriptor) {
+
+			if (!(backendDescriptor instanceof VaultDatabaseProperties)) {
+				return SecretBackendMetadataFactory.super.createAllMetadata(backendDescriptor);
+			}
+
+			List<SecretBackendMetadata> metadata = new ArrayList<>();
+
+			for (DatabaseSecretProperties role : getRoles((VaultDatabaseProperties) backendDescriptor)) {
+				metadata.add(forDatabase(role));
+			}
+
+			return metadata;
+		}
+
 		@Override
 		public boolean supports(VaultSecretBackendDescriptor backendDescriptor) {
 			return backendDescriptor instanceof DatabaseSecretProperties;
@@ -117,4 +169,61 @@ public class VaultConfigDatabaseBootstrapConfiguration {
 
 	}
 
+	/**
+	 * {@link DatabaseSecretProperties} of an additional role falling back to the
+	 * settings of {@link VaultDatabaseProperties}.
+	 */
+	static class AdditionalRole implements DatabaseSecretProperties {
+
+		private final String name;
+
+		private final VaultDatabaseProperties.DatabaseRole role;
+
+		private final VaultDatabaseProperties defaults;
+
+		AdditionalRole(String name, VaultDatabaseProperties.DatabaseRole role, VaultDatabaseProperties defaults) {
+			this.name = name;
+			this.role = role;
+			this.defaults = defaults;
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return this.defaults.isEnabled();
+		}
+
+		@Override
+		public String getRole() {
+			return StringUtils.hasText(this.role.getRole()) ? this.role.getRole() : this.name;
+		}
+
+		@Override
+		public boolean isStaticRole() {
+			return this.role.isStaticRole();
+		}
+
+		@Override
+		public String getBackend() {
+			return StringUtils.hasText(this.role.getBackend()) ? this.role.getBackend() : this.defaults.getBackend();
+		}
+
+		@Override
+		public String getUsernameProperty() {
+			return StringUtils.hasText(this.role.getUsernameProperty()) ? this.role.getUsernameProperty()
+					: String.format("spring.datasource.%s.username", this.name);
+		}
+
+		@Override
+		public String getPasswordProperty() {
+			return StringUtils.hasText(this.role.getPasswordProperty()) ? this.role.getPasswordProperty()
+					: String.format("spring.datasource.%s.password", this.name);
+		}
+
+		@Override
+		public boolean isRotate() {
+			return this.role.getRotate() != null ? this.role.getRotate() : this.defaults.isRotate();
+		}
+
+	}
+
 }
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.vault.config.databases;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.lang.Nullable;
 
@@ -60,6 +63,19 @@ public class VaultDatabaseProperties implements DatabaseSecretProperties {
 	 */
 	private String passwordProperty = "spring.datasource.password";
 
+	/**
+	 * Rotate credentials before their lease expires and apply rotated credentials to
+	 * HikariCP connection pools. Leases are renewed only if disabled.
+	 */
+	private boolean rotate = false;
+
+	/**
+	 * Additional roles to obtain credentials for, keyed by a logical name. Credentials
+	 * of all roles are obtained from the configured backend unless a role specifies its
+	 * own backend.
+	 */
+	private Map<String, DatabaseRole> roles = new LinkedHashMap<>();
+
 	@Override
 	public boolean isEnabled() {
 		return this.enabled;
@@ -115,4 +131,121 @@ public class VaultDatabaseProperties implements DatabaseSecretProperties {
 		this.passwordProperty = passwordProperty;
 	}
 
+	@Override
+	public boolean isRotate() {
+		return this.rotate;
+	}
+
+	public void setRotate(boolean rotate) {
+		this.rotate = rotate;
+	}
+
+	public Map<String, DatabaseRole> getRoles() {
+		return this.roles;
+	}
+
+	public void setRoles(Map<String, DatabaseRole> roles) {
+		this.roles = roles;
+	}
+
+	/**
+	 * Configuration of an additional database role.
+	 *
+	 * @since 3.1
+	 */
+	public static class DatabaseRole {
+
+		/**
+		 * Role name for credentials. Defaults to the name of the role entry.
+		 */
+		@Nullable
+		private String role;
+
+		/**
+		 * Enable static role usage.
+		 */
+		private boolean staticRole = false;
+
+		/**
+		 * Database backend path. Defaults to the configured database backend.
+		 */
+		@Nullable
+		private String backend;
+
+		/**
+		 * Target property for the obtained username. Defaults to
+		 * {@code spring.datasource.<name>.username}.
+		 */
+		@Nullable
+		private String usernameProperty;
+
+		/**
+		 * Target property for the obtained password. Defaults to
+		 * {@code spring.datasource.<name>.password}.
+		 */
+		@Nullable
+		private String passwordProperty;
+
+		/**
+		 * Rotate credentials before their lease expires. Defaults to the configured
+		 * database rotation setting.
+		 */
+		@Nullable
+		private Boolean rotate;
+
+		@Nullable
+		public String getRole() {
+			return this.role;
+		}
+
+		public void setRole(@Nullable String role) {
+			this.role = role;
+		}
+
+		public boolean isStaticRole() {
+			return this.staticRole;
+		}
+
+		public void setStaticRole(boolean staticRole) {
+			this.staticRole = staticRole;
+		}
+
+		@Nullable
+		public String getBackend() {
+			return this.backend;
+		}
+
+		public void setBackend(@Nullable String backend) {
+			this.backend = backend;
+		}
+
+		@Nullable
+		public String getUsernameProperty() {
+			return this.usernameProperty;
+		}
+
+		public void setUsernameProperty(@Nullable String usernameProperty) {
+			this.usernameProperty = usernameProperty;
+		}
+
+		@Nullable
+		public String getPasswordProperty() {
+			return this.passwordProperty;
+		}
+
+		public void setPasswordProperty(@Nullable String passwordProperty) {
+			this.passwordProperty = passwordProperty;
+		}
+
+		@Nullable
+		public Boolean getRotate() {
+			return this.rotate;
+		}
+
+		public void setRotate(@Nullable Boolean rotate) {
+			this.rotate = rotate;
+		}
+
+	}
+
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config.databases;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.vault.config.VaultAutoConfiguration;
+import org.springframework.cloud.vault.config.databases.VaultConfigDatabaseBootstrapConfiguration.DatabaseSecretBackendMetadataFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.vault.core.lease.SecretLeaseContainer;
+import org.springframework.vault.core.lease.event.LeaseListener;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration
+ * Auto-configuration} applying rotated database credentials to HikariCP connection
+ * pools.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultDatabaseProperties#isRotate()
+ * @see VaultDatabaseProperties.DatabaseRole#getRotate()
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnBean(SecretLeaseContainer.class)
+@ConditionalOnProperty(prefix = "spring.cloud.vault.database", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VaultDatabaseProperties.class)
+@AutoConfigureAfter(VaultAutoConfiguration.class)
+public class VaultDatabaseRotationAutoConfiguration {
+
+	/**
+	 * Register a {@link LeaseListener} with {@link SecretLeaseContainer} that applies
+	 * rotated credentials to HikariCP connection pools.
+	 * @param properties the database properties.
+	 * @param secretLeaseContainer the lease container.
+	 * @param dataSources the data sources to update.
+	 * @param environment the environment to resolve currently used usernames.
+	 * @return the {@link LeaseListener}.
+	 */
+	@Bean
+	public LeaseListener vaultDatabaseCredentialRotationListener(VaultDatabaseProperties properties,
+			SecretLeaseContainer secretLeaseContainer, ObjectProvider<DataSource> dataSources,
+			Environment environment) {
+
+		Map<String, String> usernames = new LinkedHashMap<>();
+
+		for (DatabaseSecretProperties role : DatabaseSecretBackendMetadataFactory.getRoles(properties)) {
+			if (role.isRotate() && !role.isStaticRole()) {
+				usernames.put(DatabaseSecretBackendMetadataFactory.forDatabase(role).getPath(),
+						environment.getProperty(role.getUsernameProperty()));
+			}
+		}
+
+		HikariCredentialRotationListener listener = new HikariCredentialRotationListener(usernames,
+				() -> dataSources.orderedStream().collect(Collectors.toList()));
+
+		secretLeaseContainer.addLeaseListener(listener);
+
+		return listener;
+	}
+
+}
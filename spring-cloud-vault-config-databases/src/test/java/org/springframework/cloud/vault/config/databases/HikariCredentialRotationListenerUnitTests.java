@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config.databases;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.vault.core.lease.domain.Lease;
+import org.springframework.vault.core.lease.domain.RequestedSecret;
+import org.springframework.vault.core.lease.event.SecretLeaseCreatedEvent;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link HikariCredentialRotationListener}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HikariCredentialRotationListenerUnitTests {
+
+	@Mock
+	HikariDataSource dataSource;
+
+	@Mock
+	HikariConfigMXBean config;
+
+	@Mock
+	HikariPoolMXBean pool;
+
+	HikariCredentialRotationListener listener;
+
+	Map<String, Object> credentials = new HashMap<>();
+
+	@Before
+	public void before() {
+
+		this.listener = new HikariCredentialRotationListener(
+				Collections.singletonMap("database/creds/my-role", "v-initial"),
+				() -> Collections.singletonList(this.dataSource));
+
+		this.credentials.put("username", "v-rotated");
+		this.credentials.put("password", "secret");
+	}
+
+	@Test
+	public void shouldApplyRotatedCredentials() {
+
+		when(this.dataSource.getUsername()).thenReturn("v-initial");
+		when(this.dataSource.getHikariConfigMXBean()).thenReturn(this.config);
+		when(this.dataSource.getHikariPoolMXBean()).thenReturn(this.pool);
+
+		this.listener.onLeaseEvent(new SecretLeaseCreatedEvent(RequestedSecret.rotating("database/creds/my-role"),
+				Lease.of("lease-id", Duration.ofHours(1), true), this.credentials));
+
+		verify(this.config).setUsername("v-rotated");
+		verify(this.config).setPassword("secret");
+		verify(this.pool).softEvictConnections();
+	}
+
+	@Test
+	public void shouldNotApplyRotatedCredentialsToPoolsNotUsingVault() {
+
+		HikariDataSource other = mock(HikariDataSource.class);
+
+		HikariCredentialRotationListener listener = new HikariCredentialRotationListener(
+				Collections.singletonMap("database/creds/my-role", "v-initial"),
+				() -> Arrays.asList(this.dataSource, other));
+
+		when(this.dataSource.getUsername()).thenReturn("v-initial");
+		when(this.dataSource.getHikariConfigMXBean()).thenReturn(this.config);
+		when(other.getUsername()).thenReturn("app-user");
+
+		listener.onLeaseEvent(new SecretLeaseCreatedEvent(RequestedSecret.rotating("database/creds/my-role"),
+				Lease.of("lease-id", Duration.ofHours(1), true), this.credentials));
+
+		verify(this.config).setUsername("v-rotated");
+		verify(other, never()).getHikariConfigMXBean();
+	}
+
+	@Test
+	public void shouldIgnoreOtherSecrets() {
+
+		this.listener.onLeaseEvent(new SecretLeaseCreatedEvent(RequestedSecret.rotating("database/creds/other"),
+				Lease.of("lease-id", Duration.ofHours(1), true), this.credentials));
+		this.listener.onLeaseEvent(new SecretLeaseCreatedEvent(RequestedSecret.renewable("database/creds/my-role"),
+				Lease.of("lease-id", Duration.ofHours(1), true), this.credentials));
+
+		verifyNoInteractions(this.dataSource);
+	}
+
+	@Test
+	public void shouldApplyRotatedCredentialsToPoolsOfRotatedRole() {
+
+		HikariDataSource other = mock(HikariDataSource.class);
+
+		Map<String, String> usernames = new LinkedHashMap<>();
+		usernames.put("database/creds/reader", "v-reader");
+		usernames.put("database/creds/writer", "v-writer");
+
+		HikariCredentialRotationListener listener = new HikariCredentialRotationListener(usernames,
+				() -> Arrays.asList(this.dataSource, other));
+
+		when(this.dataSource.getUsername()).thenReturn("v-reader");
+		when(other.getUsername()).thenReturn("v-writer");
+		when(other.getHikariConfigMXBean()).thenReturn(this.config);
+
+		listener.onLeaseEvent(new SecretLeaseCreatedEvent(RequestedSecret.rotating("database/creds/writer"),
+				Lease.of("lease-id", Duration.ofHours(1), true), this.credentials));
+
+		verify(this.config).setUsername("v-rotated");
+		verify(this.dataSource, never()).getHikariConfigMXBean();
+	}
+
+}
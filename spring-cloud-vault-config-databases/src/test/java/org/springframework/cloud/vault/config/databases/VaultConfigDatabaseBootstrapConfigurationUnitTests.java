@@ -16,9 +16,16 @@
 
 package org.springframework.cloud.vault.config.databases;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
+import org.springframework.cloud.vault.config.LeasingSecretBackendMetadata;
 import org.springframework.cloud.vault.config.SecretBackendMetadata;
+import org.springframework.vault.core.lease.domain.RequestedSecret.Mode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -44,4 +51,67 @@ public class VaultConfigDatabaseBootstrapConfigurationUnitTests {
 		assertThat(metadata.getPath()).isEqualTo("database/static-creds/my-role");
 	}
 
+	@Test
+	public void shouldConsiderRotation() {
+
+		VaultDatabaseProperties properties = new VaultDatabaseProperties();
+		properties.setRole("my-role");
+
+		assertThat(getLeaseMode(properties)).isEqualTo(Mode.RENEW);
+
+		properties.setRotate(true);
+
+		assertThat(getLeaseMode(properties)).isEqualTo(Mode.ROTATE);
+
+		properties.setStaticRole(true);
+
+		assertThat(getLeaseMode(properties)).isEqualTo(Mode.RENEW);
+	}
+
+	@Test
+	public void shouldCreateMetadataForAdditionalRoles() {
+
+		VaultDatabaseProperties properties = new VaultDatabaseProperties();
+		properties.setRole("my-role");
+		properties.setRotate(true);
+
+		VaultDatabaseProperties.DatabaseRole reader = new VaultDatabaseProperties.DatabaseRole();
+		reader.setRotate(false);
+
+		VaultDatabaseProperties.DatabaseRole writer = new VaultDatabaseProperties.DatabaseRole();
+		writer.setRole("write-role");
+		writer.setBackend("postgres");
+		writer.setUsernameProperty("app.writer.username");
+
+		properties.getRoles().put("reader", reader);
+		properties.getRoles().put("writer", writer);
+
+		List<SecretBackendMetadata> metadata = new ArrayList<>(new VaultConfigDatabaseBootstrapConfiguration()
+				.databaseSecretBackendMetadataFactory().createAllMetadata(properties));
+
+		assertThat(metadata).extracting(SecretBackendMetadata::getPath).containsExactly("database/creds/my-role",
+				"database/creds/reader", "postgres/creds/write-role");
+		assertThat(metadata).extracting(it -> ((LeasingSecretBackendMetadata) it).getLeaseMode())
+				.containsExactly(Mode.ROTATE, Mode.RENEW, Mode.ROTATE);
+
+		Map<String, Object> credentials = new HashMap<>();
+		credentials.put("username", "user");
+		credentials.put("password", "password");
+
+		assertThat(metadata.get(1).getPropertyTransformer().transformProperties(credentials))
+				.containsEntry("spring.datasource.reader.username", "user")
+				.containsEntry("spring.datasource.reader.password", "password");
+		assertThat(metadata.get(2).getPropertyTransformer().transformProperties(credentials))
+				.containsEntry("app.writer.username", "user")
+				.containsEntry("spring.datasource.writer.password", "password");
+	}
+
+	private static Mode getLeaseMode(VaultDatabaseProperties properties) {
+
+		SecretBackendMetadata metadata = new VaultConfigDatabaseBootstrapConfiguration()
+				.databaseSecretBackendMetadataFactory().createMetadata(properties);
+
+		return ((LeasingSecretBackendMetadata) metadata).getLeaseMode();
+	}
+
 }
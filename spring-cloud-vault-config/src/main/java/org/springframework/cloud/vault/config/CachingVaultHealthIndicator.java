@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.cloud.vault.config.VaultHealthCache.Refresh;
+import org.springframework.cloud.vault.config.VaultHealthCache.Sample;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+import org.springframework.vault.core.VaultOperations;
+
+/**
+ * Health indicator reporting Vault's availability from a {@link VaultHealthCache}. The
+ * cached health status is refreshed in the background on the {@link TaskScheduler} so
+ * health checks do not issue a request to Vault. Health checks wait up to
+ * {@code timeout} for a refresh if the cached health status is stale.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultHealthIndicator
+ */
+class CachingVaultHealthIndicator extends AbstractHealthIndicator {
+
+	private final VaultOperations vaultOperations;
+
+	private final TaskScheduler taskScheduler;
+
+	private final VaultHealthCache cache;
+
+	private final Duration timeout;
+
+	@Nullable
+	private volatile ScheduledFuture<?> refreshFuture;
+
+	CachingVaultHealthIndicator(VaultOperations vaultOperations, TaskScheduler taskScheduler, VaultHealthCache cache,
+			Duration timeout) {
+
+		Assert.notNull(vaultOperations, "VaultOperations must not be null");
+		Assert.notNull(taskScheduler, "TaskScheduler must not be null");
+		Assert.notNull(cache, "VaultHealthCache must not be null");
+		Assert.notNull(timeout, "Timeout must not be null");
+
+		this.vaultOperations = vaultOperations;
+		this.taskScheduler = taskScheduler;
+		this.cache = cache;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Start refreshing the health status every {@code refreshInterval}.
+	 * @param refreshInterval the refresh interval.
+	 */
+	void start(Duration refreshInterval) {
+
+		Assert.notNull(refreshInterval, "Refresh interval must not be null");
+
+		this.refreshFuture = this.taskScheduler
+				.scheduleWithFixedDelay(() -> this.cache.refresh(this::fetchHealth), refreshInterval);
+	}
+
+	/**
+	 * Stop background refreshes.
+	 */
+	void stop() {
+
+		ScheduledFuture<?> refreshFuture = this.refreshFuture;
+		if (refreshFuture != null) {
+			refreshFuture.cancel(false);
+			this.refreshFuture = null;
+		}
+	}
+
+	@Override
+	protected void doHealthCheck(Builder builder) throws Exception {
+
+		Sample sample = this.cache.getSample();
+
+		if (sample == null || this.cache.isStale(sample)) {
+
+			try {
+				sample = this.cache.refresh(this::scheduleFetch).get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+			}
+			catch (TimeoutException e) {
+
+				builder.down().withException(
+						new TimeoutException(String.format("Vault health check timed out after %s", this.timeout)));
+
+				Sample stale = this.cache.getSample();
+				if (stale != null) {
+					builder.withDetail("age", this.cache.getAge(stale).toString());
+				}
+				return;
+			}
+		}
+
+		this.cache.contributeToHealth(sample, builder);
+	}
+
+	private void scheduleFetch(Refresh refresh) {
+		this.taskScheduler.schedule(() -> fetchHealth(refresh), new Date());
+	}
+
+	private void fetchHealth(Refresh refresh) {
+
+		try {
+			refresh.success(this.vaultOperations.opsForSys().health());
+		}
+		catch (RuntimeException e) {
+			refresh.failure(e);
+		}
+	}
+
+}
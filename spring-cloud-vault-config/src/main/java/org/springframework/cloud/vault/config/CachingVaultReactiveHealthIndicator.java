@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.boot.actuate.health.AbstractReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.cloud.vault.config.VaultHealthCache.Refresh;
+import org.springframework.cloud.vault.config.VaultHealthCache.Sample;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.vault.core.ReactiveVaultOperations;
+
+/**
+ * Reactive health indicator reporting Vault's availability from a
+ * {@link VaultHealthCache}. The cached health status is refreshed in the background so
+ * health checks do not issue a request to Vault. Health checks refresh a stale health
+ * status before reporting it. Refreshes that do not complete within {@code timeout} are
+ * reported as failed.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultReactiveHealthIndicator
+ */
+class CachingVaultReactiveHealthIndicator extends AbstractReactiveHealthIndicator {
+
+	private final ReactiveVaultOperations vaultOperations;
+
+	private final VaultHealthCache cache;
+
+	private final Duration timeout;
+
+	@Nullable
+	private volatile Disposable refreshes;
+
+	CachingVaultReactiveHealthIndicator(ReactiveVaultOperations vaultOperations, VaultHealthCache cache,
+			Duration timeout) {
+
+		Assert.notNull(vaultOperations, "ReactiveVaultOperations must not be null");
+		Assert.notNull(cache, "VaultHealthCache must not be null");
+		Assert.notNull(timeout, "Timeout must not be null");
+
+		this.vaultOperations = vaultOperations;
+		this.cache = cache;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Start refreshing the health status every {@code refreshInterval}.
+	 * @param refreshInterval the refresh interval.
+	 */
+	void start(Duration refreshInterval) {
+
+		Assert.notNull(refreshInterval, "Refresh interval must not be null");
+
+		this.refreshes = Flux.interval(Duration.ZERO, refreshInterval).onBackpressureDrop()
+				.flatMap((tick) -> refresh(), 1).subscribe();
+	}
+
+	/**
+	 * Stop background refreshes.
+	 */
+	void stop() {
+
+		Disposable refreshes = this.refreshes;
+		if (refreshes != null) {
+			refreshes.dispose();
+			this.refreshes = null;
+		}
+	}
+
+	@Override
+	protected Mono<Health> doHealthCheck(Builder builder) {
+
+		return Mono.defer(() -> {
+
+			Sample sample = this.cache.getSample();
+			return sample != null && !this.cache.isStale(sample) ? Mono.just(sample) : refresh();
+		}).map((sample) -> {
+
+			this.cache.contributeToHealth(sample, builder);
+			return builder.build();
+		});
+	}
+
+	private Mono<Sample> refresh() {
+		return Mono.defer(() -> Mono.fromFuture(this.cache.refresh(this::fetchHealth)));
+	}
+
+	private void fetchHealth(Refresh refresh) {
+
+		VaultReactiveHealthIndicator.getVaultHealth(this.vaultOperations)
+				.timeout(this.timeout,
+						Mono.error(() -> new TimeoutException(
+								String.format("Vault health check timed out after %s", this.timeout))))
+				.subscribe(refresh::success, refresh::failure,
+						() -> refresh.failure(new IllegalStateException("Vault health response was empty")));
+	}
+
+}
@@ -26,6 +26,8 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.cloud.vault.config.VaultProperties.AppRoleProperties;
 import org.springframework.cloud.vault.config.VaultProperties.AwsIamProperties;
 import org.springframework.cloud.vault.config.VaultProperties.AzureMsiProperties;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
@@ -88,6 +90,8 @@ class ClientAuthenticationFactory {
 
 	private final RestOperations externalRestOperations;
 
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 	ClientAuthenticationFactory(VaultProperties vaultProperties, RestOperations restOperations,
 			RestOperations externalRestOperations) {
 		this.vaultProperties = vaultProperties;
@@ -95,11 +99,40 @@ class ClientAuthenticationFactory {
 		this.externalRestOperations = externalRestOperations;
 	}
 
+	/**
+	 * Set the {@link ApplicationStartup} to record the
+	 * {@code spring.cloud.vault.authentication.create} step.
+	 * @param applicationStartup must not be {@literal null}.
+	 * @since 3.1
+	 */
+	void setApplicationStartup(ApplicationStartup applicationStartup) {
+
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+
+		this.applicationStartup = applicationStartup;
+	}
+
 	/**
 	 * @return a new {@link ClientAuthentication}.
 	 */
 	ClientAuthentication createClientAuthentication() {
 
+		StartupStep step = this.applicationStartup.start("spring.cloud.vault.authentication.create");
+		step.tag("method", this.vaultProperties.getAuthentication().name());
+
+		try {
+
+			ClientAuthentication clientAuthentication = doCreateClientAuthentication();
+			step.tag("authentication", clientAuthentication.getClass().getSimpleName());
+			return clientAuthentication;
+		}
+		finally {
+			step.end();
+		}
+	}
+
+	private ClientAuthentication doCreateClientAuthentication() {
+
 		switch (this.vaultProperties.getAuthentication()) {
 
 		case APPID:
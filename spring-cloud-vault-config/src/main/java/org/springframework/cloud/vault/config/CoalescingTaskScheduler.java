@@ -0,0 +1,311 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskScheduler} decorator that coalesces one-shot and trigger-based executions
+ * (lease renewals and secret rotations) whose execution times are within a configurable
+ * tolerance. Coalesced tasks are run sequentially by a single scheduled task so that
+ * renewals share one scheduler wake-up and reuse the same pooled HTTP connection.
+ * <p>
+ * A task joins a pending batch only if the batch is scheduled at or before the task's
+ * execution time so executions are brought forward by at most the tolerance and are
+ * never postponed. Periodic tasks scheduled at a fixed rate or with a fixed delay are
+ * delegated as-is.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class CoalescingTaskScheduler implements TaskScheduler {
+
+	private final TaskScheduler delegate;
+
+	private final long toleranceMillis;
+
+	private final NavigableMap<Long, Batch> batches = new TreeMap<>();
+
+	/**
+	 * Create a new {@link CoalescingTaskScheduler}.
+	 * @param delegate the actual {@link TaskScheduler}, must not be {@literal null}.
+	 * @param tolerance maximum duration by which an execution is brought forward to join
+	 * a pending batch, must not be {@literal null} or negative.
+	 */
+	CoalescingTaskScheduler(TaskScheduler delegate, Duration tolerance) {
+
+		Assert.notNull(delegate, "TaskScheduler must not be null");
+		Assert.notNull(tolerance, "Tolerance must not be null");
+		Assert.isTrue(!tolerance.isNegative(), "Tolerance must not be negative");
+
+		this.delegate = delegate;
+		this.toleranceMillis = tolerance.toMillis();
+	}
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+
+		CoalescedTask coalescedTask = new CoalescedTask(task, trigger);
+		Date executionTime = trigger.nextExecutionTime(coalescedTask.triggerContext);
+
+		if (executionTime == null) {
+			return null;
+		}
+
+		enqueue(coalescedTask, executionTime.getTime());
+		return coalescedTask;
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+
+		CoalescedTask coalescedTask = new CoalescedTask(task, null);
+		enqueue(coalescedTask, startTime.getTime());
+		return coalescedTask;
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		return this.delegate.scheduleAtFixedRate(task, startTime, period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return this.delegate.scheduleAtFixedRate(task, period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		return this.delegate.scheduleWithFixedDelay(task, startTime, delay);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return this.delegate.scheduleWithFixedDelay(task, delay);
+	}
+
+	/**
+	 * @return the number of pending batches.
+	 */
+	int getBatchCount() {
+
+		synchronized (this.batches) {
+			return this.batches.size();
+		}
+	}
+
+	private void enqueue(CoalescedTask task, long executionTime) {
+
+		Batch batch;
+		boolean created = false;
+
+		synchronized (this.batches) {
+
+			Map.Entry<Long, Batch> candidate = this.batches.floorEntry(executionTime);
+
+			if (candidate != null && executionTime - candidate.getKey() <= this.toleranceMillis) {
+				batch = candidate.getValue();
+			}
+			else {
+				batch = new Batch(executionTime);
+				this.batches.put(executionTime, batch);
+				created = true;
+			}
+
+			batch.tasks.add(task);
+			task.batch = batch;
+			task.executionTime = batch.executionTime;
+		}
+
+		if (created) {
+			batch.future = this.delegate.schedule(() -> run(batch), new Date(executionTime));
+		}
+	}
+
+	private void run(Batch batch) {
+
+		List<CoalescedTask> tasks;
+
+		synchronized (this.batches) {
+			this.batches.remove(batch.executionTime, batch);
+			tasks = new ArrayList<>(batch.tasks);
+			batch.tasks.clear();
+		}
+
+		for (CoalescedTask task : tasks) {
+			task.run();
+		}
+	}
+
+	private void cancel(CoalescedTask task) {
+
+		ScheduledFuture<?> future = null;
+
+		synchronized (this.batches) {
+
+			Batch batch = task.batch;
+
+			if (batch == null || !batch.tasks.remove(task)) {
+				return;
+			}
+
+			if (batch.tasks.isEmpty() && this.batches.remove(batch.executionTime, batch)) {
+				future = batch.future;
+			}
+		}
+
+		if (future != null) {
+			future.cancel(false);
+		}
+	}
+
+	/**
+	 * Tasks scheduled for the same execution.
+	 */
+	static class Batch {
+
+		final long executionTime;
+
+		final List<CoalescedTask> tasks = new ArrayList<>();
+
+		@Nullable
+		volatile ScheduledFuture<?> future;
+
+		Batch(long executionTime) {
+			this.executionTime = executionTime;
+		}
+
+	}
+
+	/**
+	 * Task along with its optional {@link Trigger} exposed as {@link ScheduledFuture}.
+	 */
+	class CoalescedTask implements ScheduledFuture<Object> {
+
+		private final Runnable task;
+
+		@Nullable
+		private final Trigger trigger;
+
+		private final SimpleTriggerContext triggerContext = new SimpleTriggerContext();
+
+		private final CompletableFuture<Object> completion = new CompletableFuture<>();
+
+		@Nullable
+		Batch batch;
+
+		volatile long executionTime;
+
+		CoalescedTask(Runnable task, @Nullable Trigger trigger) {
+			// suppress errors so that a failing task does not affect other tasks of the batch
+			this.task = TaskUtils.decorateTaskWithErrorHandler(task, null, true);
+			this.trigger = trigger;
+		}
+
+		void run() {
+
+			if (this.completion.isDone()) {
+				return;
+			}
+
+			Date scheduled = new Date(this.executionTime);
+			Date start = new Date();
+
+			this.task.run();
+
+			if (this.trigger == null) {
+				this.completion.complete(null);
+				return;
+			}
+
+			this.triggerContext.update(scheduled, start, new Date());
+			Date next = this.trigger.nextExecutionTime(this.triggerContext);
+
+			if (next == null) {
+				this.completion.complete(null);
+			}
+			else if (!this.completion.isDone()) {
+				enqueue(this, next.getTime());
+			}
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.executionTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+
+			boolean cancelled = this.completion.cancel(mayInterruptIfRunning);
+
+			if (cancelled) {
+				CoalescingTaskScheduler.this.cancel(this);
+			}
+
+			return cancelled;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return this.completion.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return this.completion.isDone();
+		}
+
+		@Override
+		public Object get() throws InterruptedException, ExecutionException {
+			return this.completion.get();
+		}
+
+		@Override
+		public Object get(long timeout, TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+			return this.completion.get(timeout, unit);
+		}
+
+	}
+
+}
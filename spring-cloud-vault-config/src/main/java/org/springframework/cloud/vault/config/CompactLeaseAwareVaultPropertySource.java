@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.util.Assert;
+import org.springframework.vault.core.lease.SecretLeaseContainer;
+import org.springframework.vault.core.lease.domain.RequestedSecret;
+import org.springframework.vault.core.lease.domain.RequestedSecret.Mode;
+import org.springframework.vault.core.lease.event.LeaseListener;
+import org.springframework.vault.core.lease.event.SecretLeaseCreatedEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseExpiredEvent;
+import org.springframework.vault.core.util.PropertyTransformer;
+import org.springframework.vault.support.JsonMapFlattener;
+
+/**
+ * Lease-aware {@link EnumerablePropertySource} that serves properties from a
+ * {@link CompactPropertyStore}. The store is built once per
+ * {@link SecretLeaseCreatedEvent} for the {@link RequestedSecret} and replaced
+ * atomically. No other copy of the properties is retained.
+ * <p>
+ * Secrets obtained from a renewable lease are removed once the lease expires. The lease
+ * listener is registered with the {@link SecretLeaseContainer} on construction and
+ * removed through {@link #close()} once the property source is replaced.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see org.springframework.vault.core.env.LeaseAwareVaultPropertySource
+ */
+class CompactLeaseAwareVaultPropertySource extends EnumerablePropertySource<SecretLeaseContainer> {
+
+	private final RequestedSecret requestedSecret;
+
+	private final PropertyTransformer propertyTransformer;
+
+	private final LeaseListener leaseListener = this::onLeaseEvent;
+
+	private volatile CompactPropertyStore store = CompactPropertyStore.EMPTY;
+
+	/**
+	 * Create a new {@link CompactLeaseAwareVaultPropertySource} and register the
+	 * {@link RequestedSecret} with the {@link SecretLeaseContainer}.
+	 * @param name name of the property source, must not be {@literal null}.
+	 * @param secretLeaseContainer must not be {@literal null}.
+	 * @param requestedSecret must not be {@literal null}.
+	 * @param propertyTransformer object to transform properties.
+	 */
+	CompactLeaseAwareVaultPropertySource(String name, SecretLeaseContainer secretLeaseContainer,
+			RequestedSecret requestedSecret, PropertyTransformer propertyTransformer) {
+
+		super(name, secretLeaseContainer);
+
+		Assert.notNull(requestedSecret, "RequestedSecret must not be null");
+		Assert.notNull(propertyTransformer, "PropertyTransformer must not be null");
+
+		this.requestedSecret = requestedSecret;
+		this.propertyTransformer = propertyTransformer;
+
+		secretLeaseContainer.addLeaseListener(this.leaseListener);
+		secretLeaseContainer.addRequestedSecret(requestedSecret);
+	}
+
+	/**
+	 * @return the {@link RequestedSecret} this property source is associated with.
+	 */
+	RequestedSecret getRequestedSecret() {
+		return this.requestedSecret;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		return this.store.get(name);
+	}
+
+	@Override
+	public boolean containsProperty(String name) {
+		return this.store.contains(name);
+	}
+
+	/**
+	 * Return the property names. The returned array is shared and must be treated as
+	 * read-only.
+	 * @return the property names.
+	 */
+	@Override
+	public String[] getPropertyNames() {
+		return this.store.getNames();
+	}
+
+	/**
+	 * Remove the lease listener of this property source from the
+	 * {@link SecretLeaseContainer} so that the property source is no longer referenced
+	 * by the container. The property source no longer receives secret updates after
+	 * closing.
+	 */
+	void close() {
+		this.source.removeLeaseListener(this.leaseListener);
+	}
+
+	private void onLeaseEvent(SecretLeaseEvent leaseEvent) {
+
+		if (leaseEvent.getSource() != this.requestedSecret) {
+			return;
+		}
+
+		if (leaseEvent instanceof SecretLeaseExpiredEvent && this.requestedSecret.getMode() == Mode.RENEW) {
+			this.store = CompactPropertyStore.EMPTY;
+		}
+
+		if (leaseEvent instanceof SecretLeaseCreatedEvent) {
+			this.store = createStore(((SecretLeaseCreatedEvent) leaseEvent).getSecrets());
+		}
+	}
+
+	private CompactPropertyStore createStore(Map<String, Object> secrets) {
+
+		Map<String, Object> properties = this.propertyTransformer
+				.transformProperties(JsonMapFlattener.flatten(secrets));
+		Map<String, Object> nonNull = new LinkedHashMap<>(properties.size());
+
+		properties.forEach((key, value) -> {
+			if (value != null) {
+				nonNull.put(key, value);
+			}
+		});
+
+		return CompactPropertyStore.of(nonNull);
+	}
+
+}
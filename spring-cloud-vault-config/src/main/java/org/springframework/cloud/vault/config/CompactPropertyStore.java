@@ -0,0 +1,156 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable, compact store of properties. Properties are kept in parallel key and value
+ * arrays using open addressing with linear probing. Property names are precomputed in
+ * insertion order so that {@link #getNames()} does not allocate.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+final class CompactPropertyStore {
+
+	/**
+	 * Empty {@link CompactPropertyStore}.
+	 */
+	static final CompactPropertyStore EMPTY = new CompactPropertyStore(new String[0], new String[1],
+			new Object[1]);
+
+	private final String[] names;
+
+	private final String[] keys;
+
+	private final Object[] values;
+
+	private final int mask;
+
+	private CompactPropertyStore(String[] names, String[] keys, Object[] values) {
+		this.names = names;
+		this.keys = keys;
+		this.values = values;
+		this.mask = keys.length - 1;
+	}
+
+	/**
+	 * Create a {@link CompactPropertyStore} from {@code properties}.
+	 * @param properties must not be {@literal null}.
+	 * @return the {@link CompactPropertyStore} containing all {@code properties}.
+	 */
+	static CompactPropertyStore of(Map<String, ?> properties) {
+
+		Assert.notNull(properties, "Properties must not be null");
+
+		if (properties.isEmpty()) {
+			return EMPTY;
+		}
+
+		// keep the load factor at or below 0.5
+		int capacity = Integer.highestOneBit(Math.max(properties.size(), 1)) << 2;
+
+		String[] names = new String[properties.size()];
+		String[] keys = new String[capacity];
+		Object[] values = new Object[capacity];
+		int mask = capacity - 1;
+		int index = 0;
+
+		for (Map.Entry<String, ?> entry : properties.entrySet()) {
+
+			String key = entry.getKey();
+			int slot = spread(key.hashCode()) & mask;
+
+			while (keys[slot] != null) {
+				slot = (slot + 1) & mask;
+			}
+
+			keys[slot] = key;
+			values[slot] = entry.getValue();
+			names[index++] = key;
+		}
+
+		return new CompactPropertyStore(names, keys, values);
+	}
+
+	/**
+	 * @param name the property name.
+	 * @return the property value or {@literal null} if the property is not present.
+	 */
+	@Nullable
+	Object get(String name) {
+
+		int slot = spread(name.hashCode()) & this.mask;
+
+		String key;
+		while ((key = this.keys[slot]) != null) {
+
+			if (key.equals(name)) {
+				return this.values[slot];
+			}
+
+			slot = (slot + 1) & this.mask;
+		}
+
+		return null;
+	}
+
+	/**
+	 * @param name the property name.
+	 * @return {@literal true} if the property is present.
+	 */
+	boolean contains(String name) {
+
+		int slot = spread(name.hashCode()) & this.mask;
+
+		String key;
+		while ((key = this.keys[slot]) != null) {
+
+			if (key.equals(name)) {
+				return true;
+			}
+
+			slot = (slot + 1) & this.mask;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Return the property names. The returned array is shared and must not be modified.
+	 * @return the property names.
+	 */
+	String[] getNames() {
+		return this.names;
+	}
+
+	/**
+	 * @return the number of properties.
+	 */
+	int size() {
+		return this.names.length;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+}
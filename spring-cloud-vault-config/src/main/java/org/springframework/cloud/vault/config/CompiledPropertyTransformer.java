@@ -0,0 +1,459 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.vault.config.KeyValueSecretBackendMetadata.UnwrappingPropertyTransformer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.vault.core.util.PropertyTransformer;
+import org.springframework.vault.core.util.PropertyTransformers;
+
+/**
+ * {@link PropertyTransformer} that applies a chain of key transformations (unwrapping,
+ * renaming and prefixing of property names) in a single pass. Adjacent rules are
+ * merged when the transformer is built so that each property name is transformed by a
+ * minimal set of precomputed rules without creating intermediate maps.
+ * <p>
+ * Known transformers ({@link PropertyNameTransformer}, unwrapping transformers and other
+ * {@link CompiledPropertyTransformer}s) are inlined into the rule set. Other
+ * {@link PropertyTransformer}s are applied as individual stages.
+ *
+ * <pre class="code">
+ * PropertyTransformer transformer = CompiledPropertyTransformer.builder()
+ * 		.unwrap("data")
+ * 		.rename("username", "spring.datasource.username")
+ * 		.prefix("my.")
+ * 		.build();
+ * </pre>
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see SecretBackendConfigurer#add(String, PropertyTransformer)
+ */
+public final class CompiledPropertyTransformer implements PropertyTransformer {
+
+	private static final CompiledPropertyTransformer NOOP = new CompiledPropertyTransformer(
+			Collections.singletonList(new KeyStage(new KeyRule[0])));
+
+	private final Stage[] stages;
+
+	@Nullable
+	private final KeyRule[] rules;
+
+	private CompiledPropertyTransformer(List<Stage> stages) {
+
+		this.stages = stages.toArray(new Stage[0]);
+		this.rules = this.stages.length == 1 && this.stages[0] instanceof KeyStage ? ((KeyStage) this.stages[0]).rules
+				: null;
+	}
+
+	/**
+	 * Create a new {@link Builder} to build a {@link CompiledPropertyTransformer}.
+	 * @return a new {@link Builder}.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Compile a chain of {@link PropertyTransformer}s into a single
+	 * {@link CompiledPropertyTransformer}. Transformers are applied in the given order.
+	 * @param transformers the transformers to compile, must not be {@literal null}.
+	 * @return the compiled {@link PropertyTransformer}.
+	 */
+	public static CompiledPropertyTransformer compile(PropertyTransformer... transformers) {
+
+		Assert.notNull(transformers, "PropertyTransformers must not be null");
+
+		if (transformers.length == 1 && transformers[0] instanceof CompiledPropertyTransformer) {
+			return (CompiledPropertyTransformer) transformers[0];
+		}
+
+		Builder builder = builder();
+
+		for (PropertyTransformer transformer : transformers) {
+			builder.transformer(transformer);
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Transform a single property name. Only applies key-based rules.
+	 * @param key the property name.
+	 * @return the transformed property name.
+	 */
+	public String transformKey(String key) {
+
+		String result = key;
+
+		for (Stage stage : this.stages) {
+			if (stage instanceof KeyStage) {
+				result = ((KeyStage) stage).apply(result);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return {@literal true} if this transformer consists of key-based rules only and
+	 * therefore can be applied through {@link #transformKey(String)}.
+	 */
+	public boolean isKeyBased() {
+		return this.rules != null;
+	}
+
+	@Override
+	public Map<String, Object> transformProperties(Map<String, ? extends Object> input) {
+
+		if (this.rules != null) {
+
+			if (this.rules.length == 0) {
+				return asMap(input);
+			}
+
+			Map<String, Object> target = new LinkedHashMap<>(input.size(), 1);
+
+			for (Map.Entry<String, ? extends Object> entry : input.entrySet()) {
+				target.put(KeyStage.apply(this.rules, entry.getKey()), entry.getValue());
+			}
+
+			return target;
+		}
+
+		Map<String, Object> result = asMap(input);
+
+		for (Stage stage : this.stages) {
+			result = stage.transform(result);
+		}
+
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> asMap(Map<String, ? extends Object> input) {
+		return (Map<String, Object>) input;
+	}
+
+	/**
+	 * Builder for {@link CompiledPropertyTransformer}. Rules are applied in the order
+	 * they were declared.
+	 */
+	public static class Builder {
+
+		private final List<Object> steps = new ArrayList<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Strip {@code prefix} followed by a dot from property names starting with
+		 * {@code prefix.}.
+		 * @param prefix must not be {@literal null} or empty.
+		 * @return {@code this} {@link Builder}.
+		 */
+		public Builder unwrap(String prefix) {
+
+			Assert.hasText(prefix, "Prefix must not be empty");
+
+			this.steps.add(new Unwrap(prefix));
+			return this;
+		}
+
+		/**
+		 * Rename the property {@code sourceKeyName} to {@code targetKeyName}.
+		 * @param sourceKeyName must not be {@literal null} or empty.
+		 * @param targetKeyName must not be {@literal null} or empty.
+		 * @return {@code this} {@link Builder}.
+		 */
+		public Builder rename(String sourceKeyName, String targetKeyName) {
+
+			Assert.hasText(sourceKeyName, "Source key name must not be empty");
+			Assert.hasText(targetKeyName, "Target key name must not be empty");
+
+			this.steps.add(new Rename(Collections.singletonMap(sourceKeyName, targetKeyName)));
+			return this;
+		}
+
+		/**
+		 * Add {@code prefix} in front of each property name.
+		 * @param prefix must not be {@literal null}.
+		 * @return {@code this} {@link Builder}.
+		 */
+		public Builder prefix(String prefix) {
+
+			Assert.notNull(prefix, "Prefix must not be null");
+
+			if (!prefix.isEmpty()) {
+				this.steps.add(new Prefix(prefix));
+			}
+			return this;
+		}
+
+		/**
+		 * Add a {@link PropertyTransformer}. Known transformers are inlined into the
+		 * rule set, other transformers are applied as individual stage.
+		 * @param transformer must not be {@literal null}.
+		 * @return {@code this} {@link Builder}.
+		 */
+		public Builder transformer(PropertyTransformer transformer) {
+
+			Assert.notNull(transformer, "PropertyTransformer must not be null");
+
+			if (transformer instanceof CompiledPropertyTransformer) {
+
+				for (Stage stage : ((CompiledPropertyTransformer) transformer).stages) {
+					if (stage instanceof KeyStage) {
+						Collections.addAll(this.steps, (Object[]) ((KeyStage) stage).rules);
+					}
+					else {
+						this.steps.add(stage);
+					}
+				}
+			}
+			else if (transformer.getClass() == PropertyNameTransformer.class) {
+				this.steps.add(new Rename(((PropertyNameTransformer) transformer).getNameMapping()));
+			}
+			else if (transformer instanceof UnwrappingPropertyTransformer) {
+				this.steps.add(new Unwrap(((UnwrappingPropertyTransformer) transformer).getPrefixToStrip()));
+			}
+			else if (transformer != PropertyTransformers.noop()) {
+				this.steps.add(new MapStage(transformer));
+			}
+
+			return this;
+		}
+
+		/**
+		 * Build the {@link CompiledPropertyTransformer} by merging adjacent rules.
+		 * @return the {@link CompiledPropertyTransformer}.
+		 */
+		public CompiledPropertyTransformer build() {
+
+			if (this.steps.isEmpty()) {
+				return NOOP;
+			}
+
+			List<Stage> stages = new ArrayList<>();
+			List<KeyRule> rules = new ArrayList<>();
+
+			for (Object step : this.steps) {
+
+				if (step instanceof KeyRule) {
+
+					KeyRule rule = (KeyRule) step;
+					KeyRule merged = rules.isEmpty() ? null : rules.get(rules.size() - 1).merge(rule);
+
+					if (merged != null) {
+						rules.set(rules.size() - 1, merged);
+					}
+					else {
+						rules.add(rule);
+					}
+					continue;
+				}
+
+				if (!rules.isEmpty()) {
+					stages.add(new KeyStage(rules.toArray(new KeyRule[0])));
+					rules.clear();
+				}
+
+				stages.add((Stage) step);
+			}
+
+			if (!rules.isEmpty() || stages.isEmpty()) {
+				stages.add(new KeyStage(rules.toArray(new KeyRule[0])));
+			}
+
+			return new CompiledPropertyTransformer(stages);
+		}
+
+	}
+
+	/**
+	 * Transformation stage.
+	 */
+	interface Stage {
+
+		Map<String, Object> transform(Map<String, Object> input);
+
+	}
+
+	/**
+	 * Stage applying precomputed key rules.
+	 */
+	static final class KeyStage implements Stage {
+
+		final KeyRule[] rules;
+
+		KeyStage(KeyRule[] rules) {
+			this.rules = rules;
+		}
+
+		String apply(String key) {
+			return apply(this.rules, key);
+		}
+
+		static String apply(KeyRule[] rules, String key) {
+
+			String result = key;
+
+			for (KeyRule rule : rules) {
+				result = rule.apply(result);
+			}
+
+			return result;
+		}
+
+		@Override
+		public Map<String, Object> transform(Map<String, Object> input) {
+
+			if (this.rules.length == 0) {
+				return input;
+			}
+
+			Map<String, Object> target = new LinkedHashMap<>(input.size(), 1);
+
+			for (Map.Entry<String, Object> entry : input.entrySet()) {
+				target.put(apply(entry.getKey()), entry.getValue());
+			}
+
+			return target;
+		}
+
+	}
+
+	/**
+	 * Stage delegating to an arbitrary {@link PropertyTransformer}.
+	 */
+	static final class MapStage implements Stage {
+
+		private final PropertyTransformer transformer;
+
+		MapStage(PropertyTransformer transformer) {
+			this.transformer = transformer;
+		}
+
+		@Override
+		public Map<String, Object> transform(Map<String, Object> input) {
+			return this.transformer.transformProperties(input);
+		}
+
+	}
+
+	/**
+	 * Key transformation rule.
+	 */
+	abstract static class KeyRule {
+
+		abstract String apply(String key);
+
+		/**
+		 * Merge this rule with the {@code next} rule.
+		 * @param next the rule applied after this rule.
+		 * @return the merged rule or {@literal null} if rules cannot be merged.
+		 */
+		@Nullable
+		KeyRule merge(KeyRule next) {
+			return null;
+		}
+
+	}
+
+	static final class Unwrap extends KeyRule {
+
+		private final String prefix;
+
+		Unwrap(String prefix) {
+			this.prefix = prefix + ".";
+		}
+
+		@Override
+		String apply(String key) {
+			return key.startsWith(this.prefix) ? key.substring(this.prefix.length()) : key;
+		}
+
+	}
+
+	static final class Rename extends KeyRule {
+
+		private final Map<String, String> mapping;
+
+		Rename(Map<String, String> mapping) {
+			this.mapping = mapping;
+		}
+
+		@Override
+		String apply(String key) {
+
+			String renamed = this.mapping.get(key);
+			return renamed != null ? renamed : key;
+		}
+
+		@Override
+		@Nullable
+		KeyRule merge(KeyRule next) {
+
+			if (!(next instanceof Rename)) {
+				return null;
+			}
+
+			Rename other = (Rename) next;
+			Map<String, String> merged = new HashMap<>(other.mapping);
+
+			this.mapping.forEach((source, target) -> merged.put(source, other.apply(target)));
+
+			return new Rename(merged);
+		}
+
+	}
+
+	static final class Prefix extends KeyRule {
+
+		private final String prefix;
+
+		Prefix(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		String apply(String key) {
+			return this.prefix.concat(key);
+		}
+
+		@Override
+		@Nullable
+		KeyRule merge(KeyRule next) {
+
+			if (!(next instanceof Prefix)) {
+				return null;
+			}
+
+			return new Prefix(((Prefix) next).prefix.concat(this.prefix));
+		}
+
+	}
+
+}
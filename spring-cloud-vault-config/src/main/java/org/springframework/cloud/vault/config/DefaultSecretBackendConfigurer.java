@@ -56,7 +56,7 @@ class DefaultSecretBackendConfigurer implements SecretBackendConfigurer, Propert
 		Assert.hasLength(path, "Path must not be empty");
 		Assert.notNull(propertyTransformer, "PropertyTransformer must not be null");
 
-		return add(createMetadata(path, propertyTransformer));
+		return add(createMetadata(path, CompiledPropertyTransformer.compile(propertyTransformer)));
 	}
 
 	private SimpleSecretBackendMetadata createMetadata(String path, PropertyTransformer propertyTransformer) {
@@ -88,7 +88,8 @@ class DefaultSecretBackendConfigurer implements SecretBackendConfigurer, Propert
 		Assert.notNull(propertyTransformer, "PropertyTransformer must not be null");
 
 		this.secretBackends.put(requestedSecret.getPath(), new SimpleLeasingSecretBackendMetadata(
-				createMetadata(requestedSecret.getPath(), propertyTransformer), requestedSecret.getMode()));
+				createMetadata(requestedSecret.getPath(), CompiledPropertyTransformer.compile(propertyTransformer)),
+				requestedSecret.getMode()));
 
 		return this;
 	}
@@ -16,6 +16,13 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -24,11 +31,16 @@ import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.commons.util.UtilAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.vault.client.RestTemplateCustomizer;
+import org.springframework.vault.client.VaultEndpoint;
 import org.springframework.vault.client.VaultEndpointProvider;
+import org.springframework.vault.config.AbstractVaultConfiguration.ClientFactoryWrapper;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * {@link org.springframework.cloud.bootstrap.BootstrapConfiguration} providing a
@@ -42,13 +54,15 @@ import org.springframework.vault.client.VaultEndpointProvider;
 @EnableConfigurationProperties(VaultProperties.class)
 @Order(Ordered.LOWEST_PRECEDENCE - 2)
 @EnableDiscoveryClient
-@Import(UtilAutoConfiguration.class)
-public class DiscoveryClientVaultBootstrapConfiguration {
+@Import({ UtilAutoConfiguration.class, VaultServiceInstanceSelectionConfiguration.class })
+public class DiscoveryClientVaultBootstrapConfiguration implements DisposableBean {
 
 	private final VaultProperties vaultProperties;
 
 	private final VaultConfiguration configuration;
 
+	private final AtomicReference<VaultReadRoutingInterceptor> readRoutingInterceptor = new AtomicReference<>();
+
 	public DiscoveryClientVaultBootstrapConfiguration(VaultProperties vaultProperties) {
 		this.vaultProperties = vaultProperties;
 		this.configuration = new VaultConfiguration(vaultProperties);
@@ -57,8 +71,36 @@ public class DiscoveryClientVaultBootstrapConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
-	public VaultServiceInstanceProvider vaultServerInstanceProvider(DiscoveryClient discoveryClient) {
-		return new DiscoveryClientVaultServiceInstanceProvider(discoveryClient);
+	public VaultServiceInstanceProvider vaultServerInstanceProvider(DiscoveryClient discoveryClient,
+			VaultServiceInstanceSelector selector) {
+		return new DiscoveryClientVaultServiceInstanceProvider(discoveryClient,
+				this.vaultProperties.getDiscovery().getCacheTtl(), selector);
+	}
+
+	/**
+	 * Record request statistics of the Vault {@link RestTemplate} for
+	 * statistics-based {@link VaultServiceInstanceSelector}s. Registered only if the
+	 * selection strategy uses {@link VaultEndpointStatistics}.
+	 * @param statistics the statistics to record requests.
+	 * @return the {@link RestTemplateCustomizer} registering the recording interceptor.
+	 * @since 3.1
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
+	@Conditional(VaultServiceInstanceSelectionConfiguration.OnStatisticsBasedSelectionStrategy.class)
+	public RestTemplateCustomizer vaultEndpointStatisticsRestTemplateCustomizer(VaultEndpointStatistics statistics) {
+
+		return (restTemplate) -> restTemplate.getInterceptors().add((request, body, execution) -> {
+
+			VaultEndpointStatistics.Request recording = statistics.start(request.getURI());
+
+			try {
+				return execution.execute(request, body);
+			}
+			finally {
+				recording.complete();
+			}
+		});
 	}
 
 	@Bean
@@ -75,4 +117,45 @@ public class DiscoveryClientVaultBootstrapConfiguration {
 		};
 	}
 
+	/**
+	 * Route reads of the Vault {@link RestTemplate} to performance standby nodes
+	 * considering discovered Vault instances.
+	 * @param discoveryClient the discovery client to look up Vault instances.
+	 * @param clientFactoryWrapper the {@link ClientFactoryWrapper} to check the health of
+	 * Vault instances.
+	 * @return the {@link RestTemplateCustomizer} registering the routing interceptor.
+	 * @since 3.1
+	 */
+	@Bean
+	@ConditionalOnProperty("spring.cloud.vault.read-routing.enabled")
+	public RestTemplateCustomizer vaultReadRoutingRestTemplateCustomizer(DiscoveryClient discoveryClient,
+			ObjectProvider<ClientFactoryWrapper> clientFactoryWrapper) {
+
+		String serviceId = this.vaultProperties.getDiscovery().getServiceId();
+		Supplier<List<VaultEndpoint>> candidates = () -> discoveryClient.getInstances(serviceId).stream()
+				.map(this.configuration::createVaultEndpoint).collect(Collectors.toList());
+
+		return (restTemplate) -> {
+
+			VaultReadRoutingInterceptor routing = this.readRoutingInterceptor.updateAndGet((it) -> it != null ? it
+					: this.configuration.createReadRoutingInterceptor(
+							clientFactoryWrapper.getObject().getClientHttpRequestFactory(), candidates));
+
+			restTemplate.getInterceptors().add(routing);
+		};
+	}
+
+	/**
+	 * Shut down health checks of the read routing interceptor.
+	 * @since 3.1
+	 */
+	@Override
+	public void destroy() {
+
+		VaultReadRoutingInterceptor interceptor = this.readRoutingInterceptor.getAndSet(null);
+		if (interceptor != null) {
+			interceptor.destroy();
+		}
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.logging.Log;
@@ -23,9 +25,12 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.util.Assert;
 
 /**
- * Provider for {@link ServiceInstance} to look up the Vault service.
+ * Provider for {@link ServiceInstance} to look up the Vault service. Discovered instances
+ * can be cached for a configurable time to live. A {@link VaultServiceInstanceSelector}
+ * selects the instance to use from the discovered instances.
  *
  * @author Mark Paluch
  * @since 1.1
@@ -36,13 +41,48 @@ public class DiscoveryClientVaultServiceInstanceProvider implements VaultService
 
 	private final DiscoveryClient client;
 
+	private final SingleFlight<String, List<ServiceInstance>> instances;
+
+	private final VaultServiceInstanceSelector selector;
+
 	public DiscoveryClientVaultServiceInstanceProvider(DiscoveryClient client) {
+		this(client, Duration.ZERO, VaultServiceInstanceSelectors.first());
+	}
+
+	/**
+	 * Create a new {@link DiscoveryClientVaultServiceInstanceProvider}.
+	 * @param client must not be {@literal null}.
+	 * @param cacheTtl time to live of discovered instances. Instances are looked up on
+	 * each call if {@link Duration#ZERO}.
+	 * @param selector must not be {@literal null}.
+	 * @since 3.1
+	 */
+	public DiscoveryClientVaultServiceInstanceProvider(DiscoveryClient client, Duration cacheTtl,
+			VaultServiceInstanceSelector selector) {
+
+		Assert.notNull(client, "DiscoveryClient must not be null");
+		Assert.notNull(selector, "VaultServiceInstanceSelector must not be null");
+
 		this.client = client;
+		this.instances = new SingleFlight<>(cacheTtl);
+		this.selector = selector;
 	}
 
 	@Override
 	public ServiceInstance getVaultServerInstance(String serviceId) {
 
+		List<ServiceInstance> instances = this.instances.execute(serviceId, () -> getInstances(serviceId));
+		ServiceInstance instance = this.selector.select(instances);
+
+		if (log.isDebugEnabled()) {
+			log.debug("Selected Vault server (" + serviceId + "): " + instance);
+		}
+
+		return instance;
+	}
+
+	private List<ServiceInstance> getInstances(String serviceId) {
+
 		log.debug("Locating Vault server (" + serviceId + ") via discovery");
 
 		List<ServiceInstance> instances = this.client.getInstances(serviceId);
@@ -51,11 +91,9 @@ public class DiscoveryClientVaultServiceInstanceProvider implements VaultService
 			throw new IllegalStateException("No instances found of Vault server (" + serviceId + ")");
 		}
 
-		ServiceInstance instance = instances.get(0);
-
-		log.debug("Located Vault server (" + serviceId + ") via discovery: " + instance);
+		log.debug("Located Vault server (" + serviceId + ") via discovery: " + instances);
 
-		return instance;
+		return new ArrayList<>(instances);
 	}
 
 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TaskScheduler} decorator that spreads one-shot and trigger-based executions
+ * (lease renewals and secret rotations) by bringing each execution forward by a random
+ * fraction of the remaining delay. Executions are never postponed so leases are still
+ * renewed before they expire. Optionally limits the number of concurrently running
+ * tasks.
+ * <p>
+ * Periodic tasks scheduled at a fixed rate or with a fixed delay are delegated as-is.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class JitteringTaskScheduler implements TaskScheduler {
+
+	private final TaskScheduler delegate;
+
+	private final double jitter;
+
+	@Nullable
+	private final Semaphore permits;
+
+	private final DoubleSupplier random;
+
+	/**
+	 * Create a new {@link JitteringTaskScheduler}.
+	 * @param delegate the actual {@link TaskScheduler}, must not be {@literal null}.
+	 * @param jitter fraction of the remaining delay by which executions are brought
+	 * forward. Must be between {@literal 0} and {@literal 1}.
+	 * @param maxConcurrency maximum number of concurrently running tasks. Unlimited if
+	 * {@literal 0}.
+	 */
+	JitteringTaskScheduler(TaskScheduler delegate, double jitter, int maxConcurrency) {
+		this(delegate, jitter, maxConcurrency, () -> ThreadLocalRandom.current().nextDouble());
+	}
+
+	JitteringTaskScheduler(TaskScheduler delegate, double jitter, int maxConcurrency, DoubleSupplier random) {
+
+		Assert.notNull(delegate, "TaskScheduler must not be null");
+		Assert.isTrue(jitter >= 0 && jitter <= 1, "Jitter must be between 0 and 1");
+		Assert.isTrue(maxConcurrency >= 0, "Max concurrency must not be negative");
+		Assert.notNull(random, "Random must not be null");
+
+		this.delegate = delegate;
+		this.jitter = jitter;
+		this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+		this.random = random;
+	}
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		return this.delegate.schedule(limit(task), new JitteringTrigger(trigger));
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		return this.delegate.schedule(limit(task), jitter(startTime));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		return this.delegate.scheduleAtFixedRate(task, startTime, period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return this.delegate.scheduleAtFixedRate(task, period);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		return this.delegate.scheduleWithFixedDelay(task, startTime, delay);
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return this.delegate.scheduleWithFixedDelay(task, delay);
+	}
+
+	Date jitter(Date executionTime) {
+
+		if (this.jitter == 0) {
+			return executionTime;
+		}
+
+		long now = System.currentTimeMillis();
+		long delay = executionTime.getTime() - now;
+
+		if (delay <= 0) {
+			return executionTime;
+		}
+
+		return new Date(executionTime.getTime() - (long) (delay * this.jitter * this.random.getAsDouble()));
+	}
+
+	private Runnable limit(Runnable task) {
+
+		Semaphore permits = this.permits;
+
+		if (permits == null) {
+			return task;
+		}
+
+		return () -> {
+
+			try {
+				permits.acquire();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			try {
+				task.run();
+			}
+			finally {
+				permits.release();
+			}
+		};
+	}
+
+	/**
+	 * {@link Trigger} applying jitter to each execution time of its delegate.
+	 */
+	class JitteringTrigger implements Trigger {
+
+		private final Trigger delegate;
+
+		JitteringTrigger(Trigger delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		@Nullable
+		public Date nextExecutionTime(TriggerContext triggerContext) {
+
+			Date executionTime = this.delegate.nextExecutionTime(triggerContext);
+			return executionTime != null ? jitter(executionTime) : null;
+		}
+
+	}
+
+}
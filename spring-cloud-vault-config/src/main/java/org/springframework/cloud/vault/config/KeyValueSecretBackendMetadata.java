@@ -71,7 +71,8 @@ public class KeyValueSecretBackendMetadata extends SecretBackendMetadataSupport
 		Assert.hasText(secretBackendPath, "Secret backend path must not be null or empty");
 		Assert.hasText(key, "Key must not be null or empty");
 
-		return create(String.format("%s/%s", secretBackendPath, key), UnwrappingPropertyTransformer.unwrap("data"));
+		return create(String.format("%s/%s", secretBackendPath, key),
+				CompiledPropertyTransformer.builder().unwrap("data").build());
 	}
 
 	/**
@@ -175,11 +176,14 @@ public class KeyValueSecretBackendMetadata extends SecretBackendMetadataSupport
 
 		private final String prefixToStrip;
 
+		private final String keyPrefix;
+
 		private UnwrappingPropertyTransformer(String prefixToStrip) {
 
 			Assert.notNull(prefixToStrip, "Property name prefix must not be null");
 
 			this.prefixToStrip = prefixToStrip;
+			this.keyPrefix = prefixToStrip + ".";
 		}
 
 		/**
@@ -201,8 +205,8 @@ public class KeyValueSecretBackendMetadata extends SecretBackendMetadataSupport
 
 			for (Entry<String, ? extends Object> entry : input.entrySet()) {
 
-				if (entry.getKey().startsWith(this.prefixToStrip + ".")) {
-					target.put(entry.getKey().substring(this.prefixToStrip.length() + 1), entry.getValue());
+				if (entry.getKey().startsWith(this.keyPrefix)) {
+					target.put(entry.getKey().substring(this.keyPrefix.length()), entry.getValue());
 				}
 				else {
 					target.put(entry.getKey(), entry.getValue());
@@ -212,6 +216,10 @@ public class KeyValueSecretBackendMetadata extends SecretBackendMetadataSupport
 			return target;
 		}
 
+		String getPrefixToStrip() {
+			return this.prefixToStrip;
+		}
+
 	}
 
 }
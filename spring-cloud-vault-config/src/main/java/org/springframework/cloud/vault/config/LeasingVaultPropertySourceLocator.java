@@ -16,23 +16,26 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertySource;
 import org.springframework.util.Assert;
 import org.springframework.vault.VaultException;
-import org.springframework.vault.core.env.LeaseAwareVaultPropertySource;
 import org.springframework.vault.core.lease.SecretLeaseContainer;
 import org.springframework.vault.core.lease.domain.RequestedSecret;
 import org.springframework.vault.core.lease.event.LeaseErrorListener;
 
 /**
  * Extension to {@link LeasingVaultPropertySourceLocator} that creates
- * {@link LeaseAwareVaultPropertySource}s.
+ * {@link CompactLeaseAwareVaultPropertySource}s. Property sources created by a previous
+ * {@link #locate(Environment)} call are closed when locating property sources again.
  *
  * @author Mark Paluch
- * @see LeaseAwareVaultPropertySource
+ * @see CompactLeaseAwareVaultPropertySource
  */
 @Deprecated
 class LeasingVaultPropertySourceLocator extends VaultPropertySourceLocatorSupport implements PriorityOrdered {
@@ -41,6 +44,8 @@ class LeasingVaultPropertySourceLocator extends VaultPropertySourceLocatorSuppor
 
 	private final VaultProperties properties;
 
+	private final List<CompactLeaseAwareVaultPropertySource> propertySources = new ArrayList<>();
+
 	/**
 	 * Creates a new {@link LeasingVaultPropertySourceLocator}.
 	 * @param properties must not be {@literal null}.
@@ -66,6 +71,17 @@ class LeasingVaultPropertySourceLocator extends VaultPropertySourceLocatorSuppor
 		return this.properties.getConfig().getOrder();
 	}
 
+	@Override
+	public PropertySource<?> locate(Environment environment) {
+
+		synchronized (this.propertySources) {
+			this.propertySources.forEach(CompactLeaseAwareVaultPropertySource::close);
+			this.propertySources.clear();
+		}
+
+		return super.locate(environment);
+	}
+
 	/**
 	 * Create {@link VaultPropertySource} initialized with a {@link SecretBackendMetadata}
 	 * .
@@ -142,8 +158,12 @@ class LeasingVaultPropertySourceLocator extends VaultPropertySourceLocatorSuppor
 			((LeasingSecretBackendMetadata) accessor).beforeRegistration(secret, this.secretLeaseContainer);
 		}
 
-		LeaseAwareVaultPropertySource propertySource = new LeaseAwareVaultPropertySource(accessor.getName(),
-				this.secretLeaseContainer, secret, accessor.getPropertyTransformer());
+		CompactLeaseAwareVaultPropertySource propertySource = new CompactLeaseAwareVaultPropertySource(
+				accessor.getName(), this.secretLeaseContainer, secret, accessor.getPropertyTransformer());
+
+		synchronized (this.propertySources) {
+			this.propertySources.add(propertySource);
+		}
 
 		if (accessor instanceof LeasingSecretBackendMetadata) {
 			((LeasingSecretBackendMetadata) accessor).afterRegistration(secret, this.secretLeaseContainer);
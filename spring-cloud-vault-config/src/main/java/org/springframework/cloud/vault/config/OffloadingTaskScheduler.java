@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CustomizableThreadFactory;
+
+/**
+ * {@link ThreadPoolTaskScheduler} that only triggers one-shot and trigger-based tasks
+ * (token and lease renewals) and runs them on a separate {@link ExecutorService}. Blocking
+ * renewal calls therefore do not occupy scheduler threads. The executor is shut down
+ * along with the scheduler.
+ * <p>
+ * Periodic tasks scheduled at a fixed rate or with a fixed delay run on the scheduler
+ * threads.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class OffloadingTaskScheduler extends ThreadPoolTaskScheduler {
+
+	private final ExecutorService executor;
+
+	/**
+	 * Create a new {@link OffloadingTaskScheduler}.
+	 * @param executor the executor to run tasks, must not be {@literal null}.
+	 */
+	OffloadingTaskScheduler(ExecutorService executor) {
+
+		Assert.notNull(executor, "ExecutorService must not be null");
+
+		this.executor = executor;
+	}
+
+	/**
+	 * Create an {@link ExecutorService} that runs each task on a new virtual thread.
+	 * @param threadNamePrefix prefix for thread names.
+	 * @return the {@link ExecutorService} or {@literal null} if virtual threads are not
+	 * supported by the current Java runtime.
+	 */
+	@Nullable
+	static ExecutorService createVirtualThreadExecutor(String threadNamePrefix) {
+
+		Method ofVirtual = ClassUtils.getMethodIfAvailable(Thread.class, "ofVirtual");
+
+		if (ofVirtual == null) {
+			return null;
+		}
+
+		try {
+
+			Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder",
+					OffloadingTaskScheduler.class.getClassLoader());
+
+			Object builder = builderClass.getMethod("name", String.class, long.class)
+					.invoke(ofVirtual.invoke(null), threadNamePrefix, 0L);
+			ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, threadFactory);
+		}
+		catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Create a bounded {@link ExecutorService} using daemon threads. Idle threads are
+	 * released after one minute.
+	 * @param poolSize maximum number of threads.
+	 * @param threadNamePrefix prefix for thread names.
+	 * @return the {@link ExecutorService}.
+	 */
+	static ExecutorService createBoundedExecutor(int poolSize, String threadNamePrefix) {
+
+		Assert.isTrue(poolSize > 0, "Pool size must be greater than zero");
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+		threadFactory.setDaemon(true);
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.MINUTES,
+				new LinkedBlockingQueue<>(), threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+
+		return executor;
+	}
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		return super.schedule(offload(task), trigger);
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		return super.schedule(offload(task), startTime);
+	}
+
+	@Override
+	public void shutdown() {
+		super.shutdown();
+		this.executor.shutdown();
+	}
+
+	ExecutorService getExecutor() {
+		return this.executor;
+	}
+
+	private Runnable offload(Runnable task) {
+
+		Runnable decorated = TaskUtils.decorateTaskWithErrorHandler(task, null, false);
+		return () -> this.executor.execute(decorated);
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -62,18 +63,22 @@ public class PropertyNameTransformer implements PropertyTransformer {
 
 		Map<String, Object> transformed = new LinkedHashMap<>(input.size(), 1);
 
-		for (String key : input.keySet()) {
+		for (Map.Entry<String, ? extends Object> entry : input.entrySet()) {
 
-			String translatedKey = key;
+			String translatedKey = this.nameMapping.get(entry.getKey());
 
-			if (this.nameMapping.containsKey(key)) {
-				translatedKey = this.nameMapping.get(key);
-			}
-
-			transformed.put(translatedKey, input.get(key));
+			transformed.put(translatedKey != null ? translatedKey : entry.getKey(), entry.getValue());
 		}
 
 		return transformed;
 	}
 
+	/**
+	 * @return the key name translations.
+	 * @since 3.1
+	 */
+	Map<String, String> getNameMapping() {
+		return Collections.unmodifiableMap(this.nameMapping);
+	}
+
 }
@@ -30,12 +30,14 @@ import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
 import org.springframework.cloud.commons.util.UtilAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.vault.client.ReactiveVaultEndpointProvider;
 import org.springframework.vault.client.VaultEndpointProvider;
+import org.springframework.vault.client.WebClientCustomizer;
 import org.springframework.vault.core.ReactiveVaultOperations;
 import org.springframework.web.reactive.function.client.WebClient;
 
@@ -52,7 +54,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 @ConditionalOnClass({ Flux.class, WebClient.class, ReactiveVaultOperations.class, ReactiveDiscoveryClient.class })
 @EnableConfigurationProperties(VaultProperties.class)
 @Order(Ordered.LOWEST_PRECEDENCE - 5)
-@Import(UtilAutoConfiguration.class)
+@Import({ UtilAutoConfiguration.class, VaultServiceInstanceSelectionConfiguration.class })
 public class ReactiveDiscoveryClientVaultBootstrapConfiguration {
 
 	private final VaultProperties vaultProperties;
@@ -69,13 +71,13 @@ public class ReactiveDiscoveryClientVaultBootstrapConfiguration {
 	@ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
 	public ReactiveVaultEndpointProvider reactiveVaultEndpointProvider(
 			ObjectProvider<ReactiveDiscoveryClient> reactiveDiscoveryClients,
-			ObjectProvider<VaultEndpointProvider> endpointProviders) {
+			ObjectProvider<VaultEndpointProvider> endpointProviders, VaultServiceInstanceSelector selector) {
 
 		ReactiveDiscoveryClient reactiveDiscoveryClient = reactiveDiscoveryClients.getIfAvailable();
 
 		if (reactiveDiscoveryClient != null) {
 			ReacvtiveDiscoveryClientVaultServiceInstanceProvider instanceProvider = new ReacvtiveDiscoveryClientVaultServiceInstanceProvider(
-					reactiveDiscoveryClient);
+					reactiveDiscoveryClient, this.vaultProperties.getDiscovery().getCacheTtl(), selector);
 
 			return () -> Mono.defer(() -> {
 
@@ -90,4 +92,25 @@ public class ReactiveDiscoveryClientVaultBootstrapConfiguration {
 		return () -> Mono.fromSupplier(endpointProvider::getVaultEndpoint).subscribeOn(Schedulers.boundedElastic());
 	}
 
+	/**
+	 * Record request statistics of the Vault {@link WebClient} for statistics-based
+	 * {@link VaultServiceInstanceSelector}s. Registered only if the selection strategy
+	 * uses {@link VaultEndpointStatistics}.
+	 * @param statistics the statistics to record requests.
+	 * @return the {@link WebClientCustomizer} registering the recording filter.
+	 * @since 3.1
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
+	@Conditional(VaultServiceInstanceSelectionConfiguration.OnStatisticsBasedSelectionStrategy.class)
+	public WebClientCustomizer vaultEndpointStatisticsWebClientCustomizer(VaultEndpointStatistics statistics) {
+
+		return (builder) -> builder.filter((request, next) -> Mono.defer(() -> {
+
+			VaultEndpointStatistics.Request recording = statistics.start(request.url());
+
+			return next.exchange(request).doFinally((signal) -> recording.complete());
+		}));
+	}
+
 }
@@ -16,15 +16,23 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.util.Assert;
 
 /**
- * Provider for {@link ServiceInstance} to look up the Vault service.
+ * Provider for {@link ServiceInstance} to look up the Vault service. Discovered instances
+ * can be cached for a configurable time to live. A {@link VaultServiceInstanceSelector}
+ * selects the instance to use from the discovered instances.
  *
  * @author Mark Paluch
  * @since 3.0
@@ -35,26 +43,62 @@ class ReacvtiveDiscoveryClientVaultServiceInstanceProvider {
 
 	private final ReactiveDiscoveryClient client;
 
+	private final Duration cacheTtl;
+
+	private final VaultServiceInstanceSelector selector;
+
+	private final Map<String, Mono<List<ServiceInstance>>> instances = new ConcurrentHashMap<>();
+
 	ReacvtiveDiscoveryClientVaultServiceInstanceProvider(ReactiveDiscoveryClient client) {
+		this(client, Duration.ZERO, VaultServiceInstanceSelectors.first());
+	}
+
+	ReacvtiveDiscoveryClientVaultServiceInstanceProvider(ReactiveDiscoveryClient client, Duration cacheTtl,
+			VaultServiceInstanceSelector selector) {
+
+		Assert.notNull(client, "ReactiveDiscoveryClient must not be null");
+		Assert.notNull(cacheTtl, "Cache TTL must not be null");
+		Assert.notNull(selector, "VaultServiceInstanceSelector must not be null");
+
 		this.client = client;
+		this.cacheTtl = cacheTtl;
+		this.selector = selector;
 	}
 
 	Mono<ServiceInstance> getVaultServerInstance(String serviceId) {
 
-		log.debug("Locating Vault server (" + serviceId + ") via discovery");
+		Mono<List<ServiceInstance>> instances = this.cacheTtl.isZero() ? getInstances(serviceId)
+				: this.instances.computeIfAbsent(serviceId, this::getCachedInstances);
 
-		return this.client.getInstances(serviceId).collectList().handle((instances, sink) -> {
+		return instances.map(this.selector::select).doOnNext((instance) -> {
+
+			if (log.isDebugEnabled()) {
+				log.debug("Selected Vault server (" + serviceId + "): " + instance);
+			}
+		});
+	}
+
+	private Mono<List<ServiceInstance>> getCachedInstances(String serviceId) {
+		return getInstances(serviceId).cache((it) -> this.cacheTtl, (e) -> Duration.ZERO, () -> Duration.ZERO);
+	}
+
+	private Mono<List<ServiceInstance>> getInstances(String serviceId) {
+
+		return Mono.defer(() -> {
+
+			log.debug("Locating Vault server (" + serviceId + ") via discovery");
+
+			return this.client.getInstances(serviceId).collectList();
+		}).handle((instances, sink) -> {
 
 			if (instances.isEmpty()) {
 				sink.error(new IllegalStateException("No instances found of Vault server (" + serviceId + ")"));
 				return;
 			}
 
-			ServiceInstance instance = instances.get(0);
-
-			log.debug("Located Vault server (" + serviceId + ") via discovery: " + instance);
+			log.debug("Located Vault server (" + serviceId + ") via discovery: " + instances);
 
-			sink.next(instance);
+			sink.next(instances);
 		});
 	}
 
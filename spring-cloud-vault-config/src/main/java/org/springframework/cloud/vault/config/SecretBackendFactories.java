@@ -18,6 +18,7 @@ package org.springframework.cloud.vault.config;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.logging.Log;
@@ -49,32 +50,31 @@ final class SecretBackendFactories {
 				continue;
 			}
 
-			SecretBackendMetadata metadata = createSecretBackendMetadata(factories, vaultSecretBackendDescriptor);
+			Collection<SecretBackendMetadata> metadata = createSecretBackendMetadata(factories,
+					vaultSecretBackendDescriptor);
 
-			if (metadata == null) {
+			if (metadata.isEmpty()) {
 				log.warn(String.format("Cannot create SecretBackendMetadata for %s", vaultSecretBackendDescriptor));
 				continue;
 			}
 
-			accessors.add(metadata);
+			accessors.addAll(metadata);
 		}
 
 		return accessors;
 	}
 
-	private static SecretBackendMetadata createSecretBackendMetadata(
+	private static Collection<SecretBackendMetadata> createSecretBackendMetadata(
 			Collection<SecretBackendMetadataFactory<? super VaultSecretBackendDescriptor>> factories,
 			VaultSecretBackendDescriptor vaultSecretBackendDescriptor) {
 
-		SecretBackendMetadata accessor = null;
 		for (SecretBackendMetadataFactory<? super VaultSecretBackendDescriptor> factory : factories) {
 
 			if (factory.supports(vaultSecretBackendDescriptor)) {
-				accessor = factory.createMetadata(vaultSecretBackendDescriptor);
-				break;
+				return factory.createAllMetadata(vaultSecretBackendDescriptor);
 			}
 		}
-		return accessor;
+		return Collections.emptyList();
 	}
 
 }
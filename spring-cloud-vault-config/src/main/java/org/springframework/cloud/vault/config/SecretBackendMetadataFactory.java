@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import org.springframework.boot.context.config.ConfigDataLocationResolver;
 import org.springframework.cloud.bootstrap.BootstrapConfiguration;
 import org.springframework.context.ApplicationContext;
@@ -57,6 +60,23 @@ public interface SecretBackendMetadataFactory<T extends VaultSecretBackendDescri
 	 */
 	SecretBackendMetadata createMetadata(T backendDescriptor);
 
+	/**
+	 * Converts a {@link VaultSecretBackendDescriptor} into one or more
+	 * {@link SecretBackendMetadata}. Descriptors describing multiple secrets (such as
+	 * multiple roles of a secret backend) return a {@link SecretBackendMetadata} for each
+	 * secret. Defaults to {@link #createMetadata(VaultSecretBackendDescriptor)}.
+	 * @param backendDescriptor must not be {@literal null}.
+	 * @return the {@link SecretBackendMetadata}, can be empty.
+	 * @since 3.1
+	 * @see LeasingSecretBackendMetadata
+	 */
+	default Collection<SecretBackendMetadata> createAllMetadata(T backendDescriptor) {
+
+		SecretBackendMetadata metadata = createMetadata(backendDescriptor);
+
+		return metadata != null ? Collections.singletonList(metadata) : Collections.emptyList();
+	}
+
 	/**
 	 * Checks whether the {@link VaultSecretBackendDescriptor} is supported by this
 	 * {@link SecretBackendMetadataFactory}.
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.util.Assert;
+import org.springframework.vault.core.lease.domain.RequestedSecret;
+
+/**
+ * Event published after a new version of a secret stored in a versioned Key-Value
+ * backend was detected and obtained. The event carries the names of properties that
+ * were added, modified or removed with the new version.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultProperties.ConfigLifecycle#getVersionPollingInterval()
+ */
+public class SecretChangedEvent extends ApplicationEvent {
+
+	private final int version;
+
+	private final Set<String> changedPropertyNames;
+
+	/**
+	 * Create a new {@link SecretChangedEvent}.
+	 * @param requestedSecret must not be {@literal null}.
+	 * @param version the new secret version.
+	 * @param changedPropertyNames names of changed properties, must not be
+	 * {@literal null}.
+	 */
+	public SecretChangedEvent(RequestedSecret requestedSecret, int version, Set<String> changedPropertyNames) {
+
+		super(requestedSecret);
+
+		Assert.notNull(changedPropertyNames, "Changed property names must not be null");
+
+		this.version = version;
+		this.changedPropertyNames = Collections.unmodifiableSet(new LinkedHashSet<>(changedPropertyNames));
+	}
+
+	@Override
+	public RequestedSecret getSource() {
+		return (RequestedSecret) super.getSource();
+	}
+
+	/**
+	 * @return the new secret version.
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * @return names of properties that were added, modified or removed. Property names
+	 * refer to the flattened secret before applying any {@code PropertyTransformer}.
+	 */
+	public Set<String> getChangedPropertyNames() {
+		return this.changedPropertyNames;
+	}
+
+}
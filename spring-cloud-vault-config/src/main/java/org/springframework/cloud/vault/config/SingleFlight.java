@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * De-duplicates concurrent executions for the same key. The first caller for a key
+ * performs the execution while concurrent callers for the same key wait for and share
+ * its result. Successful results are additionally shared with subsequent callers for the
+ * duration of a coalescing window. Failures are propagated to all waiting callers and
+ * are not retained.
+ *
+ * @param <K> key type.
+ * @param <V> result type.
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class SingleFlight<K, V> {
+
+	private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+	private final long coalescingWindowNanos;
+
+	/**
+	 * Create a new {@link SingleFlight}.
+	 * @param coalescingWindow duration for which successful results are shared with
+	 * subsequent callers, must not be {@literal null} or negative.
+	 */
+	SingleFlight(Duration coalescingWindow) {
+
+		Assert.notNull(coalescingWindow, "Coalescing window must not be null");
+		Assert.isTrue(!coalescingWindow.isNegative(), "Coalescing window must not be negative");
+
+		this.coalescingWindowNanos = coalescingWindow.toNanos();
+	}
+
+	/**
+	 * Execute {@code supplier} unless an execution for {@code key} is in flight or a
+	 * result within the coalescing window is available.
+	 * @param key the key identifying the execution.
+	 * @param supplier the supplier to compute the result.
+	 * @return the result, can be {@literal null}.
+	 */
+	@Nullable
+	V execute(K key, Supplier<V> supplier) {
+
+		Flight<V> flight = new Flight<>();
+
+		while (true) {
+
+			Flight<V> existing = this.flights.putIfAbsent(key, flight);
+
+			if (existing == null) {
+				return lead(key, flight, supplier);
+			}
+
+			if (existing.isExpired(this.coalescingWindowNanos)) {
+				this.flights.remove(key, existing);
+				continue;
+			}
+
+			return existing.await();
+		}
+	}
+
+	@Nullable
+	private V lead(K key, Flight<V> flight, Supplier<V> supplier) {
+
+		V result;
+		try {
+			result = supplier.get();
+		}
+		catch (RuntimeException | Error e) {
+			this.flights.remove(key, flight);
+			flight.future.completeExceptionally(e);
+			throw e;
+		}
+
+		flight.completedAt = System.nanoTime();
+		flight.future.complete(result);
+
+		if (this.coalescingWindowNanos == 0) {
+			this.flights.remove(key, flight);
+		}
+
+		return result;
+	}
+
+	/**
+	 * A single execution along with its completion time.
+	 */
+	static class Flight<V> {
+
+		final CompletableFuture<V> future = new CompletableFuture<>();
+
+		volatile long completedAt;
+
+		boolean isExpired(long coalescingWindowNanos) {
+			return this.future.isDone() && System.nanoTime() - this.completedAt >= coalescingWindowNanos;
+		}
+
+		@Nullable
+		V await() {
+
+			try {
+				return this.future.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for concurrent execution", e);
+			}
+			catch (ExecutionException e) {
+
+				Throwable cause = e.getCause();
+
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+
+				throw new IllegalStateException(cause);
+			}
+		}
+
+	}
+
+}
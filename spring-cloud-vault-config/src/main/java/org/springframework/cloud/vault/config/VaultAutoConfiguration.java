@@ -25,6 +25,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -66,7 +67,7 @@ import org.springframework.web.client.RestTemplate;
 @ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
 @EnableConfigurationProperties(VaultProperties.class)
 @Order(Ordered.LOWEST_PRECEDENCE - 5)
-public class VaultAutoConfiguration {
+public class VaultAutoConfiguration implements DisposableBean {
 
 	private final ConfigurableApplicationContext applicationContext;
 
@@ -117,6 +118,15 @@ public class VaultAutoConfiguration {
 				this.requestCustomizers);
 	}
 
+	/**
+	 * Release resources of Vault infrastructure created by this configuration.
+	 * @since 3.1
+	 */
+	@Override
+	public void destroy() {
+		this.configuration.destroy();
+	}
+
 	/**
 	 * Creates a {@link ClientFactoryWrapper} containing a
 	 * {@link ClientHttpRequestFactory}. {@link ClientHttpRequestFactory} is not exposed
@@ -129,7 +139,12 @@ public class VaultAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	public ClientFactoryWrapper clientHttpRequestFactoryWrapper() {
-		return new ClientFactoryWrapper(this.configuration.createClientHttpRequestFactory());
+
+		// shares the transport with the bootstrap context if available
+		VaultTransports transports = this.applicationContext.getBeanProvider(VaultTransports.class)
+				.getIfAvailable(VaultTransports::new);
+
+		return this.configuration.createClientFactoryWrapper(transports);
 	}
 
 	/**
@@ -179,7 +194,8 @@ public class VaultAutoConfiguration {
 	@ConditionalOnMissingBean(TaskSchedulerWrapper.class)
 	public TaskSchedulerWrapper vaultTaskScheduler() {
 
-		ThreadPoolTaskScheduler threadPoolTaskScheduler = VaultConfiguration.createScheduler();
+		ThreadPoolTaskScheduler threadPoolTaskScheduler = VaultConfiguration
+				.createScheduler(this.vaultProperties.getScheduler());
 
 		// This is to destroy bootstrap resources
 		// otherwise, the bootstrap context is not shut down cleanly
@@ -188,12 +204,27 @@ public class VaultAutoConfiguration {
 		return new TaskSchedulerWrapper(threadPoolTaskScheduler);
 	}
 
+	/**
+	 * Creates a {@link VaultMetricsRecorder} to record secret reads and logins if
+	 * Micrometer is on the class path.
+	 * @return the {@link VaultMetricsRecorder} bean.
+	 * @since 3.1
+	 * @see VaultMeterBinder
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+	public VaultMetricsRecorder vaultMetricsRecorder() {
+		return new VaultMetricsRecorder();
+	}
+
 	/**
 	 * @return the {@link SessionManager} for Vault session management.
 	 * @param clientAuthentication the {@link ClientAuthentication}.
 	 * @param asyncTaskExecutorFactory the {@link ObjectFactory} for
 	 * {@link TaskSchedulerWrapper}.
 	 * @param restTemplateFactory the {@link RestTemplateFactory}.
+	 * @param metricsRecorder the {@link VaultMetricsRecorder} to record logins.
 	 * @see SessionManager
 	 * @see LifecycleAwareSessionManager
 	 */
@@ -201,10 +232,12 @@ public class VaultAutoConfiguration {
 	@ConditionalOnMissingBean
 	@ConditionalOnAuthentication
 	public SessionManager vaultSessionManager(ClientAuthentication clientAuthentication,
-			ObjectFactory<TaskSchedulerWrapper> asyncTaskExecutorFactory, RestTemplateFactory restTemplateFactory) {
+			ObjectFactory<TaskSchedulerWrapper> asyncTaskExecutorFactory, RestTemplateFactory restTemplateFactory,
+			ObjectProvider<VaultMetricsRecorder> metricsRecorder) {
 
 		return this.configuration.createSessionManager(clientAuthentication,
-				() -> asyncTaskExecutorFactory.getObject().getTaskScheduler(), restTemplateFactory);
+				() -> asyncTaskExecutorFactory.getObject().getTaskScheduler(), restTemplateFactory,
+				metricsRecorder.getIfAvailable());
 	}
 
 	/**
@@ -81,16 +81,27 @@ public class VaultBootstrapPropertySourceConfiguration implements InitializingBe
 				.values();
 	}
 
+	/**
+	 * @param vaultOperations the {@link VaultOperations}.
+	 * @param vaultProperties the {@link VaultProperties}.
+	 * @return the {@link VaultConfigTemplate} shared by property source locators and the
+	 * {@link SecretLeaseContainer}.
+	 * @since 3.1
+	 */
 	@Bean
-	public PropertySourceLocator vaultPropertySourceLocator(VaultOperations operations, VaultProperties vaultProperties,
-			VaultKeyValueBackendProperties kvBackendProperties,
+	@ConditionalOnMissingBean
+	public VaultConfigTemplate vaultConfigTemplate(VaultOperations vaultOperations, VaultProperties vaultProperties) {
+		return new VaultConfigTemplate(vaultOperations, vaultProperties);
+	}
+
+	@Bean
+	public PropertySourceLocator vaultPropertySourceLocator(VaultConfigTemplate vaultConfigTemplate,
+			VaultProperties vaultProperties, VaultKeyValueBackendProperties kvBackendProperties,
 			ObjectFactory<SecretLeaseContainer> secretLeaseContainerObjectFactory) {
 
 		Assert.state(this.vaultSecretBackendDescriptors != null, "VaultSecretBackendDescriptors must not be null");
 		Assert.state(this.factories != null, "SecretBackendMetadataFactories must not be null");
 
-		VaultConfigTemplate vaultConfigTemplate = new VaultConfigTemplate(operations, vaultProperties);
-
 		Collection<VaultConfigurer> vaultConfigurers = this.applicationContext.getBeansOfType(VaultConfigurer.class)
 				.values();
 		PropertySourceLocatorConfigurationFactory factory = new PropertySourceLocatorConfigurationFactory(
@@ -117,7 +128,7 @@ public class VaultBootstrapPropertySourceConfiguration implements InitializingBe
 	}
 
 	/**
-	 * @param vaultOperations the {@link VaultOperations}.
+	 * @param vaultConfigTemplate the {@link VaultConfigTemplate}.
 	 * @param taskSchedulerWrapper the {@link TaskSchedulerWrapper}.
 	 * @return the {@link SessionManager} for Vault session management.
 	 * @see SessionManager
@@ -126,9 +137,10 @@ public class VaultBootstrapPropertySourceConfiguration implements InitializingBe
 	@Bean
 	@Lazy
 	@ConditionalOnMissingBean
-	public SecretLeaseContainer secretLeaseContainer(VaultOperations vaultOperations,
+	public SecretLeaseContainer secretLeaseContainer(VaultConfigTemplate vaultConfigTemplate,
 			TaskSchedulerWrapper taskSchedulerWrapper) {
-		return this.configuration.createSecretLeaseContainer(vaultOperations, taskSchedulerWrapper::getTaskScheduler);
+		return this.configuration.createSecretLeaseContainer(vaultConfigTemplate,
+				taskSchedulerWrapper::getTaskScheduler);
 	}
 
 }
@@ -17,6 +17,7 @@
 package org.springframework.cloud.vault.config;
 
 import org.springframework.boot.BootstrapRegistryInitializer;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.util.Assert;
 
 /**
@@ -44,4 +45,21 @@ public abstract class VaultBootstrapper {
 		return registry -> registry.register(VaultConfigurer.class, context -> configurer);
 	}
 
+	/**
+	 * Create a {@link BootstrapRegistryInitializer} that registers an
+	 * {@link ApplicationStartup} to record startup steps of Vault bootstrapping (login,
+	 * secret retrieval, lease registration). Use the same {@link ApplicationStartup}
+	 * that is configured on {@code SpringApplication} to include these steps in the
+	 * application startup profile.
+	 * @param applicationStartup the application startup to use.
+	 * @return the bootstrapper object.
+	 * @since 3.1
+	 */
+	public static BootstrapRegistryInitializer withApplicationStartup(ApplicationStartup applicationStartup) {
+
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+
+		return registry -> registry.register(ApplicationStartup.class, context -> applicationStartup);
+	}
+
 }
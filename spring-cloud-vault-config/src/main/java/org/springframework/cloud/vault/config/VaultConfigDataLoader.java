@@ -44,6 +44,8 @@ import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.env.PropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -102,6 +104,9 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 
 	private final static boolean REGISTER_REACTIVE_INFRASTRUCTURE = FLUX_AVAILABLE && WEBCLIENT_AVAILABLE;
 
+	private final static boolean MICROMETER_AVAILABLE = ClassUtils
+			.isPresent("io.micrometer.core.instrument.MeterRegistry", VaultConfigDataLoader.class.getClassLoader());
+
 	private final DeferredLogFactory logFactory;
 
 	public VaultConfigDataLoader(DeferredLogFactory logFactory) {
@@ -120,15 +125,41 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 			return SKIP_LOCATION;
 		}
 
+		StartupStep step = VaultStartup.tag(
+				VaultStartup.getApplicationStartup(bootstrap).start("spring.cloud.vault.config.load"),
+				location.getSecretBackendMetadata());
+		step.tag("location", location.toString());
+
+		try {
+			return doLoad(location, bootstrap, vaultProperties);
+		}
+		finally {
+			step.end();
+		}
+	}
+
+	private ConfigData doLoad(VaultConfigLocation location, ConfigurableBootstrapContext bootstrap,
+			VaultProperties vaultProperties) {
+
 		if (vaultProperties.getSession().getLifecycle().isEnabled()
 				|| vaultProperties.getConfig().getLifecycle().isEnabled()) {
-			registerVaultTaskScheduler(bootstrap);
+			registerVaultTaskScheduler(bootstrap, vaultProperties);
+		}
+
+		registerIfAbsent(bootstrap, "vaultTransports", VaultTransports.class, () -> new VaultTransports());
+
+		if (MICROMETER_AVAILABLE) {
+			registerIfAbsent(bootstrap, "vaultMetricsRecorder", VaultMetricsRecorder.class,
+					() -> new VaultMetricsRecorder());
 		}
 
-		registerImperativeInfrastructure(bootstrap, vaultProperties);
+		boolean lazyReactive = REGISTER_REACTIVE_INFRASTRUCTURE && vaultProperties.getReactive().isLazy();
+
+		registerImperativeInfrastructure(bootstrap, vaultProperties,
+				REGISTER_REACTIVE_INFRASTRUCTURE && !lazyReactive);
 
 		if (REGISTER_REACTIVE_INFRASTRUCTURE) {
-			registerReactiveInfrastructure(bootstrap, vaultProperties);
+			registerReactiveInfrastructure(bootstrap, vaultProperties, lazyReactive);
 		}
 
 		registerVaultConfigTemplate(bootstrap, vaultProperties);
@@ -137,6 +168,21 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 			registerSecretLeaseContainer(bootstrap, new VaultConfiguration(vaultProperties));
 		}
 
+		if (bootstrap.isRegistered(VaultConfigPrefetch.class)) {
+
+			VaultConfigPrefetch prefetch = bootstrap.get(VaultConfigPrefetch.class);
+			prefetch.prefetch(bootstrap.get(VaultConfigTemplate.class));
+
+			if (vaultProperties.getConfig().getLifecycle().isEnabled()) {
+
+				SecretLeaseContainer secretLeaseContainer = bootstrap.get(SecretLeaseContainer.class);
+				ApplicationStartup applicationStartup = VaultStartup.getApplicationStartup(bootstrap);
+
+				prefetch.issue(it -> createLeasingPropertySource(it, secretLeaseContainer, applicationStartup,
+						vaultProperties.isFailFast()));
+			}
+		}
+
 		return loadConfigData(location, bootstrap, vaultProperties);
 	}
 
@@ -153,15 +199,16 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 
 		if (vaultProperties.getConfig().getLifecycle().isEnabled()) {
 
-			RequestedSecret secret = getRequestedSecret(location.getSecretBackendMetadata());
+			PropertySource<?> issued = bootstrap.isRegistered(VaultConfigPrefetch.class)
+					? bootstrap.get(VaultConfigPrefetch.class).getIssued(location) : null;
 
-			if (vaultProperties.isFailFast()) {
-				return new ConfigData(Collections.singleton(createLeasingPropertySourceFailFast(
-						bootstrap.get(SecretLeaseContainer.class), secret, location.getSecretBackendMetadata())));
+			if (issued != null) {
+				return new ConfigData(Collections.singleton(issued));
 			}
 
-			return createConfigData(() -> createLeasingPropertySource(bootstrap.get(SecretLeaseContainer.class), secret,
-					location.getSecretBackendMetadata()));
+			return createConfigData(() -> createLeasingPropertySource(location,
+					bootstrap.get(SecretLeaseContainer.class), VaultStartup.getApplicationStartup(bootstrap),
+					vaultProperties.isFailFast()));
 		}
 
 		return createConfigData(() -> {
@@ -173,7 +220,7 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 	}
 
 	private void registerImperativeInfrastructure(ConfigurableBootstrapContext bootstrap,
-			VaultProperties vaultProperties) {
+			VaultProperties vaultProperties, boolean reactiveSessionManagement) {
 
 		ImperativeInfrastructure infra = new ImperativeInfrastructure(bootstrap, vaultProperties, this.logFactory);
 
@@ -181,6 +228,11 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 		infra.registerRestTemplateBuilder();
 		infra.registerVaultRestTemplateFactory();
 
+		// discovery registers read routing with discovered candidates
+		if (vaultProperties.getReadRouting().isEnabled() && !vaultProperties.getDiscovery().isEnabled()) {
+			infra.registerReadRoutingInterceptor();
+		}
+
 		VaultProperties.AuthenticationMethod authentication = vaultProperties.getAuthentication();
 
 		if (authentication == VaultProperties.AuthenticationMethod.NONE) {
@@ -191,7 +243,7 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 
 			infra.registerClientAuthentication();
 
-			if (!REGISTER_REACTIVE_INFRASTRUCTURE) {
+			if (!reactiveSessionManagement) {
 				infra.registerVaultSessionManager();
 			}
 
@@ -202,10 +254,10 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 	}
 
 	private void registerReactiveInfrastructure(ConfigurableBootstrapContext bootstrap,
-			VaultProperties vaultProperties) {
+			VaultProperties vaultProperties, boolean lazy) {
 
 		ReactiveInfrastructure reactiveInfrastructure = new ReactiveInfrastructure(bootstrap, vaultProperties,
-				this.logFactory);
+				this.logFactory, lazy);
 		reactiveInfrastructure.registerClientHttpConnectorWrapper();
 		reactiveInfrastructure.registerWebClientBuilder();
 		reactiveInfrastructure.registerWebClientFactory();
@@ -213,16 +265,22 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 		VaultProperties.AuthenticationMethod authentication = vaultProperties.getAuthentication();
 
 		if (authentication == VaultProperties.AuthenticationMethod.NONE) {
-			registerIfAbsent(bootstrap, "reactiveVaultTemplate", ReactiveVaultTemplate.class,
-					ctx -> new ReactiveVaultTemplate(ctx.get(WebClientBuilder.class)));
+			reactiveInfrastructure
+					.registerReactiveVaultTemplate(ctx -> new ReactiveVaultTemplate(ctx.get(WebClientBuilder.class)));
 		}
 		else {
 
-			reactiveInfrastructure.registerTokenSupplier();
-			reactiveInfrastructure.registerReactiveSessionManager();
-			reactiveInfrastructure.registerSessionManager();
+			if (lazy) {
+				// obtain tokens through the imperative SessionManager
+				reactiveInfrastructure.registerImperativeReactiveSessionManager();
+			}
+			else {
+				reactiveInfrastructure.registerTokenSupplier();
+				reactiveInfrastructure.registerReactiveSessionManager();
+				reactiveInfrastructure.registerSessionManager();
+			}
 
-			registerIfAbsent(bootstrap, "reactiveVaultTemplate", ReactiveVaultTemplate.class,
+			reactiveInfrastructure.registerReactiveVaultTemplate(
 					ctx -> new ReactiveVaultTemplate(bootstrap.get(WebClientBuilder.class),
 							bootstrap.get(ReactiveSessionManager.class)));
 		}
@@ -233,16 +291,29 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 	}
 
 	private void registerVaultConfigTemplate(ConfigurableBootstrapContext bootstrap, VaultProperties vaultProperties) {
-		bootstrap.registerIfAbsent(VaultConfigTemplate.class,
-				ctx -> new VaultConfigTemplate(ctx.get(VaultTemplate.class), vaultProperties));
+		bootstrap.registerIfAbsent(VaultConfigTemplate.class, ctx -> {
+
+			VaultConfigTemplate configTemplate = new VaultConfigTemplate(ctx.get(VaultTemplate.class),
+					vaultProperties);
+			configTemplate.setApplicationStartup(VaultStartup.getApplicationStartup(ctx));
+			configTemplate.setMetricsRecorder(getMetricsRecorder(ctx));
+			return configTemplate;
+		});
 	}
 
-	private void registerVaultTaskScheduler(ConfigurableBootstrapContext bootstrap) {
+	private void registerVaultTaskScheduler(ConfigurableBootstrapContext bootstrap, VaultProperties vaultProperties) {
 		registerIfAbsent(bootstrap, "vaultTaskScheduler", TaskSchedulerWrapper.class, () -> {
 
-			ThreadPoolTaskScheduler scheduler = VaultConfiguration.createScheduler();
+			ThreadPoolTaskScheduler scheduler = VaultConfiguration.createScheduler(vaultProperties.getScheduler());
 
-			scheduler.afterPropertiesSet();
+			StartupStep step = VaultStartup.getApplicationStartup(bootstrap)
+					.start("spring.cloud.vault.scheduler.start");
+			try {
+				scheduler.afterPropertiesSet();
+			}
+			finally {
+				step.end();
+			}
 
 			// avoid double-initialization
 			return new TaskSchedulerWrapper(scheduler, false);
@@ -253,7 +324,8 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 			VaultConfiguration vaultConfiguration) {
 		registerIfAbsent(bootstrap, "secretLeaseContainer", SecretLeaseContainer.class, ctx -> {
 
-			SecretLeaseContainer container = vaultConfiguration.createSecretLeaseContainer(ctx.get(VaultTemplate.class),
+			SecretLeaseContainer container = vaultConfiguration.createSecretLeaseContainer(
+					ctx.get(VaultConfigTemplate.class),
 					() -> ctx.get(TaskSchedulerWrapper.class).getTaskScheduler());
 
 			try {
@@ -276,25 +348,49 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 		return vaultPropertySource;
 	}
 
-	private PropertySource<?> createLeasingPropertySource(SecretLeaseContainer secretLeaseContainer,
-			RequestedSecret secret, SecretBackendMetadata accessor) {
+	private PropertySource<?> createLeasingPropertySource(VaultConfigLocation location,
+			SecretLeaseContainer secretLeaseContainer, ApplicationStartup applicationStartup, boolean failFast) {
 
-		if (accessor instanceof LeasingSecretBackendMetadata) {
-			((LeasingSecretBackendMetadata) accessor).beforeRegistration(secret, secretLeaseContainer);
+		RequestedSecret secret = getRequestedSecret(location.getSecretBackendMetadata());
+
+		if (failFast) {
+			return createLeasingPropertySourceFailFast(secretLeaseContainer, secret,
+					location.getSecretBackendMetadata(), applicationStartup);
 		}
 
-		LeaseAwareVaultPropertySource propertySource = new LeaseAwareVaultPropertySource(accessor.getName(),
-				secretLeaseContainer, secret, accessor.getPropertyTransformer());
+		return createLeasingPropertySource(secretLeaseContainer, secret, location.getSecretBackendMetadata(),
+				applicationStartup);
+	}
 
-		if (accessor instanceof LeasingSecretBackendMetadata) {
-			((LeasingSecretBackendMetadata) accessor).afterRegistration(secret, secretLeaseContainer);
-		}
+	private PropertySource<?> createLeasingPropertySource(SecretLeaseContainer secretLeaseContainer,
+			RequestedSecret secret, SecretBackendMetadata accessor, ApplicationStartup applicationStartup) {
+
+		StartupStep step = VaultStartup.tag(applicationStartup.start("spring.cloud.vault.config.lease.register"),
+				accessor);
+		step.tag("mode", secret.getMode().name());
+
+		try {
+
+			if (accessor instanceof LeasingSecretBackendMetadata) {
+				((LeasingSecretBackendMetadata) accessor).beforeRegistration(secret, secretLeaseContainer);
+			}
+
+			CompactLeaseAwareVaultPropertySource propertySource = new CompactLeaseAwareVaultPropertySource(
+					accessor.getName(), secretLeaseContainer, secret, accessor.getPropertyTransformer());
+
+			if (accessor instanceof LeasingSecretBackendMetadata) {
+				((LeasingSecretBackendMetadata) accessor).afterRegistration(secret, secretLeaseContainer);
+			}
 
-		return propertySource;
+			return propertySource;
+		}
+		finally {
+			step.end();
+		}
 	}
 
 	private PropertySource<?> createLeasingPropertySourceFailFast(SecretLeaseContainer secretLeaseContainer,
-			RequestedSecret secret, SecretBackendMetadata accessor) {
+			RequestedSecret secret, SecretBackendMetadata accessor, ApplicationStartup applicationStartup) {
 
 		final AtomicReference<Exception> errorRef = new AtomicReference<>();
 
@@ -307,7 +403,7 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 
 		secretLeaseContainer.addErrorListener(errorListener);
 		try {
-			return createLeasingPropertySource(secretLeaseContainer, secret, accessor);
+			return createLeasingPropertySource(secretLeaseContainer, secret, accessor, applicationStartup);
 		}
 		finally {
 			secretLeaseContainer.removeLeaseErrorListener(errorListener);
@@ -356,6 +452,32 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 		});
 	}
 
+	/**
+	 * Register a bootstrap instance supplier and a lazy-init bean that obtains the
+	 * instance from the {@link BootstrapContext} on first use. Unlike
+	 * {@link #registerIfAbsent(ConfigurableBootstrapContext, String, Class, Function)},
+	 * the instance is not created when the bootstrap context is closed.
+	 * @param bootstrap the bootstrap context.
+	 * @param beanName the bean name.
+	 * @param instanceType the instance type.
+	 * @param instanceSupplier the instance supplier.
+	 * @since 3.1
+	 */
+	static <T> void registerLazilyIfAbsent(ConfigurableBootstrapContext bootstrap, String beanName,
+			Class<T> instanceType, Function<BootstrapContext, T> instanceSupplier) {
+
+		bootstrap.registerIfAbsent(instanceType, instanceSupplier::apply);
+
+		bootstrap.addCloseListener(event -> {
+
+			GenericApplicationContext gac = (GenericApplicationContext) event.getApplicationContext();
+			BootstrapContext bootstrapContext = event.getBootstrapContext();
+
+			gac.registerBean(beanName, instanceType, () -> bootstrapContext.get(instanceType),
+					bd -> bd.setLazyInit(true));
+		});
+	}
+
 	static <T> void registerIfAbsent(ConfigurableBootstrapContext bootstrap, String beanName, Class<T> instanceType,
 			Function<BootstrapContext, T> instanceSupplier,
 			Consumer<ConfigurableApplicationContext> contextCustomizer) {
@@ -373,6 +495,11 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 		});
 	}
 
+	@Nullable
+	static VaultMetricsRecorder getMetricsRecorder(BootstrapContext bootstrap) {
+		return bootstrap.isRegistered(VaultMetricsRecorder.class) ? bootstrap.get(VaultMetricsRecorder.class) : null;
+	}
+
 	static void reconfigureLoggers(DeferredLogFactory logFactory) {
 
 		List<Class<?>> loggers = Arrays.asList(ClientHttpRequestFactoryFactory.class, VaultPropertySource.class,
@@ -444,20 +571,8 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 		}
 
 		void registerClientHttpRequestFactoryWrapper() {
-			registerIfAbsent(this.bootstrap, "clientHttpRequestFactoryWrapper", ClientFactoryWrapper.class, () -> {
-
-				ClientHttpRequestFactory factory = this.configuration.createClientHttpRequestFactory();
-
-				// early initialization
-				try {
-					new ClientFactoryWrapper(factory).afterPropertiesSet();
-				}
-				catch (Exception e) {
-					ReflectionUtils.rethrowRuntimeException(e);
-				}
-
-				return new NonInitializingClientFactoryWrapper(factory);
-			});
+			registerIfAbsent(this.bootstrap, "clientHttpRequestFactoryWrapper", ClientFactoryWrapper.class,
+					ctx -> this.configuration.createClientFactoryWrapper(ctx.get(VaultTransports.class)));
 		}
 
 		void registerRestTemplateBuilder() {
@@ -476,6 +591,13 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 									this.endpointProvider, Collections.emptyList(), Collections.emptyList())));
 		}
 
+		void registerReadRoutingInterceptor() {
+			// registered as bean to shut down health checks along with the application context
+			registerIfAbsent(this.bootstrap, "vaultReadRoutingInterceptor", VaultReadRoutingInterceptor.class,
+					ctx -> this.configuration.getReadRoutingInterceptor(
+							ctx.get(ClientFactoryWrapper.class).getClientHttpRequestFactory()));
+		}
+
 		void registerClientAuthentication() {
 			registerIfAbsent(this.bootstrap, "clientAuthentication", ClientAuthentication.class, ctx -> {
 
@@ -487,16 +609,25 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 				ClientAuthenticationFactory authenticationFactory = new ClientAuthenticationFactory(
 						this.vaultProperties, this.bootstrap.get(RestTemplateFactory.class).create(),
 						externalRestTemplate);
+				authenticationFactory.setApplicationStartup(VaultStartup.getApplicationStartup(ctx));
 				return authenticationFactory.createClientAuthentication();
 			});
 		}
 
 		void registerVaultSessionManager() {
 			registerIfAbsent(this.bootstrap, "vaultSessionManager", SessionManager.class, ctx -> {
-				SessionManager sessionManager = this.configuration.createSessionManager(
-						ctx.get(ClientAuthentication.class),
+				ClientAuthentication clientAuthentication = ctx.get(ClientAuthentication.class);
+				VaultProperties.AuthenticationMethod method = this.vaultProperties.getAuthentication();
+
+				// static tokens do not require a login
+				if (method != VaultProperties.AuthenticationMethod.TOKEN) {
+					clientAuthentication = VaultStartup.recordLogin(clientAuthentication,
+							VaultStartup.getApplicationStartup(ctx), method);
+				}
+
+				SessionManager sessionManager = this.configuration.createSessionManager(clientAuthentication,
 						() -> ctx.get(TaskSchedulerWrapper.class).getTaskScheduler(),
-						ctx.get(RestTemplateFactory.class));
+						ctx.get(RestTemplateFactory.class), getMetricsRecorder(ctx));
 				reconfigureLogger(sessionManager, this.logFactory);
 				return sessionManager;
 			});
@@ -518,18 +649,22 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 
 		private final DeferredLogFactory logFactory;
 
+		private final boolean lazy;
+
 		ReactiveInfrastructure(ConfigurableBootstrapContext bootstrap, VaultProperties vaultProperties,
-				DeferredLogFactory logFactory) {
+				DeferredLogFactory logFactory, boolean lazy) {
 			this.bootstrap = bootstrap;
 			this.configuration = new VaultReactiveConfiguration(vaultProperties);
 			this.endpointProvider = SimpleVaultEndpointProvider
 					.of(new VaultConfiguration(vaultProperties).createVaultEndpoint());
 			this.logFactory = logFactory;
+			this.lazy = lazy;
 		}
 
 		void registerClientHttpConnectorWrapper() {
-			registerIfAbsent(this.bootstrap, "clientHttpConnectorWrapper", ClientHttpConnectorWrapper.class,
-					() -> new ClientHttpConnectorWrapper(this.configuration.createClientHttpConnector()));
+			register("clientHttpConnectorWrapper", ClientHttpConnectorWrapper.class,
+					ctx -> this.configuration.createClientHttpConnectorWrapper(ctx.get(VaultTransports.class),
+							this.configuration::createClientHttpConnector));
 		}
 
 		public void registerWebClientBuilder() {
@@ -541,7 +676,7 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 		}
 
 		void registerWebClientFactory() {
-			registerIfAbsent(this.bootstrap, "vaultWebClientFactory", WebClientFactory.class,
+			register("vaultWebClientFactory", WebClientFactory.class,
 					ctx -> new DefaultWebClientFactory(ctx.get(ClientHttpConnectorWrapper.class).getConnector(),
 							connector -> this.configuration.createWebClientBuilder(connector, this.endpointProvider,
 									Collections.emptyList())));
@@ -582,20 +717,24 @@ public class VaultConfigDataLoader implements ConfigDataLoader<VaultConfigLocati
 			});
 		}
 
-	}
-
-	/**
-	 * Wrapper for {@link ClientHttpRequestFactory} that suppresses
-	 * {@link #afterPropertiesSet()} to avoid double-initialization.
-	 */
-	private static class NonInitializingClientFactoryWrapper extends ClientFactoryWrapper {
+		void registerImperativeReactiveSessionManager() {
+			register("reactiveVaultSessionManager", ReactiveSessionManager.class,
+					ctx -> this.configuration.createReactiveSessionManager(ctx.get(SessionManager.class)));
+		}
 
-		NonInitializingClientFactoryWrapper(ClientHttpRequestFactory clientHttpRequestFactory) {
-			super(clientHttpRequestFactory);
+		void registerReactiveVaultTemplate(Function<BootstrapContext, ReactiveVaultTemplate> templateFunction) {
+			register("reactiveVaultTemplate", ReactiveVaultTemplate.class, templateFunction);
 		}
 
-		@Override
-		public void afterPropertiesSet() {
+		private <T> void register(String beanName, Class<T> instanceType,
+				Function<BootstrapContext, T> instanceSupplier) {
+
+			if (this.lazy) {
+				registerLazilyIfAbsent(this.bootstrap, beanName, instanceType, instanceSupplier);
+			}
+			else {
+				registerIfAbsent(this.bootstrap, beanName, instanceType, instanceSupplier);
+			}
 		}
 
 	}
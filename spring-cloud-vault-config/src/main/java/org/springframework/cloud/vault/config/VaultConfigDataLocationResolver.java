@@ -109,8 +109,9 @@ public class VaultConfigDataLocationResolver implements ConfigDataLocationResolv
 		if (location.getValue().equals(VaultConfigLocation.VAULT_PREFIX)
 				|| location.getValue().equals(VaultConfigLocation.VAULT_PREFIX + "//")) {
 			List<SecretBackendMetadata> sorted = getSecretBackends(context, profiles);
-			return sorted.stream().map(it -> new VaultConfigLocation(it, location.isOptional()))
-					.collect(Collectors.toList());
+			return registerPrefetch(context,
+					sorted.stream().map(it -> new VaultConfigLocation(it, location.isOptional()))
+							.collect(Collectors.toList()));
 		}
 
 		String contextPath = location.getValue().substring(VaultConfigLocation.VAULT_PREFIX.length());
@@ -119,8 +120,37 @@ public class VaultConfigDataLocationResolver implements ConfigDataLocationResolv
 			contextPath = contextPath.substring(1);
 		}
 
-		return Collections.singletonList(
-				new VaultConfigLocation(contextPath, getPropertyTransformer(contextPath), location.isOptional()));
+		return registerPrefetch(context, Collections.singletonList(
+				new VaultConfigLocation(contextPath, getPropertyTransformer(contextPath), location.isOptional())));
+	}
+
+	private static List<VaultConfigLocation> registerPrefetch(ConfigDataLocationResolverContext context,
+			List<VaultConfigLocation> locations) {
+
+		ConfigurableBootstrapContext bootstrapContext = context.getBootstrapContext();
+		VaultProperties.ConfigPrefetch prefetch = bootstrapContext.get(VaultProperties.class).getConfig()
+				.getPrefetch();
+
+		if (prefetch.isEnabled() && !locations.isEmpty()) {
+
+			if (!bootstrapContext.isRegistered(VaultConfigPrefetch.class)) {
+
+				bootstrapContext.register(VaultConfigPrefetch.class,
+						BootstrapRegistry.InstanceSupplier.of(new VaultConfigPrefetch(prefetch.getConcurrency())));
+
+				// discard prefetched secrets of locations that were not loaded
+				bootstrapContext.addCloseListener(event -> {
+					event.getBootstrapContext().get(VaultConfigPrefetch.class).clearIssued();
+					if (event.getBootstrapContext().isRegistered(VaultConfigTemplate.class)) {
+						event.getBootstrapContext().get(VaultConfigTemplate.class).clearPrefetched();
+					}
+				});
+			}
+
+			bootstrapContext.get(VaultConfigPrefetch.class).add(locations);
+		}
+
+		return locations;
 	}
 
 	private static PropertyTransformer getPropertyTransformer(String contextPath) {
@@ -129,7 +159,7 @@ public class VaultConfigDataLocationResolver implements ConfigDataLocationResolv
 		String prefix = uriComponents.getQueryParams().getFirst("prefix");
 
 		if (StringUtils.hasText(prefix) && StringUtils.hasText(uriComponents.getPath())) {
-			return PropertyTransformers.propertyNamePrefix(prefix);
+			return CompiledPropertyTransformer.builder().prefix(prefix).build();
 		}
 
 		return PropertyTransformers.noop();
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.springframework.core.env.PropertySource;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.vault.VaultException;
+
+/**
+ * Bootstrap-scoped registry of secret paths that were resolved by
+ * {@link VaultConfigDataLocationResolver} and that should be fetched concurrently before
+ * {@link VaultConfigDataLoader} materializes the individual locations.
+ * <p>
+ * Paths are handed over to {@link VaultConfigTemplate#prefetch(Collection, int)} in
+ * batches so that locations resolved by subsequent {@code spring.config.import}
+ * declarations are prefetched as well. Only Key-Value locations are prefetched. Secrets
+ * of other backends (such as database credentials) are associated with a lease and
+ * must be obtained through the lease container so that their lease is renewed and
+ * revoked. These locations are {@link #issue(Function) issued} concurrently through the
+ * lease container instead.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultProperties.ConfigPrefetch
+ */
+class VaultConfigPrefetch {
+
+	private final int concurrency;
+
+	private final Set<String> pending = new LinkedHashSet<>();
+
+	private final Set<String> requested = new LinkedHashSet<>();
+
+	private final Set<VaultConfigLocation> pendingLeases = new LinkedHashSet<>();
+
+	private final Set<VaultConfigLocation> requestedLeases = new LinkedHashSet<>();
+
+	private final Map<VaultConfigLocation, CompletableFuture<PropertySource<?>>> issued = new ConcurrentHashMap<>();
+
+	VaultConfigPrefetch(int concurrency) {
+
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero");
+
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Register config locations for prefetching.
+	 * @param locations the resolved locations.
+	 */
+	synchronized void add(Collection<VaultConfigLocation> locations) {
+
+		for (VaultConfigLocation location : locations) {
+
+			if (!isPrefetchable(location.getSecretBackendMetadata())) {
+
+				if (!this.requestedLeases.contains(location)) {
+					this.pendingLeases.add(location);
+				}
+
+				continue;
+			}
+
+			String path = location.getSecretBackendMetadata().getPath();
+
+			if (!this.requested.contains(path)) {
+				this.pending.add(path);
+			}
+		}
+	}
+
+	/**
+	 * Issue concurrent reads for all pending paths through the given
+	 * {@link VaultConfigTemplate}. Paths are prefetched only once.
+	 * @param configTemplate the template to use.
+	 */
+	void prefetch(VaultConfigTemplate configTemplate) {
+
+		List<String> paths;
+
+		synchronized (this) {
+
+			if (this.pending.isEmpty()) {
+				return;
+			}
+
+			paths = new ArrayList<>(this.pending);
+			this.requested.addAll(this.pending);
+			this.pending.clear();
+		}
+
+		configTemplate.prefetch(paths, this.concurrency);
+	}
+
+	/**
+	 * Create property sources for all pending lease-associated locations concurrently
+	 * using {@code propertySourceFactory}. The factory registers the secret with the
+	 * lease container, which obtains the secret on the calling thread. Locations are
+	 * issued only once, property sources are obtained through {@link #getIssued}.
+	 * @param propertySourceFactory factory to create a lease-aware property source.
+	 */
+	void issue(Function<VaultConfigLocation, PropertySource<?>> propertySourceFactory) {
+
+		List<VaultConfigLocation> locations;
+
+		synchronized (this) {
+
+			if (this.pendingLeases.isEmpty()) {
+				return;
+			}
+
+			locations = new ArrayList<>(this.pendingLeases);
+			this.requestedLeases.addAll(this.pendingLeases);
+			this.pendingLeases.clear();
+		}
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("Spring-Cloud-Vault-Lease-");
+		threadFactory.setDaemon(true);
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.concurrency, locations.size()),
+				threadFactory);
+
+		try {
+			for (VaultConfigLocation location : locations) {
+				this.issued.put(location,
+						CompletableFuture.supplyAsync(() -> propertySourceFactory.apply(location), executor));
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Obtain the property source that was {@link #issue(Function) issued} for
+	 * {@code location}. Waits for the issuance to complete. Property sources are
+	 * returned only once.
+	 * @param location the config location.
+	 * @return the property source or {@literal null} if the location was not issued.
+	 */
+	@Nullable
+	PropertySource<?> getIssued(VaultConfigLocation location) {
+
+		CompletableFuture<PropertySource<?>> future = this.issued.remove(location);
+
+		if (future == null) {
+			return null;
+		}
+
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+
+			throw new VaultException("Cannot obtain issued PropertySource", e.getCause());
+		}
+	}
+
+	/**
+	 * Close property sources that were issued but not obtained through
+	 * {@link #getIssued(VaultConfigLocation)}.
+	 */
+	void clearIssued() {
+
+		for (VaultConfigLocation location : this.issued.keySet()) {
+
+			CompletableFuture<PropertySource<?>> future = this.issued.remove(location);
+
+			if (future != null) {
+				future.thenAccept(it -> {
+					if (it instanceof CompactLeaseAwareVaultPropertySource) {
+						((CompactLeaseAwareVaultPropertySource) it).close();
+					}
+				});
+			}
+		}
+	}
+
+	private static boolean isPrefetchable(SecretBackendMetadata metadata) {
+		return metadata instanceof KeyValueSecretBackendMetadata && !(metadata instanceof LeasingSecretBackendMetadata);
+	}
+
+}
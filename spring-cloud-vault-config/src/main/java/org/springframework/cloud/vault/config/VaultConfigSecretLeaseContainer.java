@@ -0,0 +1,520 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.vault.core.lease.LeaseEndpoints;
+import org.springframework.vault.core.lease.SecretLeaseContainer;
+import org.springframework.vault.core.lease.domain.Lease;
+import org.springframework.vault.core.lease.domain.RequestedSecret;
+import org.springframework.vault.core.lease.event.AfterSecretLeaseRenewedEvent;
+import org.springframework.vault.core.lease.event.AfterSecretLeaseRevocationEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseCreatedEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseExpiredEvent;
+import org.springframework.vault.support.JsonMapFlattener;
+import org.springframework.vault.support.VaultResponse;
+import org.springframework.vault.support.VaultResponseSupport;
+
+/**
+ * {@link SecretLeaseContainer} that obtains secrets through {@link VaultConfigTemplate}
+ * so that secret retrieval for lease-aware property sources shares the infrastructure
+ * (such as prefetched results) of {@link VaultConfigTemplate}. Secrets are served from
+ * a snapshot, if enabled and available, when they cannot be obtained from Vault.
+ * <p>
+ * If a {@link #setVersionPollingInterval(Duration) version polling interval} is
+ * configured, secrets obtained from versioned Key-Value backends are tracked and their
+ * {@code current_version} is polled from the metadata endpoint. Secrets are re-read only
+ * if their version has changed, followed by a {@link SecretChangedEvent} listing the
+ * changed property names.
+ * <p>
+ * If a {@link #setLeaseStore(VaultSnapshotStore) lease store} is configured, renewable
+ * leases are persisted along with their secrets. On startup, persisted leases are
+ * renewed and their secrets are reused instead of requesting new credentials. Persisted
+ * leases are revoked on shutdown unless {@link #setRetainLeases(boolean) retaining
+ * leases} is enabled.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class VaultConfigSecretLeaseContainer extends SecretLeaseContainer implements ApplicationEventPublisherAware {
+
+	private static final Log log = LogFactory.getLog(VaultConfigSecretLeaseContainer.class);
+
+	private final VaultConfigTemplate configTemplate;
+
+	private final TaskScheduler taskScheduler;
+
+	private final Map<RequestedSecret, VersionedSecret> versionedSecrets = new ConcurrentHashMap<>();
+
+	private final Map<RequestedSecret, Instant> leaseExpiries = new ConcurrentHashMap<>();
+
+	@Nullable
+	private Duration versionPollingInterval;
+
+	private final Set<RequestedSecret> restoredSecrets = ConcurrentHashMap.newKeySet();
+
+	private LeaseEndpoints leaseEndpoints = LeaseEndpoints.Legacy;
+
+	@Nullable
+	private VaultSnapshotStore leaseStore;
+
+	private boolean retainLeases;
+
+	@Nullable
+	private ApplicationEventPublisher eventPublisher;
+
+	@Nullable
+	private volatile ScheduledFuture<?> pollingFuture;
+
+	/**
+	 * Create a new {@link VaultConfigSecretLeaseContainer}.
+	 * @param configTemplate must not be {@literal null}.
+	 * @param taskScheduler must not be {@literal null}.
+	 */
+	VaultConfigSecretLeaseContainer(VaultConfigTemplate configTemplate, TaskScheduler taskScheduler) {
+
+		super(configTemplate.getVaultOperations(), taskScheduler);
+
+		Assert.notNull(configTemplate, "VaultConfigTemplate must not be null");
+
+		this.configTemplate = configTemplate;
+		this.taskScheduler = taskScheduler;
+
+		addLeaseListener(this::trackLease);
+	}
+
+	/**
+	 * Set the interval to poll the current version of secrets stored in versioned
+	 * Key-Value backends. Polling is disabled if set to {@literal null}.
+	 * @param versionPollingInterval the polling interval, can be {@literal null}.
+	 */
+	void setVersionPollingInterval(@Nullable Duration versionPollingInterval) {
+
+		Assert.isTrue(versionPollingInterval == null || !versionPollingInterval.isNegative(),
+				"Version polling interval must not be negative");
+
+		this.versionPollingInterval = versionPollingInterval;
+	}
+
+	/**
+	 * Set the store to persist renewable leases. Persisted leases are renewed and
+	 * reused on startup. Leases are not persisted if set to {@literal null}.
+	 * @param leaseStore the lease store, can be {@literal null}.
+	 */
+	void setLeaseStore(@Nullable VaultSnapshotStore leaseStore) {
+		this.leaseStore = leaseStore;
+	}
+
+	/**
+	 * Set whether to retain persisted leases on shutdown instead of revoking them.
+	 * Retained leases remain valid until they reach their maximum TTL.
+	 * @param retainLeases {@literal true} to skip revocation of persisted leases.
+	 */
+	void setRetainLeases(boolean retainLeases) {
+		this.retainLeases = retainLeases;
+	}
+
+	@Override
+	public void setLeaseEndpoints(LeaseEndpoints leaseEndpoints) {
+
+		super.setLeaseEndpoints(leaseEndpoints);
+
+		this.leaseEndpoints = leaseEndpoints;
+	}
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this.eventPublisher = applicationEventPublisher;
+	}
+
+	@Nullable
+	@Override
+	protected VaultResponseSupport<Map<String, Object>> doGetSecrets(RequestedSecret requestedSecret) {
+
+		VaultSnapshotStore leaseStore = this.leaseStore;
+
+		// consult the lease store only once, subsequent requests rotate credentials
+		if (leaseStore != null && this.restoredSecrets.add(requestedSecret)) {
+
+			VaultResponse restored = restoreLease(requestedSecret, leaseStore);
+
+			if (restored != null) {
+				return restored;
+			}
+		}
+
+		try {
+
+			VaultResponse response = this.configTemplate.readSecret(requestedSecret.getPath());
+
+			if (response == null) {
+				onSecretsNotFound(requestedSecret);
+			}
+
+			trackVersion(requestedSecret, response);
+
+			if (leaseStore != null) {
+				persistLease(requestedSecret, response, leaseStore);
+			}
+
+			return response;
+		}
+		catch (RuntimeException e) {
+
+			VaultSnapshotStore.Snapshot snapshot = this.configTemplate.loadSnapshot(requestedSecret.getPath());
+
+			if (snapshot != null) {
+
+				log.warn(String.format("Cannot obtain secrets from %s, using snapshot: %s", requestedSecret.getPath(),
+						e.getMessage()));
+
+				VaultResponse response = new VaultResponse();
+				response.setData(snapshot.getData());
+				return response;
+			}
+
+			onError(requestedSecret, Lease.none(), e);
+			return null;
+		}
+	}
+
+	@Override
+	protected void doRevokeLease(RequestedSecret requestedSecret, Lease lease) {
+
+		VaultSnapshotStore leaseStore = this.leaseStore;
+
+		if (leaseStore != null && lease.hasLeaseId() && lease.isRenewable()) {
+
+			// retain persisted leases so that they can be reused after a restart
+			if (this.retainLeases) {
+				return;
+			}
+
+			leaseStore.delete(getLeaseStoreKey(requestedSecret));
+		}
+
+		super.doRevokeLease(requestedSecret, lease);
+	}
+
+	/**
+	 * Renew the lease persisted for {@code requestedSecret} and return its secrets.
+	 * @param requestedSecret the requested secret.
+	 * @param leaseStore the lease store.
+	 * @return the secrets of the renewed lease or {@literal null} if no lease was
+	 * persisted or the lease could not be renewed.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private VaultResponse restoreLease(RequestedSecret requestedSecret, VaultSnapshotStore leaseStore) {
+
+		String key = getLeaseStoreKey(requestedSecret);
+		Map<String, Object> entry = leaseStore.read(key);
+
+		if (entry == null) {
+			return null;
+		}
+
+		Object leaseId = entry.get("lease_id");
+		Object data = entry.get("data");
+
+		if (!(leaseId instanceof String) || !(data instanceof Map)) {
+			leaseStore.delete(key);
+			return null;
+		}
+
+		Lease persisted = Lease.of((String) leaseId, Duration.ZERO, true);
+
+		try {
+
+			Lease renewed = this.configTemplate.getVaultOperations()
+					.doWithSession(restOperations -> this.leaseEndpoints.renew(persisted, restOperations));
+
+			if (renewed == null || !renewed.hasLeaseId()
+					|| renewed.getLeaseDuration().compareTo(getExpiryThreshold()) <= 0) {
+				leaseStore.delete(key);
+				return null;
+			}
+
+			log.info(String.format("Reusing persisted lease for %s", requestedSecret.getPath()));
+
+			VaultResponse response = new VaultResponse();
+			response.setLeaseId(renewed.getLeaseId());
+			response.setLeaseDuration(renewed.getLeaseDuration().getSeconds());
+			response.setRenewable(renewed.isRenewable());
+			response.setData((Map<String, Object>) data);
+
+			return response;
+		}
+		catch (RuntimeException e) {
+
+			log.info(String.format("Cannot renew persisted lease for %s, requesting new secrets: %s",
+					requestedSecret.getPath(), e.getMessage()));
+
+			leaseStore.delete(key);
+			return null;
+		}
+	}
+
+	private static void persistLease(RequestedSecret requestedSecret, @Nullable VaultResponse response,
+			VaultSnapshotStore leaseStore) {
+
+		String key = getLeaseStoreKey(requestedSecret);
+
+		if (response == null || response.getData() == null || !response.isRenewable()
+				|| !StringUtils.hasText(response.getLeaseId())) {
+			leaseStore.delete(key);
+			return;
+		}
+
+		Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put("lease_id", response.getLeaseId());
+		entry.put("data", response.getData());
+
+		leaseStore.write(key, entry);
+	}
+
+	private static String getLeaseStoreKey(RequestedSecret requestedSecret) {
+		return "lease:" + requestedSecret.getMode() + ":" + requestedSecret.getPath();
+	}
+
+	/**
+	 * @return the number of active leases.
+	 */
+	int getActiveLeaseCount() {
+		return this.leaseExpiries.size();
+	}
+
+	/**
+	 * @return seconds until the next active lease expires or {@link Double#NaN} if there
+	 * is no active lease.
+	 */
+	double getSecondsUntilNextExpiry() {
+
+		Instant next = null;
+
+		for (Instant expiry : this.leaseExpiries.values()) {
+			if (next == null || expiry.isBefore(next)) {
+				next = expiry;
+			}
+		}
+
+		return next != null ? Math.max(0, Duration.between(Instant.now(), next).toMillis()) / 1000d : Double.NaN;
+	}
+
+	private void trackLease(SecretLeaseEvent event) {
+
+		RequestedSecret requestedSecret = event.getSource();
+
+		if (event instanceof SecretLeaseCreatedEvent || event instanceof AfterSecretLeaseRenewedEvent) {
+
+			Lease lease = event.getLease();
+
+			if (lease.hasLeaseId() && !lease.getLeaseDuration().isZero()) {
+				this.leaseExpiries.put(requestedSecret, Instant.now().plus(lease.getLeaseDuration()));
+			}
+			else {
+				this.leaseExpiries.remove(requestedSecret);
+			}
+		}
+		else if (event instanceof SecretLeaseExpiredEvent || event instanceof AfterSecretLeaseRevocationEvent) {
+
+			this.leaseExpiries.remove(requestedSecret);
+
+			if (this.leaseStore != null && event instanceof SecretLeaseExpiredEvent) {
+				this.leaseStore.delete(getLeaseStoreKey(requestedSecret));
+			}
+		}
+	}
+
+	@Override
+	public void destroy() throws Exception {
+
+		ScheduledFuture<?> pollingFuture = this.pollingFuture;
+
+		if (pollingFuture != null) {
+			pollingFuture.cancel(false);
+			this.pollingFuture = null;
+		}
+
+		this.versionedSecrets.clear();
+		this.leaseExpiries.clear();
+		this.restoredSecrets.clear();
+		this.configTemplate.clearPrefetched();
+
+		super.destroy();
+	}
+
+	private void trackVersion(RequestedSecret requestedSecret, @Nullable VaultResponse response) {
+
+		Duration interval = this.versionPollingInterval;
+
+		if (interval == null || response == null || response.getData() == null) {
+			return;
+		}
+
+		Integer version = getVersion(response);
+
+		if (version == null) {
+			return;
+		}
+
+		this.versionedSecrets.put(requestedSecret, new VersionedSecret(version, flatten(response)));
+
+		if (this.pollingFuture == null) {
+			synchronized (this.versionedSecrets) {
+				if (this.pollingFuture == null) {
+					this.pollingFuture = this.taskScheduler.scheduleWithFixedDelay(this::pollVersions,
+							Instant.now().plus(interval), interval);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Poll the current version of all tracked secrets and re-read secrets whose version
+	 * has changed.
+	 */
+	void pollVersions() {
+
+		for (Map.Entry<RequestedSecret, VersionedSecret> entry : this.versionedSecrets.entrySet()) {
+
+			RequestedSecret requestedSecret = entry.getKey();
+
+			try {
+				pollVersion(requestedSecret, entry.getValue());
+			}
+			catch (RuntimeException e) {
+				onError(requestedSecret, Lease.none(), e);
+			}
+		}
+	}
+
+	private void pollVersion(RequestedSecret requestedSecret, VersionedSecret previous) {
+
+		Integer currentVersion = this.configTemplate.getMountCache().getCurrentVersion(requestedSecret.getPath());
+
+		if (currentVersion == null || currentVersion == previous.version) {
+			return;
+		}
+
+		VaultResponse response = this.configTemplate.readSecret(requestedSecret.getPath());
+
+		if (response == null || response.getData() == null) {
+			return;
+		}
+
+		Integer version = getVersion(response);
+		Map<String, Object> data = flatten(response);
+		VersionedSecret current = new VersionedSecret(version != null ? version : currentVersion, data);
+		Set<String> changedPropertyNames = getChangedPropertyNames(previous.data, data);
+
+		this.versionedSecrets.put(requestedSecret, current);
+
+		if (changedPropertyNames.isEmpty()) {
+			return;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug(String.format("Secret %s changed from version %d to %d", requestedSecret.getPath(),
+					previous.version, current.version));
+		}
+
+		if (!data.keySet().containsAll(previous.data.keySet())) {
+			// clear removed properties
+			onLeaseExpired(requestedSecret, Lease.none());
+		}
+
+		onSecretsObtained(requestedSecret, Lease.none(), data);
+
+		ApplicationEventPublisher eventPublisher = this.eventPublisher;
+
+		if (eventPublisher != null) {
+			eventPublisher.publishEvent(new SecretChangedEvent(requestedSecret, current.version, changedPropertyNames));
+		}
+	}
+
+	private static Set<String> getChangedPropertyNames(Map<String, Object> previous, Map<String, Object> current) {
+
+		Set<String> changed = new LinkedHashSet<>();
+
+		current.forEach((key, value) -> {
+			if (!previous.containsKey(key) || !Objects.equals(previous.get(key), value)) {
+				changed.add(key);
+			}
+		});
+
+		for (String key : previous.keySet()) {
+			if (!current.containsKey(key)) {
+				changed.add(key);
+			}
+		}
+
+		return changed;
+	}
+
+	@Nullable
+	private static Integer getVersion(VaultResponse response) {
+
+		Object version = response.getMetadata() != null ? response.getMetadata().get("version") : null;
+		return version instanceof Number ? ((Number) version).intValue() : null;
+	}
+
+	private static Map<String, Object> flatten(VaultResponse response) {
+		return response instanceof VaultStreamingReader.FlattenedVaultResponse ? response.getRequiredData()
+				: JsonMapFlattener.flatten(response.getRequiredData());
+	}
+
+	VaultConfigTemplate getConfigTemplate() {
+		return this.configTemplate;
+	}
+
+	/**
+	 * Last known version and flattened data of a secret.
+	 */
+	static class VersionedSecret {
+
+		final int version;
+
+		final Map<String, Object> data;
+
+		VersionedSecret(int version, Map<String, Object> data) {
+			this.version = version;
+			this.data = data;
+		}
+
+	}
+
+}
@@ -16,26 +16,42 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartupAware;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
 import org.springframework.vault.VaultException;
 import org.springframework.vault.core.VaultOperations;
-import org.springframework.vault.core.util.KeyValueDelegate;
+import org.springframework.vault.core.VaultTemplate;
 import org.springframework.vault.core.util.PropertyTransformer;
 import org.springframework.vault.support.JsonMapFlattener;
 import org.springframework.vault.support.VaultResponse;
 
 /**
- * Central class to retrieve configuration from Vault.
+ * Central class to retrieve configuration from Vault. Reads are recorded as
+ * {@code spring.cloud.vault.config.read} {@link StartupStep} if an
+ * {@link ApplicationStartup} is configured.
  *
  * @author Mark Paluch
  * @see VaultOperations
  */
-public class VaultConfigTemplate implements VaultConfigOperations {
+public class VaultConfigTemplate implements VaultConfigOperations, ApplicationStartupAware, DisposableBean {
 
 	private static final Log log = LogFactory.getLog(VaultConfigTemplate.class);
 
@@ -43,7 +59,21 @@ public class VaultConfigTemplate implements VaultConfigOperations {
 
 	private final VaultProperties properties;
 
-	private final KeyValueDelegate keyValueDelegate;
+	private final VaultMountCache mountCache;
+
+	private final VaultNegativeCache negativeCache;
+
+	@Nullable
+	private final VaultSnapshotStore snapshotStore;
+
+	private final Map<String, CompletableFuture<VaultResponse>> prefetched = new ConcurrentHashMap<>();
+
+	private final SingleFlight<ReadKey, Secrets> reads;
+
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
+	@Nullable
+	private VaultMetricsRecorder metricsRecorder;
 
 	/**
 	 * Create a new {@link VaultConfigTemplate} given {@link VaultOperations}.
@@ -57,7 +87,32 @@ public class VaultConfigTemplate implements VaultConfigOperations {
 
 		this.vaultOperations = vaultOperations;
 		this.properties = properties;
-		this.keyValueDelegate = new KeyValueDelegate(vaultOperations);
+		this.mountCache = new VaultMountCache(vaultOperations, properties.getConfig().getMounts().isListing(),
+				properties.getConfig().isStreaming() && vaultOperations instanceof VaultTemplate
+						? new VaultStreamingReader(vaultOperations) : null);
+		this.negativeCache = new VaultNegativeCache(vaultOperations, this.mountCache,
+				properties.getConfig().getNegativeCache());
+		this.snapshotStore = properties.getConfig().getSnapshot().isEnabled()
+				? new VaultSnapshotStore(properties.getConfig().getSnapshot()) : null;
+		this.reads = new SingleFlight<>(properties.getConfig().getCoalescingWindow());
+	}
+
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null!");
+
+		this.applicationStartup = applicationStartup;
+	}
+
+	/**
+	 * Set the {@link VaultMetricsRecorder} to record the duration and outcome of secret
+	 * reads.
+	 * @param metricsRecorder the recorder, can be {@literal null}.
+	 * @since 3.1
+	 */
+	public void setMetricsRecorder(@Nullable VaultMetricsRecorder metricsRecorder) {
+		this.metricsRecorder = metricsRecorder;
 	}
 
 	@Override
@@ -67,32 +122,30 @@ public class VaultConfigTemplate implements VaultConfigOperations {
 
 		log.info(String.format("Fetching config from Vault at: %s", secretBackendMetadata.getPath()));
 
-		try {
+		StartupStep step = VaultStartup.tag(this.applicationStartup.start("spring.cloud.vault.config.read"),
+				secretBackendMetadata);
 
-			VaultResponse vaultResponse;
+		try {
 
-			if (this.keyValueDelegate.isVersioned(secretBackendMetadata.getPath())) {
-				vaultResponse = this.keyValueDelegate.getSecret(secretBackendMetadata.getPath());
-			}
-			else {
-				vaultResponse = this.vaultOperations.read(secretBackendMetadata.getPath());
-			}
+			PropertyTransformer propertyTransformer = secretBackendMetadata.getPropertyTransformer();
+			Secrets secrets = this.reads.execute(new ReadKey(secretBackendMetadata.getPath(), propertyTransformer),
+					() -> doRead(secretBackendMetadata.getPath(), propertyTransformer));
 
-			if (vaultResponse == null) {
+			if (secrets == null) {
 
+				step.tag("status", "404");
 				log.info(String.format("Could not locate PropertySource: %s", "key not found"));
 				return null;
 			}
 
-			Map<String, Object> data = JsonMapFlattener.flatten(vaultResponse.getRequiredData());
-			PropertyTransformer propertyTransformer = secretBackendMetadata.getPropertyTransformer();
-
-			data = propertyTransformer.transformProperties(data);
-
-			return createSecrets(vaultResponse, data);
+			step.tag("status", "200");
+			step.tag("properties", Integer.toString(secrets.getRequiredData().size()));
+			return secrets;
 		}
 		catch (VaultException e) {
 
+			VaultStartup.tagFailure(step, e);
+
 			if (this.properties.isFailFast()) {
 				throw new IllegalStateException(
 						"Could not locate PropertySource and the fail fast property is set, failing.", e);
@@ -101,10 +154,242 @@ public class VaultConfigTemplate implements VaultConfigOperations {
 				log.warn(String.format("Could not locate PropertySource: %s", e.getMessage()));
 			}
 		}
+		finally {
+			step.end();
+		}
 
 		return null;
 	}
 
+	@Nullable
+	private Secrets doRead(String path, PropertyTransformer propertyTransformer) {
+
+		VaultResponse vaultResponse = readSecret(path);
+
+		if (vaultResponse == null) {
+			return null;
+		}
+
+		Map<String, Object> data = vaultResponse instanceof VaultStreamingReader.FlattenedVaultResponse
+				? vaultResponse.getRequiredData() : JsonMapFlattener.flatten(vaultResponse.getRequiredData());
+
+		return createSecrets(vaultResponse, propertyTransformer.transformProperties(data));
+	}
+
+	/**
+	 * Read the secret at {@code path} without applying any property transformation.
+	 * Considers versioned key-value backends, skips secrets that are known to be absent
+	 * and consumes results that were obtained through {@link #prefetch(Collection, int)}.
+	 * @param path the secret path.
+	 * @return the response or {@literal null} if the secret was not found.
+	 * @since 3.1
+	 */
+	@Nullable
+	VaultResponse readSecret(String path) {
+
+		CompletableFuture<VaultResponse> prefetched = this.prefetched.remove(path);
+
+		VaultResponse response = prefetched != null ? await(prefetched) : doReadSecret(path);
+
+		if (response != null && this.snapshotStore != null) {
+			saveSnapshot(path, response);
+		}
+
+		return response;
+	}
+
+	/**
+	 * Read secrets from the snapshot store and apply property transformation.
+	 * @param secretBackendMetadata the secret backend.
+	 * @return the {@link Secrets} or {@literal null} if snapshots are disabled or no
+	 * snapshot was found.
+	 * @since 3.1
+	 */
+	@Nullable
+	Secrets readSnapshot(SecretBackendMetadata secretBackendMetadata) {
+
+		VaultSnapshotStore.Snapshot snapshot = loadSnapshot(secretBackendMetadata.getPath());
+
+		if (snapshot == null) {
+			return null;
+		}
+
+		log.info(String.format("Using snapshot of config from Vault at: %s", secretBackendMetadata.getPath()));
+
+		Secrets secrets = new Secrets();
+		secrets.setData(secretBackendMetadata.getPropertyTransformer().transformProperties(snapshot.getData()));
+
+		if (snapshot.getVersion() != null) {
+			secrets.setMetadata(Collections.singletonMap("version", snapshot.getVersion()));
+		}
+
+		return secrets;
+	}
+
+	/**
+	 * Load a snapshot of the raw (flattened) secret at {@code path}.
+	 * @param path the secret path.
+	 * @return the snapshot or {@literal null} if snapshots are disabled or no snapshot
+	 * was found.
+	 * @since 3.1
+	 */
+	@Nullable
+	VaultSnapshotStore.Snapshot loadSnapshot(String path) {
+		return this.snapshotStore != null ? this.snapshotStore.load(path) : null;
+	}
+
+	/**
+	 * Check whether {@link Secrets} read from a snapshot reflect the current version of
+	 * a versioned Key-Value secret.
+	 * @param path the secret path.
+	 * @param secrets the secrets.
+	 * @return {@literal true} if the secret version is known and did not change.
+	 * @since 3.1
+	 */
+	boolean isCurrent(String path, Secrets secrets) {
+
+		Object version = secrets.getMetadata() != null ? secrets.getMetadata().get("version") : null;
+
+		if (!(version instanceof Number)) {
+			return false;
+		}
+
+		Integer currentVersion = this.mountCache.getCurrentVersion(path);
+		return currentVersion != null && currentVersion == ((Number) version).intValue();
+	}
+
+	private void saveSnapshot(String path, VaultResponse response) {
+
+		if (response.isRenewable() || StringUtils.hasText(response.getLeaseId()) || response.getData() == null) {
+			return;
+		}
+
+		Object version = response.getMetadata() != null ? response.getMetadata().get("version") : null;
+
+		Map<String, Object> data = response instanceof VaultStreamingReader.FlattenedVaultResponse ? response.getData()
+				: JsonMapFlattener.flatten(response.getData());
+
+		this.snapshotStore.save(path, new VaultSnapshotStore.Snapshot(data,
+				version instanceof Number ? ((Number) version).intValue() : null));
+	}
+
+	/**
+	 * Issue reads for all {@code paths} concurrently using at most {@code concurrency}
+	 * threads. Subsequent calls to {@link #readSecret(String)} pick up the prefetched
+	 * result once and wait for pending reads to complete. Results that are not picked up
+	 * are discarded through {@link #clearPrefetched()}. Callers must not prefetch
+	 * secrets that are associated with a lease as discarded leases are neither renewed
+	 * nor revoked.
+	 * @param paths the secret paths to prefetch.
+	 * @param concurrency maximum number of concurrent reads.
+	 * @since 3.1
+	 */
+	void prefetch(Collection<String> paths, int concurrency) {
+
+		Assert.notNull(paths, "Paths must not be null");
+		Assert.isTrue(concurrency > 0, "Concurrency must be greater than zero");
+
+		if (paths.isEmpty()) {
+			return;
+		}
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("Spring-Cloud-Vault-Prefetch-");
+		threadFactory.setDaemon(true);
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, paths.size()), threadFactory);
+
+		try {
+			for (String path : paths) {
+
+				if (this.prefetched.containsKey(path)) {
+					continue;
+				}
+
+				log.debug(String.format("Prefetching secrets from Vault at: %s", path));
+				this.prefetched.put(path, CompletableFuture.supplyAsync(() -> doReadSecret(path), executor));
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Discard all prefetched results that were not picked up by
+	 * {@link #readSecret(String)} and cancel pending reads.
+	 * @since 3.1
+	 */
+	void clearPrefetched() {
+
+		for (String path : this.prefetched.keySet()) {
+
+			CompletableFuture<VaultResponse> future = this.prefetched.remove(path);
+
+			if (future != null) {
+				log.debug(String.format("Discarding unused prefetched secrets at: %s", path));
+				future.cancel(false);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		clearPrefetched();
+	}
+
+	@Nullable
+	private VaultResponse doReadSecret(String path) {
+
+		if (this.negativeCache.isAbsent(path)) {
+
+			log.debug(String.format("Skipping read of absent secret at: %s", path));
+			return null;
+		}
+
+		VaultMetricsRecorder metricsRecorder = this.metricsRecorder;
+		long start = System.nanoTime();
+		VaultResponse response;
+
+		try {
+			response = this.mountCache.read(path);
+		}
+		catch (RuntimeException e) {
+
+			if (metricsRecorder != null) {
+				metricsRecorder.recordRead(path, VaultMetricsRecorder.ERROR, System.nanoTime() - start);
+			}
+			throw e;
+		}
+
+		if (metricsRecorder != null) {
+			metricsRecorder.recordRead(path,
+					response != null ? VaultMetricsRecorder.SUCCESS : VaultMetricsRecorder.NOT_FOUND,
+					System.nanoTime() - start);
+		}
+
+		if (response == null) {
+			this.negativeCache.notFound(path);
+		}
+
+		return response;
+	}
+
+	@Nullable
+	private static VaultResponse await(CompletableFuture<VaultResponse> future) {
+
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+
+			throw new VaultException("Cannot obtain prefetched secret", e.getCause());
+		}
+	}
+
 	private Secrets createSecrets(VaultResponse vaultResponse, Map<String, Object> data) {
 
 		Secrets secrets = new Secrets();
@@ -123,8 +408,62 @@ public class VaultConfigTemplate implements VaultConfigOperations {
 		return secrets;
 	}
 
+	/**
+	 * @return the {@link VaultSnapshotStore} or {@literal null} if snapshots are
+	 * disabled.
+	 * @since 3.1
+	 */
+	@Nullable
+	VaultSnapshotStore getSnapshotStore() {
+		return this.snapshotStore;
+	}
+
+	/**
+	 * @return the {@link VaultMountCache} shared by all reads through this template.
+	 * @since 3.1
+	 */
+	VaultMountCache getMountCache() {
+		return this.mountCache;
+	}
+
 	public VaultOperations getVaultOperations() {
 		return this.vaultOperations;
 	}
 
+	/**
+	 * Key to de-duplicate reads by secret path and {@link PropertyTransformer}.
+	 */
+	static final class ReadKey {
+
+		private final String path;
+
+		private final PropertyTransformer propertyTransformer;
+
+		ReadKey(String path, PropertyTransformer propertyTransformer) {
+			this.path = path;
+			this.propertyTransformer = propertyTransformer;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+
+			if (this == o) {
+				return true;
+			}
+
+			if (!(o instanceof ReadKey)) {
+				return false;
+			}
+
+			ReadKey other = (ReadKey) o;
+			return this.path.equals(other.path) && this.propertyTransformer.equals(other.propertyTransformer);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.path.hashCode() + this.propertyTransformer.hashCode();
+		}
+
+	}
+
 }
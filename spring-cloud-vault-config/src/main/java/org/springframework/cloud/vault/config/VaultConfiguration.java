@@ -18,12 +18,17 @@ package org.springframework.cloud.vault.config;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.vault.config.VaultProperties.Ssl;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.util.StringUtils;
@@ -32,7 +37,6 @@ import org.springframework.vault.authentication.LifecycleAwareSessionManager;
 import org.springframework.vault.authentication.LifecycleAwareSessionManagerSupport;
 import org.springframework.vault.authentication.SessionManager;
 import org.springframework.vault.authentication.SimpleSessionManager;
-import org.springframework.vault.client.ClientHttpRequestFactoryFactory;
 import org.springframework.vault.client.RestTemplateBuilder;
 import org.springframework.vault.client.RestTemplateCustomizer;
 import org.springframework.vault.client.RestTemplateFactory;
@@ -40,7 +44,7 @@ import org.springframework.vault.client.RestTemplateRequestCustomizer;
 import org.springframework.vault.client.VaultEndpoint;
 import org.springframework.vault.client.VaultEndpointProvider;
 import org.springframework.vault.client.VaultHttpHeaders;
-import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.config.AbstractVaultConfiguration.ClientFactoryWrapper;
 import org.springframework.vault.core.lease.SecretLeaseContainer;
 import org.springframework.vault.support.ClientOptions;
 import org.springframework.vault.support.SslConfiguration;
@@ -57,6 +61,9 @@ final class VaultConfiguration {
 
 	private final VaultProperties vaultProperties;
 
+	@Nullable
+	private VaultReadRoutingInterceptor readRoutingInterceptor;
+
 	VaultConfiguration(VaultProperties vaultProperties) {
 		this.vaultProperties = vaultProperties;
 	}
@@ -108,7 +115,19 @@ final class VaultConfiguration {
 
 		SslConfiguration sslConfiguration = VaultConfiguration.createSslConfiguration(this.vaultProperties.getSsl());
 
-		return ClientHttpRequestFactoryFactory.create(clientOptions, sslConfiguration);
+		return VaultHttpClientFactory.create(clientOptions, sslConfiguration, this.vaultProperties.getHttp());
+	}
+
+	/**
+	 * Acquire a {@link ClientFactoryWrapper} referencing the
+	 * {@link ClientHttpRequestFactory} that is shared through {@link VaultTransports} by
+	 * all users of the same transport configuration.
+	 * @param transports the transport registry.
+	 * @return the {@link ClientFactoryWrapper}.
+	 * @since 3.1
+	 */
+	ClientFactoryWrapper createClientFactoryWrapper(VaultTransports transports) {
+		return transports.acquireRequestFactory(this.vaultProperties, this::createClientHttpRequestFactory);
 	}
 
 	/**
@@ -162,39 +181,143 @@ final class VaultConfiguration {
 		if (StringUtils.hasText(this.vaultProperties.getNamespace())) {
 			builder.defaultHeader(VaultHttpHeaders.VAULT_NAMESPACE, this.vaultProperties.getNamespace());
 		}
+
+		// discovery registers read routing with discovered candidates
+		if (this.vaultProperties.getReadRouting().isEnabled() && !this.vaultProperties.getDiscovery().isEnabled()) {
+
+			VaultReadRoutingInterceptor interceptor = getReadRoutingInterceptor(requestFactory);
+			builder.customizers((restTemplate) -> restTemplate.getInterceptors().add(interceptor));
+		}
+
 		return builder;
 	}
 
+	/**
+	 * Create a {@link VaultReadRoutingInterceptor} considering the configured standby
+	 * nodes and {@code additionalCandidates}.
+	 * @param requestFactory the {@link ClientHttpRequestFactory} to check the health of
+	 * candidate nodes.
+	 * @param additionalCandidates supplier of additional candidate nodes.
+	 * @return the {@link VaultReadRoutingInterceptor}.
+	 * @since 3.1
+	 */
+	VaultReadRoutingInterceptor createReadRoutingInterceptor(ClientHttpRequestFactory requestFactory,
+			Supplier<List<VaultEndpoint>> additionalCandidates) {
+
+		VaultProperties.ReadRouting readRouting = this.vaultProperties.getReadRouting();
+		List<VaultEndpoint> standbys = readRouting.getStandbys().stream().map(VaultEndpoint::from)
+				.collect(Collectors.toList());
+
+		Supplier<List<VaultEndpoint>> candidates = () -> {
+
+			List<VaultEndpoint> result = new ArrayList<>(standbys);
+			result.addAll(additionalCandidates.get());
+			return result;
+		};
+
+		return new VaultReadRoutingInterceptor(readRouting, candidates, new RestTemplate(requestFactory),
+				OffloadingTaskScheduler.createBoundedExecutor(1, "Spring-Cloud-Vault-Read-Routing-"));
+	}
+
+	/**
+	 * Obtain the {@link VaultReadRoutingInterceptor} considering the configured standby
+	 * nodes. The interceptor is created on first use and shared by all
+	 * {@link RestTemplateBuilder}s created by this configuration.
+	 * @param requestFactory the {@link ClientHttpRequestFactory} to check the health of
+	 * candidate nodes.
+	 * @return the {@link VaultReadRoutingInterceptor}.
+	 * @since 3.1
+	 */
+	synchronized VaultReadRoutingInterceptor getReadRoutingInterceptor(ClientHttpRequestFactory requestFactory) {
+
+		if (this.readRoutingInterceptor == null) {
+			this.readRoutingInterceptor = createReadRoutingInterceptor(requestFactory, Collections::emptyList);
+		}
+
+		return this.readRoutingInterceptor;
+	}
+
+	/**
+	 * Release resources held by this configuration, such as the health check executor
+	 * of the {@link VaultReadRoutingInterceptor}.
+	 * @since 3.1
+	 */
+	synchronized void destroy() {
+
+		if (this.readRoutingInterceptor != null) {
+			this.readRoutingInterceptor.destroy();
+			this.readRoutingInterceptor = null;
+		}
+	}
+
 	SessionManager createSessionManager(ClientAuthentication clientAuthentication,
 			Supplier<TaskScheduler> taskSchedulerSupplier, RestTemplateFactory restTemplateFactory) {
+		return createSessionManager(clientAuthentication, taskSchedulerSupplier, restTemplateFactory, null);
+	}
+
+	SessionManager createSessionManager(ClientAuthentication clientAuthentication,
+			Supplier<TaskScheduler> taskSchedulerSupplier, RestTemplateFactory restTemplateFactory,
+			@Nullable VaultMetricsRecorder metricsRecorder) {
+
+		// static tokens do not require a login
+		ClientAuthentication authentication = metricsRecorder != null
+				&& this.vaultProperties.getAuthentication() != VaultProperties.AuthenticationMethod.TOKEN
+						? metricsRecorder.timed(clientAuthentication, this.vaultProperties.getAuthentication())
+						: clientAuthentication;
+
 		VaultProperties.SessionLifecycle lifecycle = this.vaultProperties.getSession().getLifecycle();
 
 		if (lifecycle.isEnabled()) {
 			RestTemplate restTemplate = restTemplateFactory.create();
 			LifecycleAwareSessionManagerSupport.RefreshTrigger trigger = new LifecycleAwareSessionManagerSupport.FixedTimeoutRefreshTrigger(
 					lifecycle.getRefreshBeforeExpiry(), lifecycle.getExpiryThreshold());
-			return new LifecycleAwareSessionManager(clientAuthentication, taskSchedulerSupplier.get(), restTemplate,
+			return new LifecycleAwareSessionManager(authentication, taskSchedulerSupplier.get(), restTemplate,
 					trigger);
 		}
 
-		return new SimpleSessionManager(clientAuthentication);
+		return new SimpleSessionManager(authentication);
 	}
 
-	SecretLeaseContainer createSecretLeaseContainer(VaultOperations vaultOperations,
+	SecretLeaseContainer createSecretLeaseContainer(VaultConfigTemplate configTemplate,
 			Supplier<TaskScheduler> taskSchedulerSupplier) {
 
 		VaultProperties.ConfigLifecycle lifecycle = this.vaultProperties.getConfig().getLifecycle();
 
-		SecretLeaseContainer container = new SecretLeaseContainer(vaultOperations, taskSchedulerSupplier.get());
+		TaskScheduler taskScheduler = taskSchedulerSupplier.get();
+
+		if (lifecycle.isEnabled() && lifecycle.getCoalescingTolerance() != null
+				&& !lifecycle.getCoalescingTolerance().isZero()) {
+			taskScheduler = new CoalescingTaskScheduler(taskScheduler, lifecycle.getCoalescingTolerance());
+		}
+
+		if (lifecycle.isEnabled() && (lifecycle.getJitter() > 0 || lifecycle.getMaxConcurrency() > 0)) {
+			taskScheduler = new JitteringTaskScheduler(taskScheduler, lifecycle.getJitter(),
+					lifecycle.getMaxConcurrency());
+		}
+
+		SecretLeaseContainer container = new VaultConfigSecretLeaseContainer(configTemplate, taskScheduler);
 
 		customizeContainer(lifecycle, container);
 
 		return container;
 	}
 
-	static ThreadPoolTaskScheduler createScheduler() {
-		ThreadPoolTaskScheduler threadPoolTaskScheduler = new ThreadPoolTaskScheduler();
-		threadPoolTaskScheduler.setPoolSize(2);
+	static ThreadPoolTaskScheduler createScheduler(VaultProperties.Scheduler scheduler) {
+
+		ExecutorService executor = null;
+
+		if (scheduler.isVirtualThreads()) {
+			executor = OffloadingTaskScheduler.createVirtualThreadExecutor("Spring-Cloud-Vault-Renewal-");
+		}
+
+		if (executor == null && scheduler.getExecutorPoolSize() > 0) {
+			executor = OffloadingTaskScheduler.createBoundedExecutor(scheduler.getExecutorPoolSize(),
+					"Spring-Cloud-Vault-Renewal-");
+		}
+
+		ThreadPoolTaskScheduler threadPoolTaskScheduler = executor != null ? new OffloadingTaskScheduler(executor)
+				: new ThreadPoolTaskScheduler();
+		threadPoolTaskScheduler.setPoolSize(scheduler.getPoolSize());
 		threadPoolTaskScheduler.setDaemon(true);
 		threadPoolTaskScheduler.setThreadNamePrefix("Spring-Cloud-Vault-");
 		return threadPoolTaskScheduler;
@@ -215,6 +338,19 @@ final class VaultConfiguration {
 			if (lifecycle.getLeaseEndpoints() != null) {
 				container.setLeaseEndpoints(lifecycle.getLeaseEndpoints());
 			}
+
+			if (lifecycle.getVersionPollingInterval() != null
+					&& container instanceof VaultConfigSecretLeaseContainer) {
+				((VaultConfigSecretLeaseContainer) container)
+						.setVersionPollingInterval(lifecycle.getVersionPollingInterval());
+			}
+
+			if (lifecycle.getLeaseStore().isEnabled() && container instanceof VaultConfigSecretLeaseContainer) {
+
+				VaultConfigSecretLeaseContainer leaseContainer = (VaultConfigSecretLeaseContainer) container;
+				leaseContainer.setLeaseStore(new VaultSnapshotStore(lifecycle.getLeaseStore()));
+				leaseContainer.setRetainLeases(lifecycle.getLeaseStore().isRetainLeases());
+			}
 		}
 	}
 
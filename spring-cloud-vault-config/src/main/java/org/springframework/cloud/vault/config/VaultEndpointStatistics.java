@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.lang.Nullable;
+
+/**
+ * Per-endpoint request statistics to select Vault instances by outstanding requests or
+ * latency. Statistics are recorded by host and port. Latency is tracked as exponentially
+ * weighted moving average.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultServiceInstanceSelectors#leastOutstandingRequests(VaultEndpointStatistics)
+ * @see VaultServiceInstanceSelectors#latencyWeighted(VaultEndpointStatistics)
+ */
+public class VaultEndpointStatistics {
+
+	/**
+	 * Weight of the most recent latency sample.
+	 */
+	private static final double LATENCY_WEIGHT = 0.3;
+
+	private final Map<String, EndpointStatistics> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * Record the start of a request to {@code uri}.
+	 * @param uri the request URI.
+	 * @return the {@link Request} to complete once the request has finished.
+	 */
+	public Request start(URI uri) {
+
+		EndpointStatistics statistics = this.statistics.computeIfAbsent(getKey(uri.getHost(), getPort(uri)),
+				(key) -> new EndpointStatistics());
+
+		statistics.outstanding.incrementAndGet();
+
+		return new Request(statistics, System.nanoTime());
+	}
+
+	/**
+	 * @param instance the service instance.
+	 * @return the number of requests to {@code instance} that have not completed yet.
+	 */
+	public int getOutstandingRequests(ServiceInstance instance) {
+
+		EndpointStatistics statistics = this.statistics.get(getKey(instance.getHost(), instance.getPort()));
+		return statistics != null ? statistics.outstanding.get() : 0;
+	}
+
+	/**
+	 * @param instance the service instance.
+	 * @return the average latency of requests to {@code instance} or {@literal null} if
+	 * no request to {@code instance} has completed yet.
+	 */
+	@Nullable
+	public Duration getLatency(ServiceInstance instance) {
+
+		EndpointStatistics statistics = this.statistics.get(getKey(instance.getHost(), instance.getPort()));
+
+		if (statistics == null) {
+			return null;
+		}
+
+		long latency = statistics.latencyNanos.get();
+		return latency != 0 ? Duration.ofNanos(latency) : null;
+	}
+
+	private static int getPort(URI uri) {
+
+		if (uri.getPort() != -1) {
+			return uri.getPort();
+		}
+
+		return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+	}
+
+	private static String getKey(@Nullable String host, int port) {
+		return host + ":" + port;
+	}
+
+	/**
+	 * A started request.
+	 */
+	public static class Request {
+
+		private final EndpointStatistics statistics;
+
+		private final long startNanos;
+
+		private final AtomicBoolean completed = new AtomicBoolean();
+
+		Request(EndpointStatistics statistics, long startNanos) {
+			this.statistics = statistics;
+			this.startNanos = startNanos;
+		}
+
+		/**
+		 * Record completion of the request. Subsequent calls are ignored.
+		 */
+		public void complete() {
+
+			if (!this.completed.compareAndSet(false, true)) {
+				return;
+			}
+
+			long latency = Math.max(1, System.nanoTime() - this.startNanos);
+
+			this.statistics.outstanding.decrementAndGet();
+			this.statistics.latencyNanos.updateAndGet((average) -> average == 0 ? latency
+					: (long) (average + (latency - average) * LATENCY_WEIGHT));
+		}
+
+	}
+
+	static class EndpointStatistics {
+
+		final AtomicInteger outstanding = new AtomicInteger();
+
+		final AtomicLong latencyNanos = new AtomicLong();
+
+	}
+
+}
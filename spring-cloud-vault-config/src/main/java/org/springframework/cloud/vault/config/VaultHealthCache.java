@@ -0,0 +1,201 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.vault.support.VaultHealth;
+
+/**
+ * Cache for the most recent {@link VaultHealth} result. Concurrent refresh requests
+ * share a single refresh so that at most one health request is issued to Vault at a
+ * time. Failed health requests are cached as well to not overload an unavailable Vault
+ * server.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see CachingVaultHealthIndicator
+ * @see CachingVaultReactiveHealthIndicator
+ */
+class VaultHealthCache {
+
+	private final Duration maxStaleness;
+
+	private final Clock clock;
+
+	private final AtomicReference<Refresh> refresh = new AtomicReference<>();
+
+	@Nullable
+	private volatile Sample sample;
+
+	VaultHealthCache(Duration maxStaleness) {
+		this(maxStaleness, Clock.systemUTC());
+	}
+
+	VaultHealthCache(Duration maxStaleness, Clock clock) {
+
+		Assert.notNull(maxStaleness, "Max staleness must not be null");
+		Assert.isTrue(!maxStaleness.isNegative(), "Max staleness must not be negative");
+		Assert.notNull(clock, "Clock must not be null");
+
+		this.maxStaleness = maxStaleness;
+		this.clock = clock;
+	}
+
+	/**
+	 * @return the most recent {@link Sample} or {@literal null} if no health status was
+	 * obtained yet.
+	 */
+	@Nullable
+	Sample getSample() {
+		return this.sample;
+	}
+
+	/**
+	 * @param sample the sample to inspect.
+	 * @return {@literal true} if the sample is older than the max staleness.
+	 */
+	boolean isStale(Sample sample) {
+		return getAge(sample).compareTo(this.maxStaleness) > 0;
+	}
+
+	/**
+	 * @param sample the sample to inspect.
+	 * @return the age of the sample.
+	 */
+	Duration getAge(Sample sample) {
+
+		Duration age = Duration.between(sample.timestamp, this.clock.instant());
+		return age.isNegative() ? Duration.ZERO : age;
+	}
+
+	/**
+	 * Refresh the health status unless a refresh is already in progress. The
+	 * {@code refreshFunction} starts the refresh and must eventually complete the
+	 * {@link Refresh} handle.
+	 * @param refreshFunction function to start the refresh.
+	 * @return a future completed with the refreshed {@link Sample}.
+	 */
+	CompletableFuture<Sample> refresh(Consumer<Refresh> refreshFunction) {
+
+		Refresh refresh = new Refresh();
+
+		while (true) {
+
+			if (this.refresh.compareAndSet(null, refresh)) {
+
+				try {
+					refreshFunction.accept(refresh);
+				}
+				catch (RuntimeException e) {
+					refresh.failure(e);
+				}
+
+				return refresh.getFuture();
+			}
+
+			Refresh inFlight = this.refresh.get();
+			if (inFlight != null) {
+				return inFlight.getFuture();
+			}
+		}
+	}
+
+	/**
+	 * Contribute the {@link Sample} along with its age to the {@link Health.Builder}.
+	 * @param sample the sample to report.
+	 * @param builder the health builder.
+	 */
+	void contributeToHealth(Sample sample, Health.Builder builder) {
+
+		if (sample.health != null) {
+			HealthBuilderDelegate.contributeToHealth(sample.health, builder);
+		}
+		else {
+			builder.down().withException(sample.error);
+		}
+
+		builder.withDetail("age", getAge(sample).toString());
+	}
+
+	/**
+	 * Handle to complete a refresh.
+	 */
+	class Refresh {
+
+		private final CompletableFuture<Sample> future = new CompletableFuture<>();
+
+		void success(VaultHealth health) {
+			complete(new Sample(health, null, VaultHealthCache.this.clock.instant()));
+		}
+
+		void failure(Throwable error) {
+			complete(new Sample(null, error, VaultHealthCache.this.clock.instant()));
+		}
+
+		private void complete(Sample sample) {
+
+			if (this.future.isDone()) {
+				return;
+			}
+
+			VaultHealthCache.this.sample = sample;
+			VaultHealthCache.this.refresh.compareAndSet(this, null);
+			this.future.complete(sample);
+		}
+
+		/**
+		 * @return a dependent future so that cancellation by one caller does not affect
+		 * other callers awaiting the same refresh.
+		 */
+		private CompletableFuture<Sample> getFuture() {
+			return this.future.thenApply(Function.identity());
+		}
+
+	}
+
+	/**
+	 * Health status or failure obtained at a point in time.
+	 */
+	static class Sample {
+
+		@Nullable
+		final VaultHealth health;
+
+		@Nullable
+		final Throwable error;
+
+		final Instant timestamp;
+
+		Sample(@Nullable VaultHealth health, @Nullable Throwable error, Instant timestamp) {
+			this.health = health;
+			this.error = error;
+			this.timestamp = timestamp;
+		}
+
+	}
+
+}
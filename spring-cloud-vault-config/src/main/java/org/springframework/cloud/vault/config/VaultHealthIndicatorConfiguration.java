@@ -16,18 +16,29 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.health.CompositeHealthContributorConfiguration;
 import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.vault.core.VaultOperations;
 
 /**
- * Configuration for {@link VaultHealthIndicator}.
+ * Configuration for {@link VaultHealthIndicator}. Creates a
+ * {@link CachingVaultHealthIndicator} if health caching is enabled. Caching health
+ * indicators refresh on a dedicated single-threaded scheduler so that health checks do
+ * not compete with lease renewals.
  *
  * @author Stuart Ingram
  * @author Mark Paluch
@@ -36,12 +47,22 @@ import org.springframework.vault.core.VaultOperations;
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnBean(VaultOperations.class)
 class VaultHealthIndicatorConfiguration
-		extends CompositeHealthContributorConfiguration<VaultHealthIndicator, VaultOperations> {
+		extends CompositeHealthContributorConfiguration<HealthIndicator, VaultOperations>
+		implements DisposableBean {
 
 	private final Map<String, VaultOperations> vaultTemplates;
 
-	VaultHealthIndicatorConfiguration(Map<String, VaultOperations> vaultTemplates) {
+	private final ObjectProvider<VaultProperties> vaultProperties;
+
+	private final List<CachingVaultHealthIndicator> cachingIndicators = new CopyOnWriteArrayList<>();
+
+	@Nullable
+	private ThreadPoolTaskScheduler healthScheduler;
+
+	VaultHealthIndicatorConfiguration(Map<String, VaultOperations> vaultTemplates,
+			ObjectProvider<VaultProperties> vaultProperties) {
 		this.vaultTemplates = vaultTemplates;
+		this.vaultProperties = vaultProperties;
 	}
 
 	@Bean
@@ -50,4 +71,48 @@ class VaultHealthIndicatorConfiguration
 		return createContributor(this.vaultTemplates);
 	}
 
+	@Override
+	protected HealthIndicator createIndicator(VaultOperations vaultOperations) {
+
+		VaultProperties.Health health = this.vaultProperties.getIfAvailable(VaultProperties::new).getHealth();
+
+		if (!health.isCacheEnabled()) {
+			return new VaultHealthIndicator(vaultOperations);
+		}
+
+		CachingVaultHealthIndicator indicator = new CachingVaultHealthIndicator(vaultOperations,
+				getHealthScheduler(), new VaultHealthCache(health.getMaxStaleness()), health.getTimeout());
+		indicator.start(health.getRefreshInterval());
+		this.cachingIndicators.add(indicator);
+
+		return indicator;
+	}
+
+	private synchronized TaskScheduler getHealthScheduler() {
+
+		if (this.healthScheduler == null) {
+
+			ThreadPoolTaskScheduler healthScheduler = new ThreadPoolTaskScheduler();
+			healthScheduler.setPoolSize(1);
+			healthScheduler.setDaemon(true);
+			healthScheduler.setThreadNamePrefix("Spring-Cloud-Vault-Health-");
+			healthScheduler.initialize();
+
+			this.healthScheduler = healthScheduler;
+		}
+
+		return this.healthScheduler;
+	}
+
+	@Override
+	public synchronized void destroy() {
+
+		this.cachingIndicators.forEach(CachingVaultHealthIndicator::stop);
+
+		if (this.healthScheduler != null) {
+			this.healthScheduler.shutdown();
+			this.healthScheduler = null;
+		}
+	}
+
 }
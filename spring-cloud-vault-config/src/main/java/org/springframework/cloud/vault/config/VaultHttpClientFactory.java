@@ -0,0 +1,454 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ProxySelector;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import okhttp3.ConnectionPool;
+import okhttp3.ConnectionSpec;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultRoutePlanner;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import org.springframework.cloud.vault.config.VaultProperties.Http;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.vault.client.ClientHttpConnectorFactory;
+import org.springframework.vault.client.ClientHttpRequestFactoryFactory;
+import org.springframework.vault.support.ClientOptions;
+import org.springframework.vault.support.SslConfiguration;
+import org.springframework.vault.support.SslConfiguration.KeyStoreConfiguration;
+
+/**
+ * Factory for HTTP clients used to communicate with Vault that applies
+ * {@link Http HTTP transport properties} (connection pooling, keep-alive, HTTP/2 and TCP
+ * options) to the HTTP client library on the class path. Falls back to
+ * {@link ClientHttpRequestFactoryFactory} and {@link ClientHttpConnectorFactory} if no
+ * transport property is set, no supported HTTP client library is available or if the
+ * SSL configuration uses PEM-encoded key material.
+ * <p>
+ * Imperative clients are selected in the order Apache HttpComponents, OkHttp 3. Reactive
+ * clients require Reactor Netty.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+final class VaultHttpClientFactory {
+
+	private static final ClassLoader CLASS_LOADER = VaultHttpClientFactory.class.getClassLoader();
+
+	private static final boolean HTTP_COMPONENTS_PRESENT = ClassUtils.isPresent("org.apache.http.client.HttpClient",
+			CLASS_LOADER);
+
+	private static final boolean OKHTTP3_PRESENT = ClassUtils.isPresent("okhttp3.OkHttpClient", CLASS_LOADER);
+
+	private static final boolean REACTOR_NETTY_PRESENT = ClassUtils.isPresent("reactor.netty.http.client.HttpClient",
+			CLASS_LOADER);
+
+	private static final String PEM = "PEM";
+
+	private VaultHttpClientFactory() {
+	}
+
+	/**
+	 * Create a {@link ClientHttpRequestFactory} for the given options.
+	 * @param options client options.
+	 * @param sslConfiguration SSL configuration.
+	 * @param http HTTP transport properties.
+	 * @return the {@link ClientHttpRequestFactory}.
+	 */
+	static ClientHttpRequestFactory create(ClientOptions options, SslConfiguration sslConfiguration, Http http) {
+
+		if (isCustomized(http) && isSupported(sslConfiguration)) {
+
+			try {
+				if (HTTP_COMPONENTS_PRESENT) {
+					return HttpComponents.create(options, sslConfiguration, http);
+				}
+
+				if (OKHTTP3_PRESENT) {
+					return OkHttp3.create(options, sslConfiguration, http);
+				}
+			}
+			catch (GeneralSecurityException | IOException e) {
+				throw new IllegalStateException("Cannot create ClientHttpRequestFactory", e);
+			}
+		}
+
+		return ClientHttpRequestFactoryFactory.create(options, sslConfiguration);
+	}
+
+	/**
+	 * Create a {@link ClientHttpConnector} for the given options.
+	 * @param options client options.
+	 * @param sslConfiguration SSL configuration.
+	 * @param http HTTP transport properties.
+	 * @return the {@link ClientHttpConnector}.
+	 */
+	static ClientHttpConnector createConnector(ClientOptions options, SslConfiguration sslConfiguration, Http http) {
+
+		if (isCustomized(http) && isSupported(sslConfiguration) && REACTOR_NETTY_PRESENT) {
+
+			try {
+				return ReactorNetty.create(options, sslConfiguration, http);
+			}
+			catch (GeneralSecurityException | IOException e) {
+				throw new IllegalStateException("Cannot create ClientHttpConnector", e);
+			}
+		}
+
+		return ClientHttpConnectorFactory.create(options, sslConfiguration);
+	}
+
+	/**
+	 * @param http HTTP transport properties.
+	 * @return {@literal true} if at least one transport property is set.
+	 */
+	static boolean isCustomized(Http http) {
+		return http.getMaxConnections() != null || http.getMaxConnectionsPerRoute() != null
+				|| http.getIdleTimeout() != null || http.getKeepAlive() != null || http.isPreferHttp2()
+				|| http.getTcpNoDelay() != null || http.getSoKeepAlive() != null;
+	}
+
+	private static boolean isSupported(SslConfiguration sslConfiguration) {
+		return !isPem(sslConfiguration.getKeyStoreConfiguration())
+				&& !isPem(sslConfiguration.getTrustStoreConfiguration());
+	}
+
+	private static boolean isPem(KeyStoreConfiguration configuration) {
+		return configuration.isPresent() && PEM.equalsIgnoreCase(configuration.getStoreType());
+	}
+
+	private static boolean hasSslConfiguration(SslConfiguration sslConfiguration) {
+		return sslConfiguration.getKeyStoreConfiguration().isPresent()
+				|| sslConfiguration.getTrustStoreConfiguration().isPresent();
+	}
+
+	private static SSLContext createSslContext(SslConfiguration sslConfiguration,
+			TrustManagerFactory trustManagerFactory) throws GeneralSecurityException, IOException {
+
+		KeyManagerFactory keyManagerFactory = createKeyManagerFactory(sslConfiguration.getKeyStoreConfiguration());
+
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(keyManagerFactory != null ? keyManagerFactory.getKeyManagers() : null,
+				trustManagerFactory.getTrustManagers(), null);
+
+		return sslContext;
+	}
+
+	@Nullable
+	private static KeyManagerFactory createKeyManagerFactory(KeyStoreConfiguration configuration)
+			throws GeneralSecurityException, IOException {
+
+		if (!configuration.isPresent()) {
+			return null;
+		}
+
+		KeyManagerFactory keyManagerFactory = KeyManagerFactory
+				.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(loadKeyStore(configuration),
+				configuration.getStorePassword() != null ? configuration.getStorePassword() : new char[0]);
+
+		return keyManagerFactory;
+	}
+
+	private static TrustManagerFactory createTrustManagerFactory(KeyStoreConfiguration configuration)
+			throws GeneralSecurityException, IOException {
+
+		TrustManagerFactory trustManagerFactory = TrustManagerFactory
+				.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trustManagerFactory.init(configuration.isPresent() ? loadKeyStore(configuration) : null);
+
+		return trustManagerFactory;
+	}
+
+	private static KeyStore loadKeyStore(KeyStoreConfiguration configuration)
+			throws GeneralSecurityException, IOException {
+
+		KeyStore keyStore = KeyStore.getInstance(configuration.getStoreType());
+
+		try (InputStream inputStream = configuration.getResource().getInputStream()) {
+			keyStore.load(inputStream, configuration.getStorePassword());
+		}
+
+		return keyStore;
+	}
+
+	@Nullable
+	private static String[] toArray(List<String> values) {
+		return values.isEmpty() ? null : values.toArray(new String[0]);
+	}
+
+	/**
+	 * Apache HttpComponents 4 client. HTTP/2 is not supported.
+	 */
+	static class HttpComponents {
+
+		static ClientHttpRequestFactory create(ClientOptions options, SslConfiguration sslConfiguration, Http http)
+				throws GeneralSecurityException, IOException {
+
+			RegistryBuilder<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+					.register("http", PlainConnectionSocketFactory.getSocketFactory());
+
+			if (hasSslConfiguration(sslConfiguration)) {
+				registry.register("https",
+						new SSLConnectionSocketFactory(
+								createSslContext(sslConfiguration,
+										createTrustManagerFactory(sslConfiguration.getTrustStoreConfiguration())),
+								toArray(sslConfiguration.getEnabledProtocols()),
+								toArray(sslConfiguration.getEnabledCipherSuites()),
+								SSLConnectionSocketFactory.getDefaultHostnameVerifier()));
+			}
+			else {
+				registry.register("https", SSLConnectionSocketFactory.getSocketFactory());
+			}
+
+			PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+					registry.build());
+
+			if (http.getMaxConnections() != null) {
+				connectionManager.setMaxTotal(http.getMaxConnections());
+			}
+
+			if (http.getMaxConnectionsPerRoute() != null) {
+				connectionManager.setDefaultMaxPerRoute(http.getMaxConnectionsPerRoute());
+			}
+
+			SocketConfig.Builder socketConfig = SocketConfig.custom()
+					.setSoTimeout(Math.toIntExact(options.getReadTimeout().toMillis()));
+
+			if (http.getTcpNoDelay() != null) {
+				socketConfig.setTcpNoDelay(http.getTcpNoDelay());
+			}
+
+			if (http.getSoKeepAlive() != null) {
+				socketConfig.setSoKeepAlive(http.getSoKeepAlive());
+			}
+
+			connectionManager.setDefaultSocketConfig(socketConfig.build());
+
+			RequestConfig requestConfig = RequestConfig.custom()
+					.setConnectTimeout(Math.toIntExact(options.getConnectionTimeout().toMillis()))
+					.setSocketTimeout(Math.toIntExact(options.getReadTimeout().toMillis()))
+					.setAuthenticationEnabled(true).build();
+
+			HttpClientBuilder builder = HttpClients.custom().setConnectionManager(connectionManager)
+					.setDefaultRequestConfig(requestConfig)
+					.setRoutePlanner(
+							new SystemDefaultRoutePlanner(DefaultSchemePortResolver.INSTANCE, ProxySelector.getDefault()));
+
+			if (http.getIdleTimeout() != null) {
+				builder.evictIdleConnections(http.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+			}
+
+			if (http.getKeepAlive() != null) {
+				long keepAlive = http.getKeepAlive().toMillis();
+				builder.setKeepAliveStrategy((response, context) -> keepAlive);
+			}
+
+			return new HttpComponentsClientHttpRequestFactory(builder.build());
+		}
+
+	}
+
+	/**
+	 * OkHttp 3 client. Connections are limited through the connection pool (maximum
+	 * number of idle connections), TCP_NODELAY is always enabled by OkHttp.
+	 */
+	static class OkHttp3 {
+
+		static ClientHttpRequestFactory create(ClientOptions options, SslConfiguration sslConfiguration, Http http)
+				throws GeneralSecurityException, IOException {
+
+			OkHttpClient.Builder builder = new OkHttpClient.Builder()
+					.connectTimeout(options.getConnectionTimeout().toMillis(), TimeUnit.MILLISECONDS)
+					.readTimeout(options.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+
+			if (hasSslConfiguration(sslConfiguration)) {
+
+				TrustManagerFactory trustManagerFactory = createTrustManagerFactory(
+						sslConfiguration.getTrustStoreConfiguration());
+				X509TrustManager trustManager = getX509TrustManager(trustManagerFactory.getTrustManagers());
+
+				builder.sslSocketFactory(createSslContext(sslConfiguration, trustManagerFactory).getSocketFactory(),
+						trustManager);
+			}
+
+			if (!sslConfiguration.getEnabledProtocols().isEmpty()
+					|| !sslConfiguration.getEnabledCipherSuites().isEmpty()) {
+
+				ConnectionSpec.Builder spec = new ConnectionSpec.Builder(ConnectionSpec.MODERN_TLS);
+
+				if (!sslConfiguration.getEnabledProtocols().isEmpty()) {
+					spec.tlsVersions(toArray(sslConfiguration.getEnabledProtocols()));
+				}
+
+				if (!sslConfiguration.getEnabledCipherSuites().isEmpty()) {
+					spec.cipherSuites(toArray(sslConfiguration.getEnabledCipherSuites()));
+				}
+
+				builder.connectionSpecs(Arrays.asList(spec.build(), ConnectionSpec.CLEARTEXT));
+			}
+
+			if (http.getMaxConnections() != null || http.getKeepAlive() != null || http.getIdleTimeout() != null) {
+
+				Duration keepAlive = http.getKeepAlive() != null ? http.getKeepAlive()
+						: http.getIdleTimeout() != null ? http.getIdleTimeout() : Duration.ofMinutes(5);
+
+				builder.connectionPool(new ConnectionPool(http.getMaxConnections() != null ? http.getMaxConnections() : 5,
+						keepAlive.toMillis(), TimeUnit.MILLISECONDS));
+			}
+
+			builder.protocols(http.isPreferHttp2() ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1)
+					: Collections.singletonList(Protocol.HTTP_1_1));
+
+			return new OkHttp3ClientHttpRequestFactory(builder.build());
+		}
+
+		private static X509TrustManager getX509TrustManager(TrustManager[] trustManagers) {
+
+			for (TrustManager trustManager : trustManagers) {
+				if (trustManager instanceof X509TrustManager) {
+					return (X509TrustManager) trustManager;
+				}
+			}
+
+			throw new IllegalStateException("No X509TrustManager available");
+		}
+
+	}
+
+	/**
+	 * Reactor Netty client. Reactor Netty pools connections per remote address so
+	 * {@link Http#getMaxConnectionsPerRoute()} takes precedence over
+	 * {@link Http#getMaxConnections()}.
+	 */
+	static class ReactorNetty {
+
+		static ClientHttpConnector create(ClientOptions options, SslConfiguration sslConfiguration, Http http)
+				throws GeneralSecurityException, IOException {
+
+			ConnectionProvider.Builder provider = ConnectionProvider.builder("spring-cloud-vault");
+
+			Integer maxConnections = http.getMaxConnectionsPerRoute() != null ? http.getMaxConnectionsPerRoute()
+					: http.getMaxConnections();
+
+			if (maxConnections != null) {
+				provider.maxConnections(maxConnections);
+			}
+
+			if (http.getIdleTimeout() != null) {
+				provider.maxIdleTime(http.getIdleTimeout());
+			}
+
+			if (http.getKeepAlive() != null) {
+				provider.maxLifeTime(http.getKeepAlive());
+			}
+
+			HttpClient client = HttpClient.create(provider.build())
+					.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+							Math.toIntExact(options.getConnectionTimeout().toMillis()))
+					.responseTimeout(options.getReadTimeout());
+
+			if (http.getTcpNoDelay() != null) {
+				client = client.option(ChannelOption.TCP_NODELAY, http.getTcpNoDelay());
+			}
+
+			if (http.getSoKeepAlive() != null) {
+				client = client.option(ChannelOption.SO_KEEPALIVE, http.getSoKeepAlive());
+			}
+
+			if (http.isPreferHttp2()) {
+				client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+			}
+
+			if (hasSslConfiguration(sslConfiguration)) {
+
+				SslContextBuilder sslContextBuilder = SslContextBuilder.forClient()
+						.trustManager(createTrustManagerFactory(sslConfiguration.getTrustStoreConfiguration()));
+
+				KeyManagerFactory keyManagerFactory = createKeyManagerFactory(
+						sslConfiguration.getKeyStoreConfiguration());
+
+				if (keyManagerFactory != null) {
+					sslContextBuilder.keyManager(keyManagerFactory);
+				}
+
+				if (!sslConfiguration.getEnabledProtocols().isEmpty()) {
+					sslContextBuilder.protocols(sslConfiguration.getEnabledProtocols());
+				}
+
+				if (!sslConfiguration.getEnabledCipherSuites().isEmpty()) {
+					sslContextBuilder.ciphers(sslConfiguration.getEnabledCipherSuites());
+				}
+
+				if (http.isPreferHttp2()) {
+					sslContextBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+							ApplicationProtocolConfig.Protocol.ALPN,
+							ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+							ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+							ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1));
+				}
+
+				SslContext sslContext = sslContextBuilder.build();
+				client = client.secure(spec -> spec.sslContext(sslContext));
+			}
+
+			return new ReactorClientHttpConnector(client);
+		}
+
+	}
+
+}
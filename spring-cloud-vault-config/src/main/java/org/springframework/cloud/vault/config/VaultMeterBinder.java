@@ -0,0 +1,225 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.vault.authentication.AuthenticationEventPublisher;
+import org.springframework.vault.authentication.SessionManager;
+import org.springframework.vault.authentication.event.AfterLoginTokenRenewedEvent;
+import org.springframework.vault.authentication.event.LoginTokenRenewalFailedEvent;
+import org.springframework.vault.core.lease.SecretLeaseContainer;
+import org.springframework.vault.core.lease.event.AfterSecretLeaseRenewedEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseExpiredEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseRotatedEvent;
+
+/**
+ * {@link MeterBinder} for Vault. Registers the following meters:
+ * <ul>
+ * <li>{@code vault.secret.read}: Timer for secret reads tagged with {@code backend} and
+ * {@code outcome}.</li>
+ * <li>{@code vault.login}: Timer for logins tagged with {@code method} and
+ * {@code outcome}.</li>
+ * <li>{@code vault.token.renewals}: Counter for login token renewals tagged with
+ * {@code outcome}.</li>
+ * <li>{@code vault.lease.renewals}, {@code vault.lease.rotations},
+ * {@code vault.lease.expirations}: Counters for lease events tagged with
+ * {@code backend}.</li>
+ * <li>{@code vault.lease.errors}: Counter for lease errors tagged with {@code backend}
+ * and {@code exception}.</li>
+ * <li>{@code vault.lease.active}, {@code vault.lease.next.expiry}: Gauges for the number
+ * of active leases and seconds until the next lease expires.</li>
+ * </ul>
+ * The {@code backend} tag is the first segment of the secret path (the mount). Secret
+ * read and lease meters are additionally tagged with the full secret {@code path} if
+ * path tags are enabled. Path tags create meters for each secret path and should be
+ * enabled only for a bounded number of secrets.
+ * <p>
+ * Secret reads and logins that happened before binding (typically during bootstrap) are
+ * replayed from {@link VaultMetricsRecorder}.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+public class VaultMeterBinder implements MeterBinder {
+
+	@Nullable
+	private final VaultMetricsRecorder metricsRecorder;
+
+	@Nullable
+	private final SessionManager sessionManager;
+
+	@Nullable
+	private final SecretLeaseContainer secretLeaseContainer;
+
+	private final boolean pathTags;
+
+	/**
+	 * Create a new {@link VaultMeterBinder} without path tags.
+	 * @param metricsRecorder the recorder for secret reads and logins, can be
+	 * {@literal null}.
+	 * @param sessionManager the session manager, can be {@literal null}.
+	 * @param secretLeaseContainer the lease container, can be {@literal null}.
+	 */
+	public VaultMeterBinder(@Nullable VaultMetricsRecorder metricsRecorder, @Nullable SessionManager sessionManager,
+			@Nullable SecretLeaseContainer secretLeaseContainer) {
+		this(metricsRecorder, sessionManager, secretLeaseContainer, false);
+	}
+
+	/**
+	 * Create a new {@link VaultMeterBinder}.
+	 * @param metricsRecorder the recorder for secret reads and logins, can be
+	 * {@literal null}.
+	 * @param sessionManager the session manager, can be {@literal null}.
+	 * @param secretLeaseContainer the lease container, can be {@literal null}.
+	 * @param pathTags whether to tag secret read and lease meters with the secret path.
+	 */
+	public VaultMeterBinder(@Nullable VaultMetricsRecorder metricsRecorder, @Nullable SessionManager sessionManager,
+			@Nullable SecretLeaseContainer secretLeaseContainer, boolean pathTags) {
+		this.metricsRecorder = metricsRecorder;
+		this.sessionManager = sessionManager;
+		this.secretLeaseContainer = secretLeaseContainer;
+		this.pathTags = pathTags;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+
+		if (this.metricsRecorder != null) {
+			this.metricsRecorder.setSink(new MeterRegistrySink(registry, this.pathTags));
+		}
+
+		if (this.sessionManager instanceof AuthenticationEventPublisher) {
+			bindTo(registry, (AuthenticationEventPublisher) this.sessionManager);
+		}
+
+		if (this.secretLeaseContainer != null) {
+			bindTo(registry, this.secretLeaseContainer, this.pathTags);
+		}
+	}
+
+	private static void bindTo(MeterRegistry registry, AuthenticationEventPublisher publisher) {
+
+		Counter renewed = Counter.builder("vault.token.renewals").tag("outcome", VaultMetricsRecorder.SUCCESS)
+				.description("Login token renewals").register(registry);
+		Counter renewalFailed = Counter.builder("vault.token.renewals").tag("outcome", VaultMetricsRecorder.ERROR)
+				.description("Login token renewals").register(registry);
+
+		publisher.addAuthenticationListener(event -> {
+			if (event instanceof AfterLoginTokenRenewedEvent) {
+				renewed.increment();
+			}
+		});
+
+		publisher.addErrorListener(event -> {
+			if (event instanceof LoginTokenRenewalFailedEvent) {
+				renewalFailed.increment();
+			}
+		});
+	}
+
+	private static void bindTo(MeterRegistry registry, SecretLeaseContainer container, boolean pathTags) {
+
+		container.addLeaseListener(event -> {
+
+			Tags tags = getPathTags(event.getSource().getPath(), pathTags);
+
+			if (event instanceof SecretLeaseRotatedEvent) {
+				registry.counter("vault.lease.rotations", tags).increment();
+			}
+			else if (event instanceof AfterSecretLeaseRenewedEvent) {
+				registry.counter("vault.lease.renewals", tags).increment();
+			}
+			else if (event instanceof SecretLeaseExpiredEvent) {
+				registry.counter("vault.lease.expirations", tags).increment();
+			}
+		});
+
+		container.addErrorListener((event, exception) -> {
+
+			Tags tags = getPathTags(event.getSource().getPath(), pathTags).and("exception",
+					exception.getClass().getSimpleName());
+
+			registry.counter("vault.lease.errors", tags).increment();
+		});
+
+		if (container instanceof VaultConfigSecretLeaseContainer) {
+
+			VaultConfigSecretLeaseContainer leaseContainer = (VaultConfigSecretLeaseContainer) container;
+
+			Gauge.builder("vault.lease.active", leaseContainer, VaultConfigSecretLeaseContainer::getActiveLeaseCount)
+					.description("Number of active leases").register(registry);
+			Gauge.builder("vault.lease.next.expiry", leaseContainer,
+					VaultConfigSecretLeaseContainer::getSecondsUntilNextExpiry).baseUnit("seconds")
+					.description("Seconds until the next lease expires").register(registry);
+		}
+	}
+
+	/**
+	 * Create tags for a secret {@code path}.
+	 * @param path the secret path.
+	 * @param pathTags whether to include the secret path.
+	 * @return the {@code backend} tag and the {@code path} tag if {@code pathTags} is
+	 * enabled.
+	 */
+	static Tags getPathTags(String path, boolean pathTags) {
+
+		int separator = path.indexOf('/');
+		Tags tags = Tags.of("backend", separator > 0 ? path.substring(0, separator) : path);
+
+		return pathTags ? tags.and("path", path) : tags;
+	}
+
+	/**
+	 * {@link VaultMetricsRecorder.Sink} recording to a {@link MeterRegistry}.
+	 */
+	static class MeterRegistrySink implements VaultMetricsRecorder.Sink {
+
+		private final MeterRegistry registry;
+
+		private final boolean pathTags;
+
+		MeterRegistrySink(MeterRegistry registry, boolean pathTags) {
+			this.registry = registry;
+			this.pathTags = pathTags;
+		}
+
+		@Override
+		public void read(String path, String outcome, long durationNanos) {
+			Timer.builder("vault.secret.read").tags(getPathTags(path, this.pathTags)).tag("outcome", outcome)
+					.description("Secret reads from Vault").register(this.registry)
+					.record(durationNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void login(String method, String outcome, long durationNanos) {
+			Timer.builder("vault.login").tag("method", method).tag("outcome", outcome)
+					.description("Logins to Vault").register(this.registry)
+					.record(durationNanos, TimeUnit.NANOSECONDS);
+		}
+
+	}
+
+}
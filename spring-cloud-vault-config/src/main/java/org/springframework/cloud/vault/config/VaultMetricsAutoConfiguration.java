@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.vault.authentication.SessionManager;
+import org.springframework.vault.core.lease.SecretLeaseContainer;
+
+/**
+ * {@link org.springframework.boot.autoconfigure.EnableAutoConfiguration
+ * Auto-configuration} for Vault metrics.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({ MeterRegistry.class, MetricsAutoConfiguration.class })
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
+@EnableConfigurationProperties(VaultProperties.class)
+@AutoConfigureAfter({ MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+		VaultAutoConfiguration.class })
+public class VaultMetricsAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public VaultMeterBinder vaultMeterBinder(VaultProperties vaultProperties,
+			ObjectProvider<VaultMetricsRecorder> metricsRecorder, ObjectProvider<SessionManager> sessionManager,
+			ObjectProvider<SecretLeaseContainer> secretLeaseContainer) {
+		return new VaultMeterBinder(metricsRecorder.getIfUnique(), sessionManager.getIfUnique(),
+				secretLeaseContainer.getIfUnique(), vaultProperties.getMetrics().isPathTags());
+	}
+
+}
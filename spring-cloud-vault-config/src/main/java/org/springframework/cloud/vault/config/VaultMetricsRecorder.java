@@ -0,0 +1,178 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.vault.authentication.ClientAuthentication;
+import org.springframework.vault.support.VaultToken;
+
+/**
+ * Records timings of Vault interactions (secret reads and logins) without depending on a
+ * metrics library. Secrets are typically read and logins performed during bootstrap,
+ * before a metrics registry is available. Therefore, recordings are buffered until a
+ * {@link Sink} is {@link #setSink(Sink) attached}. Attaching a {@link Sink} replays
+ * buffered recordings and forwards subsequent recordings directly.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultMeterBinder
+ */
+public class VaultMetricsRecorder {
+
+	/**
+	 * Outcome of a successful operation.
+	 */
+	public static final String SUCCESS = "success";
+
+	/**
+	 * Outcome of a read of a secret that does not exist.
+	 */
+	public static final String NOT_FOUND = "not_found";
+
+	/**
+	 * Outcome of a failed operation.
+	 */
+	public static final String ERROR = "error";
+
+	private static final int BUFFER_SIZE = 256;
+
+	private final Queue<Consumer<Sink>> buffer = new ArrayDeque<>();
+
+	@Nullable
+	private volatile Sink sink;
+
+	/**
+	 * Record the read of a secret.
+	 * @param path the secret path.
+	 * @param outcome the outcome, see {@link #SUCCESS}, {@link #NOT_FOUND} and
+	 * {@link #ERROR}.
+	 * @param durationNanos duration of the read in nanoseconds.
+	 */
+	public void recordRead(String path, String outcome, long durationNanos) {
+		record(sink -> sink.read(path, outcome, durationNanos));
+	}
+
+	/**
+	 * Record a login.
+	 * @param method the authentication method.
+	 * @param outcome the outcome, see {@link #SUCCESS} and {@link #ERROR}.
+	 * @param durationNanos duration of the login in nanoseconds.
+	 */
+	public void recordLogin(String method, String outcome, long durationNanos) {
+		record(sink -> sink.login(method, outcome, durationNanos));
+	}
+
+	/**
+	 * Attach a {@link Sink}. Buffered recordings are replayed to the {@link Sink}.
+	 * @param sink must not be {@literal null}.
+	 */
+	public void setSink(Sink sink) {
+
+		Assert.notNull(sink, "Sink must not be null");
+
+		synchronized (this.buffer) {
+
+			Consumer<Sink> recording;
+			while ((recording = this.buffer.poll()) != null) {
+				recording.accept(sink);
+			}
+
+			this.sink = sink;
+		}
+	}
+
+	/**
+	 * Decorate {@link ClientAuthentication} to record the duration of
+	 * {@link ClientAuthentication#login() logins}.
+	 * @param clientAuthentication must not be {@literal null}.
+	 * @param method the authentication method.
+	 * @return the decorated {@link ClientAuthentication}.
+	 */
+	ClientAuthentication timed(ClientAuthentication clientAuthentication,
+			VaultProperties.AuthenticationMethod method) {
+
+		Assert.notNull(clientAuthentication, "ClientAuthentication must not be null");
+
+		String methodName = method.name().toLowerCase();
+
+		return () -> {
+
+			long start = System.nanoTime();
+
+			try {
+				VaultToken token = clientAuthentication.login();
+				recordLogin(methodName, SUCCESS, System.nanoTime() - start);
+				return token;
+			}
+			catch (RuntimeException e) {
+				recordLogin(methodName, ERROR, System.nanoTime() - start);
+				throw e;
+			}
+		};
+	}
+
+	private void record(Consumer<Sink> recording) {
+
+		Sink sink = this.sink;
+
+		if (sink != null) {
+			recording.accept(sink);
+			return;
+		}
+
+		synchronized (this.buffer) {
+
+			if (this.sink != null) {
+				recording.accept(this.sink);
+				return;
+			}
+
+			if (this.buffer.size() < BUFFER_SIZE) {
+				this.buffer.add(recording);
+			}
+		}
+	}
+
+	/**
+	 * Target for recordings, typically backed by a metrics registry.
+	 */
+	public interface Sink {
+
+		/**
+		 * Record the read of a secret.
+		 * @param path the secret path.
+		 * @param outcome the outcome.
+		 * @param durationNanos duration in nanoseconds.
+		 */
+		void read(String path, String outcome, long durationNanos);
+
+		/**
+		 * Record a login.
+		 * @param method the authentication method.
+		 * @param outcome the outcome.
+		 * @param durationNanos duration in nanoseconds.
+		 */
+		void login(String method, String outcome, long durationNanos);
+
+	}
+
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.support.VaultResponse;
+
+/**
+ * Cache of secret engine mounts keyed by their mount path. Mount information is
+ * resolved once per mount through {@code sys/internal/ui/mounts/<path>} or, if enabled,
+ * through a single listing of {@code sys/internal/ui/mounts} and shared by all secret
+ * paths that live on the same mount. Used to determine whether a path refers to a
+ * versioned Key-Value (v2) backend and to read versioned secrets.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class VaultMountCache {
+
+	private static final Log log = LogFactory.getLog(VaultMountCache.class);
+
+	private static final Mount UNAVAILABLE = new Mount("", "", false);
+
+	private final VaultOperations vaultOperations;
+
+	private final boolean useListing;
+
+	@Nullable
+	private final VaultStreamingReader streamingReader;
+
+	/**
+	 * Mounts keyed by mount path (with trailing slash). Reverse ordering allows longest
+	 * prefix lookups by iterating from the most specific mount path.
+	 */
+	private final Map<String, Mount> mounts = new ConcurrentSkipListMap<>((o1, o2) -> o2.compareTo(o1));
+
+	private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean listed;
+
+	/**
+	 * Create a new {@link VaultMountCache}.
+	 * @param vaultOperations must not be {@literal null}.
+	 * @param useListing whether to resolve all mounts with a single listing request.
+	 */
+	VaultMountCache(VaultOperations vaultOperations, boolean useListing) {
+		this(vaultOperations, useListing, null);
+	}
+
+	/**
+	 * Create a new {@link VaultMountCache}.
+	 * @param vaultOperations must not be {@literal null}.
+	 * @param useListing whether to resolve all mounts with a single listing request.
+	 * @param streamingReader optional {@link VaultStreamingReader} to read secrets.
+	 */
+	VaultMountCache(VaultOperations vaultOperations, boolean useListing,
+			@Nullable VaultStreamingReader streamingReader) {
+
+		Assert.notNull(vaultOperations, "VaultOperations must not be null");
+
+		this.vaultOperations = vaultOperations;
+		this.useListing = useListing;
+		this.streamingReader = streamingReader;
+	}
+
+	/**
+	 * @param path the secret path.
+	 * @return {@literal true} if {@code path} is located on a versioned Key-Value
+	 * backend.
+	 */
+	boolean isVersioned(String path) {
+		return getMount(path).isVersioned();
+	}
+
+	/**
+	 * Read the secret at {@code path}. Reads from versioned Key-Value backends are
+	 * translated to {@code <mount>/data/<path>} and the response is unwrapped into
+	 * {@code data} and {@code metadata}. Secret data is returned as
+	 * {@link VaultStreamingReader.FlattenedVaultResponse flattened} response if a
+	 * {@link VaultStreamingReader} is configured.
+	 * @param path the secret path.
+	 * @return the response or {@literal null} if the secret was not found.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	VaultResponse read(String path) {
+
+		Mount mount = getMount(path);
+
+		if (this.streamingReader != null) {
+			return this.streamingReader.read(mount.isVersioned() ? mount.getDataPath(path) : path,
+					mount.isVersioned());
+		}
+
+		if (!mount.isVersioned()) {
+			return this.vaultOperations.read(path);
+		}
+
+		VaultResponse response = this.vaultOperations.read(mount.getDataPath(path));
+
+		if (response == null || response.getData() == null) {
+			return null;
+		}
+
+		Map<String, Object> data = response.getData();
+		Object secretData = data.get("data");
+
+		if (!(secretData instanceof Map)) {
+			return null;
+		}
+
+		response.setMetadata((Map<String, Object>) data.get("metadata"));
+		response.setData((Map<String, Object>) secretData);
+
+		return response;
+	}
+
+	/**
+	 * Read the current version of a secret on a versioned Key-Value backend.
+	 * @param path the secret path.
+	 * @return the current version or {@literal null} if the path is not located on a
+	 * versioned Key-Value backend or the version cannot be determined.
+	 */
+	@Nullable
+	Integer getCurrentVersion(String path) {
+
+		Mount mount = getMount(path);
+
+		if (!mount.isVersioned()) {
+			return null;
+		}
+
+		VaultResponse response = this.vaultOperations.read(mount.getMetadataPath(path));
+
+		if (response == null || response.getData() == null) {
+			return null;
+		}
+
+		Object version = response.getData().get("current_version");
+		return version instanceof Number ? ((Number) version).intValue() : null;
+	}
+
+	/**
+	 * Resolve the {@link Mount} for {@code path}.
+	 * @param path the secret path.
+	 * @return the mount. Returns an unavailable mount if the mount cannot be determined.
+	 */
+	Mount getMount(String path) {
+
+		Mount mount = findMount(path);
+
+		if (mount != null) {
+			return mount;
+		}
+
+		if (this.useListing && !this.listed) {
+
+			synchronized (this) {
+				if (!this.listed) {
+					loadMounts();
+					this.listed = true;
+				}
+			}
+
+			mount = findMount(path);
+			if (mount != null) {
+				return mount;
+			}
+		}
+
+		if (this.useListing && !this.mounts.isEmpty()) {
+			// listing is authoritative, no need to ask for individual mounts.
+			return UNAVAILABLE;
+		}
+
+		if (this.unavailable.contains(path)) {
+			return UNAVAILABLE;
+		}
+
+		mount = loadMount(path);
+
+		if (mount == null) {
+			this.unavailable.add(path);
+			return UNAVAILABLE;
+		}
+
+		this.mounts.put(mount.getPath(), mount);
+		return mount;
+	}
+
+	@Nullable
+	private Mount findMount(String path) {
+
+		for (Map.Entry<String, Mount> entry : this.mounts.entrySet()) {
+			if (path.startsWith(entry.getKey())) {
+				return entry.getValue();
+			}
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void loadMounts() {
+
+		try {
+
+			VaultResponse response = this.vaultOperations.read("sys/internal/ui/mounts");
+
+			if (response == null || response.getData() == null) {
+				return;
+			}
+
+			Object secret = response.getData().get("secret");
+
+			if (!(secret instanceof Map)) {
+				return;
+			}
+
+			((Map<String, Object>) secret).forEach((mountPath, info) -> {
+				if (info instanceof Map) {
+					Mount mount = Mount.from(mountPath, (Map<String, Object>) info);
+					this.mounts.put(mount.getPath(), mount);
+				}
+			});
+		}
+		catch (VaultException e) {
+			log.debug(String.format("Cannot list mounts: %s", e.getMessage()));
+		}
+	}
+
+	@Nullable
+	private Mount loadMount(String path) {
+
+		try {
+
+			VaultResponse response = this.vaultOperations.read("sys/internal/ui/mounts/" + path);
+
+			if (response == null || response.getData() == null) {
+				return null;
+			}
+
+			Map<String, Object> data = response.getData();
+			Object mountPath = data.get("path");
+
+			if (!(mountPath instanceof String) || !StringUtils.hasText((String) mountPath)) {
+				return null;
+			}
+
+			return Mount.from((String) mountPath, data);
+		}
+		catch (VaultException e) {
+			log.debug(String.format("Cannot determine mount for %s: %s", path, e.getMessage()));
+			return null;
+		}
+	}
+
+	/**
+	 * Value object describing a secret engine mount.
+	 */
+	static class Mount {
+
+		private final String path;
+
+		private final String type;
+
+		private final boolean versioned;
+
+		Mount(String path, String type, boolean versioned) {
+			this.path = path;
+			this.type = type;
+			this.versioned = versioned;
+		}
+
+		@SuppressWarnings("unchecked")
+		static Mount from(String path, Map<String, Object> info) {
+
+			String mountPath = path.endsWith("/") ? path : path + "/";
+			Object type = info.get("type");
+			Object options = info.get("options");
+			boolean versioned = "kv".equals(type) && options instanceof Map
+					&& "2".equals(((Map<String, Object>) options).get("version"));
+
+			return new Mount(mountPath, type instanceof String ? (String) type : "", versioned);
+		}
+
+		String getPath() {
+			return this.path;
+		}
+
+		String getType() {
+			return this.type;
+		}
+
+		boolean isVersioned() {
+			return this.versioned;
+		}
+
+		boolean isAvailable() {
+			return this != UNAVAILABLE;
+		}
+
+		/**
+		 * @param path the secret path located on this mount.
+		 * @return the path relative to the mount.
+		 */
+		String getRelativePath(String path) {
+			return path.substring(this.path.length());
+		}
+
+		/**
+		 * @param path the secret path located on this mount.
+		 * @return the path to read versioned secrets ({@code <mount>/data/<path>}).
+		 */
+		String getDataPath(String path) {
+			return this.path + "data/" + getRelativePath(path);
+		}
+
+		/**
+		 * @param path the secret path located on this mount.
+		 * @return the path to read metadata of versioned secrets
+		 * ({@code <mount>/metadata/<path>}).
+		 */
+		String getMetadataPath(String path) {
+			return this.path + "metadata/" + getRelativePath(path);
+		}
+
+	}
+
+}
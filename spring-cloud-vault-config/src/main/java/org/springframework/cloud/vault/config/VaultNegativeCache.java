@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cloud.vault.config.VaultMountCache.Mount;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.VaultOperations;
+
+/**
+ * Time-bounded cache of secret paths that are known to be absent. Paths are considered
+ * absent if a previous read did not find the secret (HTTP 404) or, when pruning is
+ * enabled, if the secret is not contained in the listing of its parent folder on a
+ * Key-Value mount. Folder listings are requested once per folder so that all profile
+ * contexts of an application are resolved with a single {@code LIST} request. Secrets
+ * located directly at the mount root are not pruned as listing the mount root exposes
+ * the names of all applications on the mount.
+ * Concurrent lookups of the same folder share a single {@code LIST} request.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultProperties.ConfigNegativeCache
+ */
+class VaultNegativeCache {
+
+	private static final Log log = LogFactory.getLog(VaultNegativeCache.class);
+
+	private final VaultOperations vaultOperations;
+
+	private final VaultMountCache mountCache;
+
+	private final boolean enabled;
+
+	private final boolean prune;
+
+	private final long ttlNanos;
+
+	private final Map<String, Long> absent = new ConcurrentHashMap<>();
+
+	private final SingleFlight<String, Set<String>> listings;
+
+	/**
+	 * Create a new {@link VaultNegativeCache}.
+	 * @param vaultOperations must not be {@literal null}.
+	 * @param mountCache must not be {@literal null}.
+	 * @param properties must not be {@literal null}.
+	 */
+	VaultNegativeCache(VaultOperations vaultOperations, VaultMountCache mountCache,
+			VaultProperties.ConfigNegativeCache properties) {
+
+		Assert.notNull(vaultOperations, "VaultOperations must not be null");
+		Assert.notNull(mountCache, "VaultMountCache must not be null");
+		Assert.notNull(properties, "ConfigNegativeCache must not be null");
+
+		this.vaultOperations = vaultOperations;
+		this.mountCache = mountCache;
+		this.enabled = properties.isEnabled();
+		this.prune = properties.isPrune();
+		this.ttlNanos = properties.getTtl().toNanos();
+		this.listings = new SingleFlight<>(properties.getTtl());
+	}
+
+	/**
+	 * @param path the secret path.
+	 * @return {@literal true} if the secret at {@code path} is known to be absent.
+	 */
+	boolean isAbsent(String path) {
+
+		if (this.enabled) {
+
+			Long expiry = this.absent.get(path);
+
+			if (expiry != null) {
+
+				if (expiry - System.nanoTime() > 0) {
+					return true;
+				}
+
+				this.absent.remove(path, expiry);
+			}
+		}
+
+		return this.prune && isPruned(path);
+	}
+
+	/**
+	 * Record that the secret at {@code path} was not found.
+	 * @param path the secret path.
+	 */
+	void notFound(String path) {
+
+		if (this.enabled) {
+			this.absent.put(path, System.nanoTime() + this.ttlNanos);
+		}
+	}
+
+	private boolean isPruned(String path) {
+
+		Mount mount = this.mountCache.getMount(path);
+
+		if (!mount.isAvailable() || !isKeyValue(mount)) {
+			return false;
+		}
+
+		String relativePath = mount.getRelativePath(path);
+		int index = relativePath.lastIndexOf('/');
+		String folder = index == -1 ? "" : relativePath.substring(0, index + 1);
+		String name = relativePath.substring(index + 1);
+
+		// do not list the mount root
+		if (!StringUtils.hasText(folder) || !StringUtils.hasText(name)) {
+			return false;
+		}
+
+		String listPath = mount.isVersioned() ? mount.getPath() + "metadata/" + folder : mount.getPath() + folder;
+		Set<String> keys = getKeys(listPath);
+
+		return keys != null && !keys.contains(name);
+	}
+
+	@Nullable
+	private Set<String> getKeys(String listPath) {
+		return this.listings.execute(listPath, () -> list(listPath));
+	}
+
+	@Nullable
+	private Set<String> list(String listPath) {
+
+		try {
+
+			List<String> keys = this.vaultOperations.list(listPath);
+			return keys != null ? new HashSet<>(keys) : Collections.emptySet();
+		}
+		catch (VaultException e) {
+			log.debug(String.format("Cannot list %s, skipping pruning: %s", listPath, e.getMessage()));
+			return null;
+		}
+	}
+
+	private static boolean isKeyValue(Mount mount) {
+		return "kv".equals(mount.getType()) || "generic".equals(mount.getType());
+	}
+
+}
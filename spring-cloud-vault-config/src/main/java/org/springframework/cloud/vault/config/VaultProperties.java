@@ -19,6 +19,8 @@ package org.springframework.cloud.vault.config;
 import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -128,10 +130,22 @@ public class VaultProperties implements EnvironmentAware {
 
 	private Ssl ssl = new Ssl();
 
+	private Http http = new Http();
+
 	private Config config = new Config();
 
 	private Session session = new Session();
 
+	private Reactive reactive = new Reactive();
+
+	private Scheduler scheduler = new Scheduler();
+
+	private Health health = new Health();
+
+	private ReadRouting readRouting = new ReadRouting();
+
+	private Metrics metrics = new Metrics();
+
 	/**
 	 * Application name for AppId authentication.
 	 */
@@ -320,6 +334,14 @@ public class VaultProperties implements EnvironmentAware {
 		this.ssl = ssl;
 	}
 
+	public Http getHttp() {
+		return this.http;
+	}
+
+	public void setHttp(Http http) {
+		this.http = http;
+	}
+
 	public Config getConfig() {
 		return this.config;
 	}
@@ -336,6 +358,46 @@ public class VaultProperties implements EnvironmentAware {
 		this.session = session;
 	}
 
+	public Reactive getReactive() {
+		return this.reactive;
+	}
+
+	public void setReactive(Reactive reactive) {
+		this.reactive = reactive;
+	}
+
+	public Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
+	public void setScheduler(Scheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	public Health getHealth() {
+		return this.health;
+	}
+
+	public void setHealth(Health health) {
+		this.health = health;
+	}
+
+	public ReadRouting getReadRouting() {
+		return this.readRouting;
+	}
+
+	public void setReadRouting(ReadRouting readRouting) {
+		this.readRouting = readRouting;
+	}
+
+	public Metrics getMetrics() {
+		return this.metrics;
+	}
+
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
 	public String getApplicationName() {
 		return this.applicationName;
 	}
@@ -382,6 +444,17 @@ public class VaultProperties implements EnvironmentAware {
 		 */
 		private String serviceId = DEFAULT_VAULT;
 
+		/**
+		 * Time to live of discovered Vault instances. Instances are looked up for each
+		 * request if set to zero.
+		 */
+		private Duration cacheTtl = Duration.ofSeconds(30);
+
+		/**
+		 * Strategy to select a Vault instance from the discovered instances.
+		 */
+		private SelectionStrategy selectionStrategy = SelectionStrategy.FIRST;
+
 		public boolean isEnabled() {
 			return this.enabled;
 		}
@@ -398,6 +471,51 @@ public class VaultProperties implements EnvironmentAware {
 			this.serviceId = serviceId;
 		}
 
+		public Duration getCacheTtl() {
+			return this.cacheTtl;
+		}
+
+		public void setCacheTtl(Duration cacheTtl) {
+			this.cacheTtl = cacheTtl;
+		}
+
+		public SelectionStrategy getSelectionStrategy() {
+			return this.selectionStrategy;
+		}
+
+		public void setSelectionStrategy(SelectionStrategy selectionStrategy) {
+			this.selectionStrategy = selectionStrategy;
+		}
+
+		/**
+		 * Strategies to select a Vault instance.
+		 *
+		 * @since 3.1
+		 */
+		public enum SelectionStrategy {
+
+			/**
+			 * Select the first discovered instance.
+			 */
+			FIRST,
+
+			/**
+			 * Select instances in turn.
+			 */
+			ROUND_ROBIN,
+
+			/**
+			 * Select the instance with the fewest outstanding requests.
+			 */
+			LEAST_OUTSTANDING_REQUESTS,
+
+			/**
+			 * Select instances randomly weighted by the inverse of their average latency.
+			 */
+			LATENCY_WEIGHTED;
+
+		}
+
 	}
 
 	/**
@@ -1134,6 +1252,120 @@ public class VaultProperties implements EnvironmentAware {
 
 	}
 
+	/**
+	 * HTTP transport properties. Applied to Apache HttpComponents, OkHttp 3 and Reactor
+	 * Netty clients. Unset properties retain the defaults of the HTTP client library.
+	 *
+	 * @since 3.1
+	 */
+	public static class Http {
+
+		/**
+		 * Maximum number of pooled connections.
+		 */
+		@Nullable
+		private Integer maxConnections;
+
+		/**
+		 * Maximum number of pooled connections per route (host).
+		 */
+		@Nullable
+		private Integer maxConnectionsPerRoute;
+
+		/**
+		 * Time after which idle connections are evicted from the pool.
+		 */
+		@Nullable
+		private Duration idleTimeout;
+
+		/**
+		 * Maximum time to keep a persistent connection alive for reuse.
+		 */
+		@Nullable
+		private Duration keepAlive;
+
+		/**
+		 * Prefer HTTP/2 (multiplexing requests over a single connection) if supported by
+		 * the HTTP client and the Vault server.
+		 */
+		private boolean preferHttp2 = false;
+
+		/**
+		 * Enable TCP_NODELAY (disable Nagle's algorithm).
+		 */
+		@Nullable
+		private Boolean tcpNoDelay;
+
+		/**
+		 * Enable SO_KEEPALIVE for TCP connections.
+		 */
+		@Nullable
+		private Boolean soKeepAlive;
+
+		@Nullable
+		public Integer getMaxConnections() {
+			return this.maxConnections;
+		}
+
+		public void setMaxConnections(@Nullable Integer maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		@Nullable
+		public Integer getMaxConnectionsPerRoute() {
+			return this.maxConnectionsPerRoute;
+		}
+
+		public void setMaxConnectionsPerRoute(@Nullable Integer maxConnectionsPerRoute) {
+			this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		}
+
+		@Nullable
+		public Duration getIdleTimeout() {
+			return this.idleTimeout;
+		}
+
+		public void setIdleTimeout(@Nullable Duration idleTimeout) {
+			this.idleTimeout = idleTimeout;
+		}
+
+		@Nullable
+		public Duration getKeepAlive() {
+			return this.keepAlive;
+		}
+
+		public void setKeepAlive(@Nullable Duration keepAlive) {
+			this.keepAlive = keepAlive;
+		}
+
+		public boolean isPreferHttp2() {
+			return this.preferHttp2;
+		}
+
+		public void setPreferHttp2(boolean preferHttp2) {
+			this.preferHttp2 = preferHttp2;
+		}
+
+		@Nullable
+		public Boolean getTcpNoDelay() {
+			return this.tcpNoDelay;
+		}
+
+		public void setTcpNoDelay(@Nullable Boolean tcpNoDelay) {
+			this.tcpNoDelay = tcpNoDelay;
+		}
+
+		@Nullable
+		public Boolean getSoKeepAlive() {
+			return this.soKeepAlive;
+		}
+
+		public void setSoKeepAlive(@Nullable Boolean soKeepAlive) {
+			this.soKeepAlive = soKeepAlive;
+		}
+
+	}
+
 	/**
 	 * Property source properties.
 	 */
@@ -1149,6 +1381,31 @@ public class VaultProperties implements EnvironmentAware {
 
 		private ConfigLifecycle lifecycle = new ConfigLifecycle();
 
+		private ConfigPrefetch prefetch = new ConfigPrefetch();
+
+		private ConfigMounts mounts = new ConfigMounts();
+
+		private ConfigNegativeCache negativeCache = new ConfigNegativeCache();
+
+		private ConfigSnapshot snapshot = new ConfigSnapshot();
+
+		/**
+		 * Duration for which the result of reading a secret is shared with subsequent
+		 * reads of the same secret. Concurrent reads of the same secret always share a
+		 * single request to Vault.
+		 *
+		 * @since 3.1
+		 */
+		private Duration coalescingWindow = Duration.ZERO;
+
+		/**
+		 * Parse and flatten secret responses while reading the response body instead
+		 * of materializing the response before flattening it.
+		 *
+		 * @since 3.1
+		 */
+		private boolean streaming = false;
+
 		@DeprecatedConfigurationProperty(reason = "Only required for deprecated Bootstrap Context usage")
 		public int getOrder() {
 			return this.order;
@@ -1158,6 +1415,30 @@ public class VaultProperties implements EnvironmentAware {
 			return this.lifecycle;
 		}
 
+		public ConfigPrefetch getPrefetch() {
+			return this.prefetch;
+		}
+
+		public ConfigMounts getMounts() {
+			return this.mounts;
+		}
+
+		public ConfigNegativeCache getNegativeCache() {
+			return this.negativeCache;
+		}
+
+		public ConfigSnapshot getSnapshot() {
+			return this.snapshot;
+		}
+
+		public Duration getCoalescingWindow() {
+			return this.coalescingWindow;
+		}
+
+		public boolean isStreaming() {
+			return this.streaming;
+		}
+
 		public void setOrder(int order) {
 			this.order = order;
 		}
@@ -1166,6 +1447,198 @@ public class VaultProperties implements EnvironmentAware {
 			this.lifecycle = lifecycle;
 		}
 
+		public void setPrefetch(ConfigPrefetch prefetch) {
+			this.prefetch = prefetch;
+		}
+
+		public void setMounts(ConfigMounts mounts) {
+			this.mounts = mounts;
+		}
+
+		public void setNegativeCache(ConfigNegativeCache negativeCache) {
+			this.negativeCache = negativeCache;
+		}
+
+		public void setSnapshot(ConfigSnapshot snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		public void setCoalescingWindow(Duration coalescingWindow) {
+			this.coalescingWindow = coalescingWindow;
+		}
+
+		public void setStreaming(boolean streaming) {
+			this.streaming = streaming;
+		}
+
+	}
+
+	/**
+	 * Configuration to prefetch secrets of all resolved config data locations
+	 * concurrently.
+	 *
+	 * @since 3.1
+	 */
+	public static class ConfigPrefetch {
+
+		/**
+		 * Enable concurrent prefetching of all resolved Vault config locations.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Maximum number of concurrent requests used to prefetch secrets.
+		 */
+		private int concurrency = 4;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getConcurrency() {
+			return this.concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+
+	}
+
+	/**
+	 * Configuration to discover secret engine mounts.
+	 *
+	 * @since 3.1
+	 */
+	public static class ConfigMounts {
+
+		/**
+		 * Discover all secret engine mounts with a single request to
+		 * {@code sys/internal/ui/mounts} instead of resolving the mount per secret
+		 * engine.
+		 */
+		private boolean listing = false;
+
+		public boolean isListing() {
+			return this.listing;
+		}
+
+		public void setListing(boolean listing) {
+			this.listing = listing;
+		}
+
+	}
+
+	/**
+	 * Configuration to cache secrets that were not found (HTTP 404) and to prune reads
+	 * of Key-Value secrets that do not exist.
+	 *
+	 * @since 3.1
+	 */
+	public static class ConfigNegativeCache {
+
+		/**
+		 * Cache secret paths that were not found to avoid repeated reads.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Time to live for cached absent secrets and Key-Value folder listings.
+		 */
+		private Duration ttl = Duration.ofMinutes(1);
+
+		/**
+		 * List the parent folder of Key-Value secrets once and skip reads of secrets
+		 * that are not contained in the listing. Requires the list capability on the
+		 * parent folder.
+		 */
+		private boolean prune = false;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getTtl() {
+			return this.ttl;
+		}
+
+		public void setTtl(Duration ttl) {
+			this.ttl = ttl;
+		}
+
+		public boolean isPrune() {
+			return this.prune;
+		}
+
+		public void setPrune(boolean prune) {
+			this.prune = prune;
+		}
+
+	}
+
+	/**
+	 * Configuration for encrypted on-disk snapshots of secrets that are used to start
+	 * without waiting for Vault.
+	 *
+	 * @since 3.1
+	 */
+	public static class ConfigSnapshot {
+
+		/**
+		 * Enable snapshots. Snapshots are served on startup and revalidated against
+		 * Vault in the background.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Directory to store snapshots. Required if snapshots are enabled. The
+		 * directory is created with owner-only permissions and must not be accessible
+		 * by other users.
+		 */
+		@Nullable
+		private String directory;
+
+		/**
+		 * Key material to derive the snapshot encryption key from. Required if
+		 * snapshots are enabled.
+		 */
+		@Nullable
+		private String key;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		@Nullable
+		public String getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(@Nullable String directory) {
+			this.directory = directory;
+		}
+
+		@Nullable
+		public String getKey() {
+			return this.key;
+		}
+
+		public void setKey(@Nullable String key) {
+			this.key = key;
+		}
+
 	}
 
 	/**
@@ -1209,6 +1682,46 @@ public class VaultProperties implements EnvironmentAware {
 		@Nullable
 		private LeaseEndpoints leaseEndpoints;
 
+		/**
+		 * Interval to poll the current version of secrets stored in versioned Key-Value
+		 * backends. Secrets are re-read only if their version has changed. Polling is
+		 * disabled if not set.
+		 *
+		 * @since 3.1
+		 */
+		@Nullable
+		private Duration versionPollingInterval;
+
+		/**
+		 * Fraction (between 0 and 1) of the time until a scheduled lease renewal or
+		 * secret rotation by which the execution is randomly brought forward. Spreads
+		 * renewals across the lease window instead of clustering them at the expiry
+		 * threshold.
+		 *
+		 * @since 3.1
+		 */
+		private double jitter;
+
+		/**
+		 * Maximum number of concurrently running lease renewals and secret rotations.
+		 * Unlimited if set to zero.
+		 *
+		 * @since 3.1
+		 */
+		private int maxConcurrency;
+
+		/**
+		 * Tolerance within which lease renewals and secret rotations are coalesced into
+		 * a single scheduled execution. Executions are brought forward by at most the
+		 * tolerance to join a pending batch. Coalescing is disabled if not set.
+		 *
+		 * @since 3.1
+		 */
+		@Nullable
+		private Duration coalescingTolerance;
+
+		private ConfigLeaseStore leaseStore = new ConfigLeaseStore();
+
 		public boolean isEnabled() {
 			return this.enabled;
 		}
@@ -1244,6 +1757,119 @@ public class VaultProperties implements EnvironmentAware {
 			this.leaseEndpoints = leaseEndpoints;
 		}
 
+		@Nullable
+		public Duration getVersionPollingInterval() {
+			return this.versionPollingInterval;
+		}
+
+		public void setVersionPollingInterval(@Nullable Duration versionPollingInterval) {
+			this.versionPollingInterval = versionPollingInterval;
+		}
+
+		public double getJitter() {
+			return this.jitter;
+		}
+
+		public void setJitter(double jitter) {
+			this.jitter = jitter;
+		}
+
+		public int getMaxConcurrency() {
+			return this.maxConcurrency;
+		}
+
+		public void setMaxConcurrency(int maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+		}
+
+		@Nullable
+		public Duration getCoalescingTolerance() {
+			return this.coalescingTolerance;
+		}
+
+		public void setCoalescingTolerance(@Nullable Duration coalescingTolerance) {
+			this.coalescingTolerance = coalescingTolerance;
+		}
+
+		public ConfigLeaseStore getLeaseStore() {
+			return this.leaseStore;
+		}
+
+		public void setLeaseStore(ConfigLeaseStore leaseStore) {
+			this.leaseStore = leaseStore;
+		}
+
+	}
+
+	/**
+	 * Configuration for the encrypted on-disk store of leased secrets. Persisted leases
+	 * are renewed and reused on startup instead of requesting new credentials. Persisted
+	 * credentials remain valid until their lease is revoked or reaches its maximum TTL.
+	 *
+	 * @since 3.1
+	 */
+	public static class ConfigLeaseStore {
+
+		/**
+		 * Enable the lease store.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Directory to store leases. Required if the lease store is enabled. The
+		 * directory is created with owner-only permissions and must not be accessible
+		 * by other users.
+		 */
+		@Nullable
+		private String directory;
+
+		/**
+		 * Key material to derive the encryption key from. Required if the lease store
+		 * is enabled.
+		 */
+		@Nullable
+		private String key;
+
+		/**
+		 * Retain persisted leases on shutdown instead of revoking them so that they can
+		 * be reused after a restart.
+		 */
+		private boolean retainLeases = false;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		@Nullable
+		public String getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(@Nullable String directory) {
+			this.directory = directory;
+		}
+
+		@Nullable
+		public String getKey() {
+			return this.key;
+		}
+
+		public void setKey(@Nullable String key) {
+			this.key = key;
+		}
+
+		public boolean isRetainLeases() {
+			return this.retainLeases;
+		}
+
+		public void setRetainLeases(boolean retainLeases) {
+			this.retainLeases = retainLeases;
+		}
+
 	}
 
 	/**
@@ -1317,4 +1943,259 @@ public class VaultProperties implements EnvironmentAware {
 
 	}
 
+	/**
+	 * Reactive infrastructure configuration properties.
+	 *
+	 * @since 3.1
+	 */
+	public static class Reactive {
+
+		/**
+		 * Enable reactive Vault auto-configuration. Requires Project Reactor and Spring
+		 * WebFlux on the class path. Reactive infrastructure registered during ConfigData
+		 * loading is not affected by this property.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Create reactive infrastructure only on first use. The imperative
+		 * {@link org.springframework.vault.authentication.SessionManager} is used to
+		 * obtain the session token for both, imperative and reactive Vault access.
+		 */
+		private boolean lazy = false;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isLazy() {
+			return this.lazy;
+		}
+
+		public void setLazy(boolean lazy) {
+			this.lazy = lazy;
+		}
+
+	}
+
+
+	/**
+	 * Configuration of the scheduler that triggers session and lease lifecycle tasks.
+	 *
+	 * @since 3.1
+	 */
+	public static class Scheduler {
+
+		/**
+		 * Number of scheduler threads.
+		 */
+		private int poolSize = 2;
+
+		/**
+		 * Run token and lease renewals on virtual threads so that the scheduler threads
+		 * only trigger renewals. Requires Java 21 or newer. Falls back to
+		 * {@code executor-pool-size} on older Java versions.
+		 */
+		private boolean virtualThreads = false;
+
+		/**
+		 * Number of threads of a dedicated executor running token and lease renewals.
+		 * Renewals run on the scheduler threads if {@literal 0} and virtual threads are
+		 * disabled.
+		 */
+		private int executorPoolSize = 0;
+
+		public int getPoolSize() {
+			return this.poolSize;
+		}
+
+		public void setPoolSize(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+		public boolean isVirtualThreads() {
+			return this.virtualThreads;
+		}
+
+		public void setVirtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+		}
+
+		public int getExecutorPoolSize() {
+			return this.executorPoolSize;
+		}
+
+		public void setExecutorPoolSize(int executorPoolSize) {
+			this.executorPoolSize = executorPoolSize;
+		}
+
+	}
+
+	/**
+	 * Metrics properties.
+	 *
+	 * @since 3.1
+	 */
+	public static class Metrics {
+
+		/**
+		 * Tag secret read and lease meters with the full secret path in addition to the
+		 * secret backend. Each secret path creates its own meters.
+		 */
+		private boolean pathTags = false;
+
+		public boolean isPathTags() {
+			return this.pathTags;
+		}
+
+		public void setPathTags(boolean pathTags) {
+			this.pathTags = pathTags;
+		}
+
+	}
+
+	/**
+	 * Health indicator properties.
+	 *
+	 * @since 3.1
+	 */
+	public static class Health {
+
+		/**
+		 * Enable caching of the Vault health status. Health checks are served from a
+		 * cached result that is refreshed in the background instead of querying Vault on
+		 * each health check.
+		 */
+		private boolean cacheEnabled = false;
+
+		/**
+		 * Interval to refresh the cached health status.
+		 */
+		private Duration refreshInterval = Duration.ofSeconds(10);
+
+		/**
+		 * Maximum age of a cached health status. Health checks refresh an older health
+		 * status before reporting it.
+		 */
+		private Duration maxStaleness = Duration.ofSeconds(30);
+
+		/**
+		 * Maximum time to wait for a health status refresh.
+		 */
+		private Duration timeout = Duration.ofSeconds(5);
+
+		public boolean isCacheEnabled() {
+			return this.cacheEnabled;
+		}
+
+		public void setCacheEnabled(boolean cacheEnabled) {
+			this.cacheEnabled = cacheEnabled;
+		}
+
+		public Duration getRefreshInterval() {
+			return this.refreshInterval;
+		}
+
+		public void setRefreshInterval(Duration refreshInterval) {
+			this.refreshInterval = refreshInterval;
+		}
+
+		public Duration getMaxStaleness() {
+			return this.maxStaleness;
+		}
+
+		public void setMaxStaleness(Duration maxStaleness) {
+			this.maxStaleness = maxStaleness;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+	}
+
+	/**
+	 * Read routing to performance standby nodes of a Vault Enterprise cluster.
+	 *
+	 * @since 3.1
+	 */
+	public static class ReadRouting {
+
+		/**
+		 * Enable routing of read requests to performance standby nodes.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * URIs of performance standby nodes. Discovered Vault instances are considered
+		 * as well if discovery is enabled.
+		 */
+		private List<URI> standbys = new ArrayList<>();
+
+		/**
+		 * Interval to check the health of performance standby nodes.
+		 */
+		private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+		/**
+		 * Path patterns of GET requests that are routed to the active node, such as
+		 * requests issuing credentials.
+		 */
+		private List<String> writePaths = new ArrayList<>(Arrays.asList("**/creds/**", "**/sts/**"));
+
+		/**
+		 * Path patterns of non-GET requests that are routed to performance standby nodes.
+		 */
+		private List<String> readPaths = new ArrayList<>(Collections.singletonList("sys/leases/lookup"));
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public List<URI> getStandbys() {
+			return this.standbys;
+		}
+
+		public void setStandbys(List<URI> standbys) {
+			this.standbys = standbys;
+		}
+
+		public Duration getHealthCheckInterval() {
+			return this.healthCheckInterval;
+		}
+
+		public void setHealthCheckInterval(Duration healthCheckInterval) {
+			this.healthCheckInterval = healthCheckInterval;
+		}
+
+		public List<String> getWritePaths() {
+			return this.writePaths;
+		}
+
+		public void setWritePaths(List<String> writePaths) {
+			this.writePaths = writePaths;
+		}
+
+		public List<String> getReadPaths() {
+			return this.readPaths;
+		}
+
+		public void setReadPaths(List<String> readPaths) {
+			this.readPaths = readPaths;
+		}
+
+	}
+
 }
@@ -16,10 +16,6 @@
 
 package org.springframework.cloud.vault.config;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Set;
-
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -41,10 +37,10 @@ class VaultPropertySource extends EnumerablePropertySource<VaultConfigOperations
 
 	private final SecretBackendMetadata secretBackendMetadata;
 
-	private final Map<String, Object> properties = new LinkedHashMap<>();
+	private volatile CompactPropertyStore properties = CompactPropertyStore.EMPTY;
 
 	@Nullable
-	private Secrets secrets;
+	private volatile Secrets secrets;
 
 	/**
 	 * Creates a new {@link VaultPropertySource}.
@@ -69,11 +65,12 @@ class VaultPropertySource extends EnumerablePropertySource<VaultConfigOperations
 	 */
 	public void init() {
 
+		if (this.source instanceof VaultConfigTemplate && initFromSnapshot((VaultConfigTemplate) this.source)) {
+			return;
+		}
+
 		try {
-			this.secrets = this.source.read(this.secretBackendMetadata);
-			if (this.secrets != null) {
-				this.properties.putAll(this.secrets.getRequiredData());
-			}
+			setSecrets(this.source.read(this.secretBackendMetadata));
 		}
 		catch (RuntimeException e) {
 
@@ -88,15 +85,79 @@ class VaultPropertySource extends EnumerablePropertySource<VaultConfigOperations
 		}
 	}
 
+	/**
+	 * Initialize properties from a snapshot if available and revalidate the snapshot in
+	 * the background.
+	 * @param configTemplate the template providing snapshots.
+	 * @return {@literal true} if the property source was initialized from a snapshot.
+	 */
+	private boolean initFromSnapshot(VaultConfigTemplate configTemplate) {
+
+		VaultSnapshotStore snapshotStore = configTemplate.getSnapshotStore();
+
+		if (snapshotStore == null) {
+			return false;
+		}
+
+		Secrets snapshot = configTemplate.readSnapshot(this.secretBackendMetadata);
+
+		if (snapshot == null) {
+			return false;
+		}
+
+		setSecrets(snapshot);
+		snapshotStore.revalidate(() -> revalidate(configTemplate, snapshot));
+
+		return true;
+	}
+
+	private void revalidate(VaultConfigTemplate configTemplate, Secrets snapshot) {
+
+		try {
+
+			if (configTemplate.isCurrent(this.secretBackendMetadata.getPath(), snapshot)) {
+				return;
+			}
+
+			Secrets secrets = configTemplate.read(this.secretBackendMetadata);
+
+			if (secrets != null) {
+				setSecrets(secrets);
+			}
+		}
+		catch (RuntimeException e) {
+			log.warn(String.format("Unable to revalidate snapshot using %s for %s", getName(),
+					this.secretBackendMetadata.getVariables()), e);
+		}
+	}
+
+	private void setSecrets(@Nullable Secrets secrets) {
+
+		this.secrets = secrets;
+
+		if (secrets != null) {
+			this.properties = CompactPropertyStore.of(secrets.getRequiredData());
+		}
+	}
+
 	@Override
 	public Object getProperty(String name) {
 		return this.properties.get(name);
 	}
 
+	@Override
+	public boolean containsProperty(String name) {
+		return this.properties.contains(name);
+	}
+
+	/**
+	 * Return the property names. The returned array is shared and must be treated as
+	 * read-only.
+	 * @return the property names.
+	 */
 	@Override
 	public String[] getPropertyNames() {
-		Set<String> strings = this.properties.keySet();
-		return strings.toArray(new String[0]);
+		return this.properties.getNames();
 	}
 
 }
@@ -162,7 +162,14 @@ public class VaultReactiveAutoConfiguration implements InitializingBean {
 	@Bean
 	@ConditionalOnMissingBean
 	public ClientHttpConnectorWrapper clientHttpConnectorWrapper() {
-		return new ClientHttpConnectorWrapper(createConnector(this.vaultProperties));
+
+		// shares the transport with the bootstrap context if available
+		VaultTransports transports = this.applicationContext != null
+				? this.applicationContext.getBeanProvider(VaultTransports.class).getIfAvailable(VaultTransports::new)
+				: new VaultTransports();
+
+		return new VaultReactiveConfiguration(this.vaultProperties).createClientHttpConnectorWrapper(transports,
+				() -> createConnector(this.vaultProperties));
 	}
 
 	@Override
@@ -21,7 +21,9 @@ import java.util.List;
 import java.util.function.Supplier;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import org.springframework.cloud.vault.config.VaultReactiveAutoConfiguration.ClientHttpConnectorWrapper;
 import org.springframework.http.client.reactive.ClientHttpConnector;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.util.Assert;
@@ -35,7 +37,6 @@ import org.springframework.vault.authentication.ReactiveSessionManager;
 import org.springframework.vault.authentication.SessionManager;
 import org.springframework.vault.authentication.TokenAuthentication;
 import org.springframework.vault.authentication.VaultTokenSupplier;
-import org.springframework.vault.client.ClientHttpConnectorFactory;
 import org.springframework.vault.client.ReactiveVaultEndpointProvider;
 import org.springframework.vault.client.VaultEndpointProvider;
 import org.springframework.vault.client.VaultHttpHeaders;
@@ -68,7 +69,23 @@ final class VaultReactiveConfiguration {
 
 		SslConfiguration sslConfiguration = VaultConfiguration.createSslConfiguration(this.vaultProperties.getSsl());
 
-		return ClientHttpConnectorFactory.create(clientOptions, sslConfiguration);
+		return VaultHttpClientFactory.createConnector(clientOptions, sslConfiguration,
+				this.vaultProperties.getHttp());
+	}
+
+	/**
+	 * Acquire a {@link ClientHttpConnectorWrapper} referencing the
+	 * {@link ClientHttpConnector} that is shared through {@link VaultTransports} by all
+	 * users of the same transport configuration.
+	 * @param transports the transport registry.
+	 * @param connectorSupplier supplier to create the connector if no shared connector
+	 * exists.
+	 * @return the {@link ClientHttpConnectorWrapper}.
+	 * @since 3.1
+	 */
+	ClientHttpConnectorWrapper createClientHttpConnectorWrapper(VaultTransports transports,
+			Supplier<ClientHttpConnector> connectorSupplier) {
+		return transports.acquireConnector(this.vaultProperties, connectorSupplier);
 	}
 
 	WebClientBuilder createWebClientBuilder(ClientHttpConnector connector,
@@ -142,6 +159,17 @@ final class VaultReactiveConfiguration {
 		return new ReactiveSessionManagerAdapter(sessionManager);
 	}
 
+	/**
+	 * Create a {@link ReactiveSessionManager} that obtains tokens from an imperative
+	 * {@link SessionManager}.
+	 * @param sessionManager the imperative session manager.
+	 * @return the {@link ReactiveSessionManager}.
+	 * @since 3.1
+	 */
+	ReactiveSessionManager createReactiveSessionManager(SessionManager sessionManager) {
+		return new SessionManagerAdapter(sessionManager);
+	}
+
 	ReactiveSessionManager createReactiveSessionManager(VaultTokenSupplier vaultTokenSupplier,
 			Supplier<TaskScheduler> taskScheduler, WebClientFactory webClientFactory) {
 
@@ -158,6 +186,21 @@ final class VaultReactiveConfiguration {
 		return CachingVaultTokenSupplier.of(vaultTokenSupplier);
 	}
 
+	private static final class SessionManagerAdapter implements ReactiveSessionManager {
+
+		private final SessionManager sessionManager;
+
+		private SessionManagerAdapter(SessionManager sessionManager) {
+			this.sessionManager = sessionManager;
+		}
+
+		@Override
+		public Mono<VaultToken> getSessionToken() {
+			return Mono.fromCallable(this.sessionManager::getSessionToken).subscribeOn(Schedulers.boundedElastic());
+		}
+
+	}
+
 	private static final class ReactiveSessionManagerAdapter implements SessionManager {
 
 		private final ReactiveSessionManager sessionManager;
@@ -22,6 +22,7 @@ import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import reactor.core.publisher.Mono;
 
 import org.springframework.boot.actuate.health.AbstractReactiveHealthIndicator;
@@ -41,6 +42,8 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
  */
 public class VaultReactiveHealthIndicator extends AbstractReactiveHealthIndicator {
 
+	private static final ObjectReader HEALTH_READER = new ObjectMapper().readerFor(VaultHealthImpl.class);
+
 	private final ReactiveVaultOperations vaultOperations;
 
 	public VaultReactiveHealthIndicator(ReactiveVaultOperations vaultOperations) {
@@ -51,9 +54,9 @@ public class VaultReactiveHealthIndicator extends AbstractReactiveHealthIndicato
 	private static Mono<? extends VaultHealthImpl> deserializeError(WebClientResponseException e) {
 
 		try {
-			ObjectMapper mapper = new ObjectMapper();
 			// Response is already materialized so not blocking here.
-			return Mono.just(mapper.readValue(e.getResponseBodyAsByteArray(), VaultHealthImpl.class));
+			VaultHealthImpl health = HEALTH_READER.readValue(e.getResponseBodyAsByteArray());
+			return Mono.just(health);
 		}
 		catch (Exception jsonError) {
 			UndeclaredThrowableException t = new UndeclaredThrowableException(jsonError);
@@ -62,20 +65,32 @@ public class VaultReactiveHealthIndicator extends AbstractReactiveHealthIndicato
 		}
 	}
 
-	private static Health getHealth(Builder builder, VaultHealthImpl vaultHealthResponse) {
+	private static Health getHealth(Builder builder, VaultHealth vaultHealthResponse) {
 
 		HealthBuilderDelegate.contributeToHealth(vaultHealthResponse, builder);
 		return builder.build();
 	}
 
-	@Override
-	protected Mono<Health> doHealthCheck(Builder builder) {
+	/**
+	 * Obtain the {@link VaultHealth} from Vault. Error responses that report the health
+	 * status (such as a sealed Vault) are deserialized into {@link VaultHealth}.
+	 * @param vaultOperations must not be {@literal null}.
+	 * @return the {@link VaultHealth}.
+	 * @since 3.1
+	 */
+	static Mono<VaultHealth> getVaultHealth(ReactiveVaultOperations vaultOperations) {
 
-		return this.vaultOperations
+		return vaultOperations
 				.doWithSession(
 						(it) -> it.get().uri("sys/health").header(VaultHttpHeaders.VAULT_NAMESPACE, "").exchange())
 				.flatMap((it) -> it.bodyToMono(VaultHealthImpl.class))
 				.onErrorResume(WebClientResponseException.class, VaultReactiveHealthIndicator::deserializeError)
+				.cast(VaultHealth.class);
+	}
+
+	@Override
+	protected Mono<Health> doHealthCheck(Builder builder) {
+		return getVaultHealth(this.vaultOperations)
 				.map((vaultHealthResponse) -> getHealth(builder, vaultHealthResponse));
 	}
 
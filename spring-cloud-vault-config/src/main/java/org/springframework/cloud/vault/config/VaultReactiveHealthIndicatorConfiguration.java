@@ -16,12 +16,17 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import reactor.core.publisher.Flux;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.health.CompositeReactiveHealthContributorConfiguration;
 import org.springframework.boot.actuate.health.ReactiveHealthContributor;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -30,7 +35,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.vault.core.ReactiveVaultOperations;
 
 /**
- * Configuration for {@link VaultReactiveHealthIndicator}.
+ * Configuration for {@link VaultReactiveHealthIndicator}. Creates a
+ * {@link CachingVaultReactiveHealthIndicator} if health caching is enabled.
  *
  * @author Mark Paluch
  * @since 2.0
@@ -39,12 +45,19 @@ import org.springframework.vault.core.ReactiveVaultOperations;
 @ConditionalOnClass(Flux.class)
 @ConditionalOnBean(ReactiveVaultOperations.class)
 class VaultReactiveHealthIndicatorConfiguration
-		extends CompositeReactiveHealthContributorConfiguration<VaultReactiveHealthIndicator, ReactiveVaultOperations> {
+		extends CompositeReactiveHealthContributorConfiguration<ReactiveHealthIndicator, ReactiveVaultOperations>
+		implements DisposableBean {
 
 	private final Map<String, ReactiveVaultOperations> reactiveVaultTemplates;
 
-	VaultReactiveHealthIndicatorConfiguration(Map<String, ReactiveVaultOperations> reactiveVaultTemplates) {
+	private final ObjectProvider<VaultProperties> vaultProperties;
+
+	private final List<CachingVaultReactiveHealthIndicator> cachingIndicators = new CopyOnWriteArrayList<>();
+
+	VaultReactiveHealthIndicatorConfiguration(Map<String, ReactiveVaultOperations> reactiveVaultTemplates,
+			ObjectProvider<VaultProperties> vaultProperties) {
 		this.reactiveVaultTemplates = reactiveVaultTemplates;
+		this.vaultProperties = vaultProperties;
 	}
 
 	@Bean
@@ -53,4 +66,26 @@ class VaultReactiveHealthIndicatorConfiguration
 		return createContributor(this.reactiveVaultTemplates);
 	}
 
+	@Override
+	protected ReactiveHealthIndicator createIndicator(ReactiveVaultOperations vaultOperations) {
+
+		VaultProperties.Health health = this.vaultProperties.getIfAvailable(VaultProperties::new).getHealth();
+
+		if (!health.isCacheEnabled()) {
+			return new VaultReactiveHealthIndicator(vaultOperations);
+		}
+
+		CachingVaultReactiveHealthIndicator indicator = new CachingVaultReactiveHealthIndicator(vaultOperations,
+				new VaultHealthCache(health.getMaxStaleness()), health.getTimeout());
+		indicator.start(health.getRefreshInterval());
+		this.cachingIndicators.add(indicator);
+
+		return indicator;
+	}
+
+	@Override
+	public void destroy() {
+		this.cachingIndicators.forEach(CachingVaultReactiveHealthIndicator::stop);
+	}
+
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.vault.config.VaultReactiveHealthIndicator.VaultHealthImpl;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.PathMatcher;
+import org.springframework.vault.client.VaultEndpoint;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * {@link ClientHttpRequestInterceptor} routing read requests to performance standby
+ * nodes of a Vault Enterprise cluster. Requests are classified by HTTP method and path:
+ * {@code GET} and {@code HEAD} requests are reads unless their path matches a write
+ * path pattern, other requests are writes unless their path matches a read path pattern.
+ * Reads are sent to healthy performance standby nodes in turn, writes and reads without
+ * a healthy performance standby node are sent to the active node.
+ * <p>
+ * Candidate nodes are checked through {@code sys/health} in the background once the
+ * health check interval has elapsed. Nodes failing a routed request are considered
+ * unhealthy until the next health check. An {@link ExecutorService} running health
+ * checks is shut down on {@link #destroy()}.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class VaultReadRoutingInterceptor implements ClientHttpRequestInterceptor, DisposableBean {
+
+	private static final Log logger = LogFactory.getLog(VaultReadRoutingInterceptor.class);
+
+	private static final String HEALTH_PATH = "sys/health?standbyok=true&perfstandbyok=true";
+
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+
+	private final Supplier<List<VaultEndpoint>> candidates;
+
+	private final RestOperations healthClient;
+
+	private final Executor executor;
+
+	private final List<String> readPaths;
+
+	private final List<String> writePaths;
+
+	private final long healthCheckIntervalNanos;
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	private final AtomicInteger position = new AtomicInteger();
+
+	private volatile List<VaultEndpoint> standbys = Collections.emptyList();
+
+	private volatile long lastRefresh;
+
+	private volatile boolean refreshed;
+
+	/**
+	 * Create a new {@link VaultReadRoutingInterceptor}.
+	 * @param readRouting the read routing properties.
+	 * @param candidates supplier of candidate nodes.
+	 * @param healthClient client to query the health of candidate nodes.
+	 * @param executor executor to run health checks.
+	 */
+	VaultReadRoutingInterceptor(VaultProperties.ReadRouting readRouting, Supplier<List<VaultEndpoint>> candidates,
+			RestOperations healthClient, Executor executor) {
+
+		Assert.notNull(readRouting, "ReadRouting must not be null");
+		Assert.notNull(candidates, "Candidates must not be null");
+		Assert.notNull(healthClient, "Health client must not be null");
+		Assert.notNull(executor, "Executor must not be null");
+
+		this.candidates = candidates;
+		this.healthClient = healthClient;
+		this.executor = executor;
+		this.readPaths = new ArrayList<>(readRouting.getReadPaths());
+		this.writePaths = new ArrayList<>(readRouting.getWritePaths());
+		this.healthCheckIntervalNanos = readRouting.getHealthCheckInterval().toNanos();
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+
+		VaultEndpoint standby = isRead(request.getMethod(), request.getURI()) ? selectStandby() : null;
+
+		if (standby == null) {
+			return execution.execute(request, body);
+		}
+
+		URI uri = UriComponentsBuilder.fromUri(request.getURI()).scheme(standby.getScheme())
+				.host(standby.getHost()).port(standby.getPort()).build(true).toUri();
+
+		try {
+			return execution.execute(new HttpRequestWrapper(request) {
+
+				@Override
+				public URI getURI() {
+					return uri;
+				}
+			}, body);
+		}
+		catch (IOException e) {
+			markUnhealthy(standby);
+			throw e;
+		}
+	}
+
+	/**
+	 * Shut down the health check executor if it is an {@link ExecutorService}.
+	 */
+	@Override
+	public void destroy() {
+
+		if (this.executor instanceof ExecutorService) {
+			((ExecutorService) this.executor).shutdown();
+		}
+	}
+
+	/**
+	 * Classify a request as read request.
+	 * @param method the HTTP method.
+	 * @param uri the request URI.
+	 * @return {@literal true} if the request is a read request.
+	 */
+	boolean isRead(@Nullable HttpMethod method, URI uri) {
+
+		String path = getVaultPath(uri);
+
+		if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+			return !matches(this.writePaths, path);
+		}
+
+		return matches(this.readPaths, path);
+	}
+
+	/**
+	 * @return the healthy performance standby nodes.
+	 */
+	List<VaultEndpoint> getStandbys() {
+		return this.standbys;
+	}
+
+	/**
+	 * Check the health of all candidate nodes and retain healthy performance standby
+	 * nodes.
+	 */
+	void refresh() {
+
+		List<VaultEndpoint> standbys = new ArrayList<>();
+
+		for (VaultEndpoint candidate : this.candidates.get()) {
+			if (isHealthyPerformanceStandby(candidate)) {
+				standbys.add(candidate);
+			}
+		}
+
+		if (logger.isDebugEnabled()) {
+			logger.debug(String.format("Routing Vault reads to performance standby nodes %s", standbys));
+		}
+
+		this.standbys = Collections.unmodifiableList(standbys);
+		this.lastRefresh = System.nanoTime();
+		this.refreshed = true;
+	}
+
+	@Nullable
+	private VaultEndpoint selectStandby() {
+
+		refreshIfNecessary();
+
+		List<VaultEndpoint> standbys = this.standbys;
+
+		if (standbys.isEmpty()) {
+			return null;
+		}
+
+		return standbys.get((this.position.getAndIncrement() & Integer.MAX_VALUE) % standbys.size());
+	}
+
+	private void refreshIfNecessary() {
+
+		if (this.refreshed && System.nanoTime() - this.lastRefresh < this.healthCheckIntervalNanos) {
+			return;
+		}
+
+		if (!this.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			this.executor.execute(() -> {
+				try {
+					refresh();
+				}
+				catch (RuntimeException e) {
+					logger.warn("Cannot check health of Vault performance standby nodes", e);
+				}
+				finally {
+					this.refreshing.set(false);
+				}
+			});
+		}
+		catch (RuntimeException e) {
+			this.refreshing.set(false);
+			logger.warn("Cannot schedule health check of Vault performance standby nodes", e);
+		}
+	}
+
+	private boolean isHealthyPerformanceStandby(VaultEndpoint candidate) {
+
+		try {
+			VaultHealthImpl health = this.healthClient.getForObject(URI.create(candidate.createUriString(HEALTH_PATH)),
+					VaultHealthImpl.class);
+
+			return health != null && health.isInitialized() && !health.isSealed() && health.isPerformanceStandby();
+		}
+		catch (RuntimeException e) {
+
+			if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Vault node %s is not available for reads", candidate), e);
+			}
+
+			return false;
+		}
+	}
+
+	private void markUnhealthy(VaultEndpoint standby) {
+
+		List<VaultEndpoint> standbys = new ArrayList<>(this.standbys);
+
+		if (standbys.remove(standby)) {
+			this.standbys = Collections.unmodifiableList(standbys);
+		}
+	}
+
+	private boolean matches(List<String> patterns, String path) {
+
+		for (String pattern : patterns) {
+			if (this.pathMatcher.match(pattern, path)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static String getVaultPath(URI uri) {
+
+		String path = uri.getPath();
+
+		if (path == null) {
+			return "";
+		}
+
+		int index = path.indexOf("/v1/");
+		return index != -1 ? path.substring(index + 4) : (path.startsWith("/") ? path.substring(1) : path);
+	}
+
+}
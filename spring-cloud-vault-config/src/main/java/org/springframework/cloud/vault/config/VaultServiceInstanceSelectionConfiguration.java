@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.vault.config.VaultProperties.Discovery.SelectionStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Configuration providing the {@link VaultServiceInstanceSelector} and
+ * {@link VaultEndpointStatistics} for imperative and reactive Vault discovery.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see DiscoveryClientVaultBootstrapConfiguration
+ * @see ReactiveDiscoveryClientVaultBootstrapConfiguration
+ */
+@Configuration(proxyBeanMethods = false)
+class VaultServiceInstanceSelectionConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
+	public VaultEndpointStatistics vaultEndpointStatistics() {
+		return new VaultEndpointStatistics();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(name = "spring.cloud.vault.enabled", matchIfMissing = true)
+	public VaultServiceInstanceSelector vaultServiceInstanceSelector(VaultProperties vaultProperties,
+			VaultEndpointStatistics statistics) {
+		return createSelector(vaultProperties.getDiscovery().getSelectionStrategy(), statistics);
+	}
+
+	static VaultServiceInstanceSelector createSelector(SelectionStrategy strategy, VaultEndpointStatistics statistics) {
+
+		switch (strategy) {
+
+		case ROUND_ROBIN:
+			return VaultServiceInstanceSelectors.roundRobin();
+
+		case LEAST_OUTSTANDING_REQUESTS:
+			return VaultServiceInstanceSelectors.leastOutstandingRequests(statistics);
+
+		case LATENCY_WEIGHTED:
+			return VaultServiceInstanceSelectors.latencyWeighted(statistics);
+
+		default:
+			return VaultServiceInstanceSelectors.first();
+		}
+	}
+
+	/**
+	 * Condition matching if the configured {@link SelectionStrategy} requires
+	 * {@link VaultEndpointStatistics}.
+	 */
+	static class OnStatisticsBasedSelectionStrategy extends SpringBootCondition {
+
+		@Override
+		public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+
+			SelectionStrategy strategy = Binder.get(context.getEnvironment())
+					.bind("spring.cloud.vault.discovery.selection-strategy", SelectionStrategy.class)
+					.orElse(SelectionStrategy.FIRST);
+
+			if (strategy == SelectionStrategy.LEAST_OUTSTANDING_REQUESTS
+					|| strategy == SelectionStrategy.LATENCY_WEIGHTED) {
+				return ConditionOutcome.match("Selection strategy " + strategy + " uses endpoint statistics");
+			}
+
+			return ConditionOutcome.noMatch("Selection strategy " + strategy + " does not use endpoint statistics");
+		}
+
+	}
+
+}
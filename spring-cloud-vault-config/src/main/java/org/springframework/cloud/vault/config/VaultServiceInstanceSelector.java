@@ -0,0 +1,41 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Strategy interface to select a Vault {@link ServiceInstance} from the instances
+ * obtained through service discovery.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultServiceInstanceSelectors
+ */
+@FunctionalInterface
+public interface VaultServiceInstanceSelector {
+
+	/**
+	 * Select a {@link ServiceInstance} to send a request to.
+	 * @param instances the discovered instances, never empty.
+	 * @return the selected {@link ServiceInstance}.
+	 */
+	ServiceInstance select(List<ServiceInstance> instances);
+
+}
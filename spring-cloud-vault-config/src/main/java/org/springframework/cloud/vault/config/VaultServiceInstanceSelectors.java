@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.util.Assert;
+
+/**
+ * Factory methods for {@link VaultServiceInstanceSelector}s.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+public final class VaultServiceInstanceSelectors {
+
+	private VaultServiceInstanceSelectors() {
+	}
+
+	/**
+	 * Create a {@link VaultServiceInstanceSelector} that selects the first instance.
+	 * @return the {@link VaultServiceInstanceSelector}.
+	 */
+	public static VaultServiceInstanceSelector first() {
+		return (instances) -> instances.get(0);
+	}
+
+	/**
+	 * Create a {@link VaultServiceInstanceSelector} that selects instances in turn.
+	 * @return the {@link VaultServiceInstanceSelector}.
+	 */
+	public static VaultServiceInstanceSelector roundRobin() {
+
+		AtomicInteger position = new AtomicInteger();
+
+		return (instances) -> instances.get(nextIndex(position, instances.size()));
+	}
+
+	/**
+	 * Create a {@link VaultServiceInstanceSelector} that selects the instance with the
+	 * fewest outstanding requests. Ties are resolved in turn.
+	 * @param statistics must not be {@literal null}.
+	 * @return the {@link VaultServiceInstanceSelector}.
+	 */
+	public static VaultServiceInstanceSelector leastOutstandingRequests(VaultEndpointStatistics statistics) {
+
+		Assert.notNull(statistics, "VaultEndpointStatistics must not be null");
+
+		AtomicInteger position = new AtomicInteger();
+
+		return (instances) -> {
+
+			int size = instances.size();
+			int offset = nextIndex(position, size);
+
+			ServiceInstance selected = null;
+			int fewest = Integer.MAX_VALUE;
+
+			for (int i = 0; i < size; i++) {
+
+				ServiceInstance candidate = instances.get((offset + i) % size);
+				int outstanding = statistics.getOutstandingRequests(candidate);
+
+				if (outstanding < fewest) {
+					selected = candidate;
+					fewest = outstanding;
+				}
+			}
+
+			return selected;
+		};
+	}
+
+	/**
+	 * Create a {@link VaultServiceInstanceSelector} that selects instances randomly
+	 * weighted by the inverse of their average latency so that faster instances receive
+	 * more requests. Instances without latency information are weighted like the fastest
+	 * known instance.
+	 * @param statistics must not be {@literal null}.
+	 * @return the {@link VaultServiceInstanceSelector}.
+	 */
+	public static VaultServiceInstanceSelector latencyWeighted(VaultEndpointStatistics statistics) {
+
+		Assert.notNull(statistics, "VaultEndpointStatistics must not be null");
+
+		return (instances) -> {
+
+			int size = instances.size();
+
+			if (size == 1) {
+				return instances.get(0);
+			}
+
+			double[] weights = new double[size];
+			double fastest = 0;
+
+			for (int i = 0; i < size; i++) {
+
+				Duration latency = statistics.getLatency(instances.get(i));
+
+				if (latency != null) {
+					weights[i] = 1d / latency.toNanos();
+					fastest = Math.max(fastest, weights[i]);
+				}
+			}
+
+			double total = 0;
+
+			for (int i = 0; i < size; i++) {
+
+				if (weights[i] == 0) {
+					weights[i] = fastest != 0 ? fastest : 1;
+				}
+
+				total += weights[i];
+			}
+
+			double random = ThreadLocalRandom.current().nextDouble(total);
+
+			for (int i = 0; i < size; i++) {
+
+				random -= weights[i];
+
+				if (random < 0) {
+					return instances.get(i);
+				}
+			}
+
+			return instances.get(size - 1);
+		};
+	}
+
+	private static int nextIndex(AtomicInteger position, int size) {
+		return (position.getAndIncrement() & Integer.MAX_VALUE) % size;
+	}
+
+}
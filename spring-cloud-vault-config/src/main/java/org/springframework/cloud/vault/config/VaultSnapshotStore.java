@@ -0,0 +1,519 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Encrypted on-disk store for secret snapshots. Each snapshot is serialized to JSON
+ * and encrypted using AES/GCM with a key that is derived through PBKDF2 from the
+ * configured key material. Snapshots are stored in individual files named after the
+ * SHA-256 hash of their key.
+ * <p>
+ * Both, the directory and the key material must be configured explicitly. The
+ * directory is created with owner-only permissions if it does not exist. An existing
+ * directory is rejected if it is owned by a different user or if it grants access to
+ * group or others.
+ * <p>
+ * The encryption key is derived in the background when the store is created. Snapshots
+ * are {@link #save(String, Snapshot) saved} asynchronously and only if their content
+ * differs from the content that was last read or written for the same key.
+ * <p>
+ * Reading or writing snapshots never fails. Corrupt, unreadable or undecryptable
+ * snapshots are reported as absent.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see VaultProperties.ConfigSnapshot
+ */
+class VaultSnapshotStore {
+
+	private static final Log log = LogFactory.getLog(VaultSnapshotStore.class);
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+	};
+
+	private static final byte FORMAT_VERSION = 1;
+
+	private static final int IV_LENGTH = 12;
+
+	private static final int SALT_LENGTH = 16;
+
+	private static final int TAG_LENGTH_BITS = 128;
+
+	private static final int ITERATIONS = 65536;
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private static final Set<PosixFilePermission> OWNER_ONLY = EnumSet.of(PosixFilePermission.OWNER_READ,
+			PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE);
+
+	private final Path directory;
+
+	private final char[] keyMaterial;
+
+	private final TaskExecutor executor;
+
+	private final CompletableFuture<SecretKey> secretKey;
+
+	private final Map<String, Snapshot> pendingSnapshots = new ConcurrentHashMap<>();
+
+	private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+	private final Object writeLock = new Object();
+
+	/**
+	 * Create a new {@link VaultSnapshotStore}.
+	 * @param properties must not be {@literal null}.
+	 * @throws IllegalStateException if the directory or key are not configured or if
+	 * the directory is not private to the current user.
+	 */
+	VaultSnapshotStore(VaultProperties.ConfigSnapshot properties) {
+		this(requireProperty(properties.getDirectory(), "spring.cloud.vault.config.snapshot.directory"),
+				requireProperty(properties.getKey(), "spring.cloud.vault.config.snapshot.key"));
+	}
+
+	/**
+	 * Create a new {@link VaultSnapshotStore} to persist leases.
+	 * @param properties must not be {@literal null}.
+	 * @throws IllegalStateException if the directory or key are not configured or if
+	 * the directory is not private to the current user.
+	 */
+	VaultSnapshotStore(VaultProperties.ConfigLeaseStore properties) {
+		this(requireProperty(properties.getDirectory(), "spring.cloud.vault.config.lifecycle.lease-store.directory"),
+				requireProperty(properties.getKey(), "spring.cloud.vault.config.lifecycle.lease-store.key"));
+	}
+
+	/**
+	 * Create a new {@link VaultSnapshotStore}.
+	 * @param directory directory to store snapshots, must not be empty.
+	 * @param key key material to derive the encryption key from, must not be empty.
+	 * @throws IllegalStateException if the directory is not private to the current
+	 * user.
+	 * @since 3.1
+	 */
+	VaultSnapshotStore(String directory, String key) {
+		this(directory, key, createExecutor());
+	}
+
+	/**
+	 * Create a new {@link VaultSnapshotStore}.
+	 * @param directory directory to store snapshots, must not be empty.
+	 * @param key key material to derive the encryption key from, must not be empty.
+	 * @param executor executor to derive the encryption key, save snapshots and run
+	 * revalidations, must not be {@literal null}.
+	 * @throws IllegalStateException if the directory is not private to the current
+	 * user.
+	 * @since 3.1
+	 */
+	VaultSnapshotStore(String directory, String key, TaskExecutor executor) {
+
+		Assert.hasText(directory, "Directory must not be empty");
+		Assert.hasText(key, "Key must not be empty");
+		Assert.notNull(executor, "TaskExecutor must not be null");
+
+		this.directory = Paths.get(directory).toAbsolutePath();
+		this.keyMaterial = key.toCharArray();
+
+		preparePrivateDirectory(this.directory);
+
+		this.executor = executor;
+		this.secretKey = new CompletableFuture<>();
+		this.executor.execute(this::deriveSecretKey);
+	}
+
+	/**
+	 * Load the snapshot stored under {@code key}.
+	 * @param key the snapshot key.
+	 * @return the snapshot or {@literal null} if no snapshot is available.
+	 */
+	@Nullable
+	Snapshot load(String key) {
+
+		Map<String, Object> map = read(key);
+		return map != null ? Snapshot.from(map) : null;
+	}
+
+	/**
+	 * Store a snapshot under {@code key} asynchronously. Snapshots that are saved for
+	 * the same key before a previous save completes supersede the previous snapshot.
+	 * @param key the snapshot key.
+	 * @param snapshot the snapshot to store.
+	 */
+	void save(String key, Snapshot snapshot) {
+
+		if (this.pendingSnapshots.put(key, snapshot) == null) {
+			this.executor.execute(() -> writePending(key));
+		}
+	}
+
+	private void writePending(String key) {
+
+		synchronized (this.writeLock) {
+
+			Snapshot snapshot = this.pendingSnapshots.remove(key);
+
+			if (snapshot != null) {
+				write(key, snapshot.toMap());
+			}
+		}
+	}
+
+	/**
+	 * Read and decrypt the entry stored under {@code key}.
+	 * @param key the entry key.
+	 * @return the entry or {@literal null} if no entry is available.
+	 */
+	@Nullable
+	Map<String, Object> read(String key) {
+
+		Path file = getFile(key);
+
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+
+		try {
+
+			byte[] content = Files.readAllBytes(file);
+
+			if (content.length < 1 + IV_LENGTH || content[0] != FORMAT_VERSION) {
+				return null;
+			}
+
+			Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+			cipher.init(Cipher.DECRYPT_MODE, getSecretKey(),
+					new GCMParameterSpec(TAG_LENGTH_BITS, content, 1, IV_LENGTH));
+			cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+
+			byte[] plaintext = cipher.doFinal(content, 1 + IV_LENGTH, content.length - 1 - IV_LENGTH);
+			Map<String, Object> entry = OBJECT_MAPPER.readValue(plaintext, MAP_TYPE);
+
+			this.fingerprints.put(key, sha256(plaintext));
+			return entry;
+		}
+		catch (IOException | GeneralSecurityException | RuntimeException e) {
+			log.warn(String.format("Cannot read Vault snapshot %s: %s", file, e.getMessage()));
+			return null;
+		}
+	}
+
+	/**
+	 * Encrypt and store {@code entry} under {@code key}. Writing is skipped if the
+	 * content of {@code entry} is identical to the content that was last read or
+	 * written for {@code key}.
+	 * @param key the entry key.
+	 * @param entry the entry to store.
+	 */
+	void write(String key, Map<String, Object> entry) {
+
+		Path file = getFile(key);
+
+		try {
+
+			byte[] plaintext = OBJECT_MAPPER.writeValueAsBytes(entry);
+			String fingerprint = sha256(plaintext);
+
+			if (fingerprint.equals(this.fingerprints.get(key)) && Files.isRegularFile(file)) {
+				return;
+			}
+
+			byte[] iv = new byte[IV_LENGTH];
+			RANDOM.nextBytes(iv);
+
+			Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+			cipher.init(Cipher.ENCRYPT_MODE, getSecretKey(), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+			cipher.updateAAD(key.getBytes(StandardCharsets.UTF_8));
+
+			byte[] ciphertext = cipher.doFinal(plaintext);
+
+			byte[] content = new byte[1 + IV_LENGTH + ciphertext.length];
+			content[0] = FORMAT_VERSION;
+			System.arraycopy(iv, 0, content, 1, IV_LENGTH);
+			System.arraycopy(ciphertext, 0, content, 1 + IV_LENGTH, ciphertext.length);
+
+			Path temp = Files.createTempFile(this.directory, "snapshot", ".tmp");
+			Files.write(temp, content);
+			move(temp, file);
+
+			this.fingerprints.put(key, fingerprint);
+		}
+		catch (IOException | GeneralSecurityException | RuntimeException e) {
+			log.warn(String.format("Cannot write Vault snapshot %s: %s", file, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Remove the entry stored under {@code key}.
+	 * @param key the entry key.
+	 */
+	void delete(String key) {
+
+		Path file = getFile(key);
+		this.fingerprints.remove(key);
+
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException e) {
+			log.warn(String.format("Cannot delete Vault snapshot %s: %s", file, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Run a revalidation task in the background.
+	 * @param task the task to run.
+	 */
+	void revalidate(Runnable task) {
+		this.executor.execute(task);
+	}
+
+	private Path getFile(String key) {
+		return this.directory.resolve(sha256(key.getBytes(StandardCharsets.UTF_8)) + ".snapshot");
+	}
+
+	static String sha256(byte[] content) {
+
+		try {
+
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+
+			StringBuilder hex = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+
+			return hex.toString();
+		}
+		catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot compute SHA-256 hash", e);
+		}
+	}
+
+	private SecretKey getSecretKey() {
+		return this.secretKey.join();
+	}
+
+	private void deriveSecretKey() {
+
+		try {
+
+			SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+			PBEKeySpec spec = new PBEKeySpec(this.keyMaterial, getSalt(), ITERATIONS, 256);
+
+			this.secretKey.complete(new SecretKeySpec(factory.generateSecret(spec).getEncoded(), "AES"));
+			spec.clearPassword();
+		}
+		catch (IOException | GeneralSecurityException | RuntimeException e) {
+			this.secretKey.completeExceptionally(e);
+		}
+	}
+
+	private byte[] getSalt() throws IOException {
+
+		Path saltFile = this.directory.resolve("snapshot.salt");
+
+		if (Files.isRegularFile(saltFile)) {
+
+			byte[] salt = Files.readAllBytes(saltFile);
+
+			if (salt.length == SALT_LENGTH) {
+				return salt;
+			}
+		}
+
+		byte[] salt = new byte[SALT_LENGTH];
+		RANDOM.nextBytes(salt);
+
+		Path temp = Files.createTempFile(this.directory, "salt", ".tmp");
+		Files.write(temp, salt);
+		move(temp, saltFile);
+
+		return salt;
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+
+		try {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static TaskExecutor createExecutor() {
+
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("Spring-Cloud-Vault-Snapshot-");
+		executor.setDaemon(true);
+		return executor;
+	}
+
+	private static String requireProperty(@Nullable String value, String propertyName) {
+
+		if (!StringUtils.hasText(value)) {
+			throw new IllegalStateException(String.format("%s must be configured", propertyName));
+		}
+
+		return value;
+	}
+
+	/**
+	 * Create {@code directory} with owner-only permissions if it does not exist or
+	 * verify that an existing directory is owned by the current user and not accessible
+	 * by group or others.
+	 * @param directory the directory to prepare.
+	 * @throws IllegalStateException if the directory cannot be created or is not
+	 * private to the current user.
+	 */
+	static void preparePrivateDirectory(Path directory) {
+
+		boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+		try {
+
+			if (!Files.exists(directory, LinkOption.NOFOLLOW_LINKS)) {
+
+				if (directory.getParent() != null) {
+					Files.createDirectories(directory.getParent());
+				}
+
+				if (posix) {
+					Files.createDirectory(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+				}
+				else {
+					Files.createDirectory(directory);
+				}
+			}
+
+			if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+				throw new IllegalStateException(String.format("%s is not a directory", directory));
+			}
+
+			UserPrincipal owner = Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS);
+			UserPrincipal currentUser = directory.getFileSystem().getUserPrincipalLookupService()
+					.lookupPrincipalByName(System.getProperty("user.name"));
+
+			if (!owner.equals(currentUser)) {
+				throw new IllegalStateException(
+						String.format("Directory %s is owned by %s and not by the current user %s", directory,
+								owner.getName(), currentUser.getName()));
+			}
+
+			if (posix) {
+
+				Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory,
+						LinkOption.NOFOLLOW_LINKS);
+
+				if (!OWNER_ONLY.containsAll(permissions)) {
+					throw new IllegalStateException(String.format(
+							"Directory %s must not be accessible by group or others but has permissions %s",
+							directory, PosixFilePermissions.toString(permissions)));
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(String.format("Cannot prepare directory %s", directory), e);
+		}
+	}
+
+	/**
+	 * Value object for a secret snapshot consisting of secret data and an optional
+	 * secret version.
+	 */
+	static class Snapshot {
+
+		private final Map<String, Object> data;
+
+		@Nullable
+		private final Integer version;
+
+		Snapshot(Map<String, Object> data, @Nullable Integer version) {
+			this.data = data;
+			this.version = version;
+		}
+
+		@SuppressWarnings("unchecked")
+		static Snapshot from(Map<String, Object> map) {
+
+			Object data = map.get("data");
+			Object version = map.get("version");
+
+			return new Snapshot(data instanceof Map ? (Map<String, Object>) data : new LinkedHashMap<>(),
+					version instanceof Number ? ((Number) version).intValue() : null);
+		}
+
+		Map<String, Object> toMap() {
+
+			Map<String, Object> map = new LinkedHashMap<>();
+			map.put("data", this.data);
+			map.put("version", this.version);
+			return map;
+		}
+
+		Map<String, Object> getData() {
+			return this.data;
+		}
+
+		@Nullable
+		Integer getVersion() {
+			return this.version;
+		}
+
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import org.springframework.boot.BootstrapContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.authentication.ClientAuthentication;
+import org.springframework.vault.support.VaultToken;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Utility methods to record {@link StartupStep}s of Vault bootstrapping. The
+ * {@link ApplicationStartup} is obtained from the {@link BootstrapContext} if registered,
+ * see {@link VaultBootstrapper#withApplicationStartup(ApplicationStartup)}.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+final class VaultStartup {
+
+	private VaultStartup() {
+	}
+
+	/**
+	 * Obtain the {@link ApplicationStartup} from the {@link BootstrapContext}.
+	 * @param bootstrap the bootstrap context.
+	 * @return the registered {@link ApplicationStartup} or
+	 * {@link ApplicationStartup#DEFAULT} if none is registered.
+	 */
+	static ApplicationStartup getApplicationStartup(BootstrapContext bootstrap) {
+		return bootstrap.isRegistered(ApplicationStartup.class) ? bootstrap.get(ApplicationStartup.class)
+				: ApplicationStartup.DEFAULT;
+	}
+
+	/**
+	 * Tag {@code step} with path and backend of {@link SecretBackendMetadata}.
+	 * @param step the startup step.
+	 * @param metadata the secret backend.
+	 * @return the startup step.
+	 */
+	static StartupStep tag(StartupStep step, SecretBackendMetadata metadata) {
+
+		step.tag("path", metadata.getPath());
+
+		String backend = metadata.getVariables().get("backend");
+		if (backend != null) {
+			step.tag("backend", backend);
+		}
+
+		return step;
+	}
+
+	/**
+	 * Decorate {@link ClientAuthentication} to record a
+	 * {@code spring.cloud.vault.authentication.login} step for each login.
+	 * @param clientAuthentication the client authentication to decorate.
+	 * @param applicationStartup the application startup.
+	 * @param method the authentication method.
+	 * @return the decorated {@link ClientAuthentication}.
+	 */
+	static ClientAuthentication recordLogin(ClientAuthentication clientAuthentication,
+			ApplicationStartup applicationStartup, VaultProperties.AuthenticationMethod method) {
+
+		return () -> {
+
+			StartupStep step = applicationStartup.start("spring.cloud.vault.authentication.login");
+			step.tag("method", method.name());
+
+			try {
+				VaultToken token = clientAuthentication.login();
+				step.tag("status", "success");
+				return token;
+			}
+			catch (VaultException e) {
+				tagFailure(step, e);
+				throw e;
+			}
+			finally {
+				step.end();
+			}
+		};
+	}
+
+	/**
+	 * Tag {@code step} with the HTTP status of a failed request.
+	 * @param step the startup step.
+	 * @param e the exception.
+	 * @return the startup step.
+	 */
+	static StartupStep tagFailure(StartupStep step, VaultException e) {
+
+		if (e.getCause() instanceof HttpStatusCodeException) {
+			return step.tag("status", Integer.toString(((HttpStatusCodeException) e.getCause()).getRawStatusCode()));
+		}
+
+		return step.tag("status", "error");
+	}
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.client.VaultResponses;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.support.JsonMapFlattener;
+import org.springframework.vault.support.VaultResponse;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * Reads secrets from Vault by parsing the response body as JSON token stream. Secret
+ * data is flattened while parsing into a single {@link Map} using the same rules as
+ * {@link JsonMapFlattener} (nested objects using dot-separated keys, arrays using
+ * {@code [index]} notation) without materializing the intermediate JSON tree. Responses
+ * from versioned Key-Value backends are unwrapped into {@code data} and
+ * {@code metadata} while parsing.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ * @see FlattenedVaultResponse
+ */
+class VaultStreamingReader {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+	};
+
+	private static final TypeReference<Map<String, String>> STRING_MAP_TYPE = new TypeReference<Map<String, String>>() {
+	};
+
+	private static final TypeReference<List<String>> LIST_TYPE = new TypeReference<List<String>>() {
+	};
+
+	private final VaultOperations vaultOperations;
+
+	/**
+	 * Create a new {@link VaultStreamingReader}.
+	 * @param vaultOperations must not be {@literal null}.
+	 */
+	VaultStreamingReader(VaultOperations vaultOperations) {
+
+		Assert.notNull(vaultOperations, "VaultOperations must not be null");
+
+		this.vaultOperations = vaultOperations;
+	}
+
+	/**
+	 * Read and flatten the secret at {@code path}.
+	 * @param path the path to read from.
+	 * @param versioned whether the path refers to a versioned Key-Value backend
+	 * ({@code <mount>/data/<path>}) and the response requires unwrapping.
+	 * @return the response or {@literal null} if the secret was not found.
+	 */
+	@Nullable
+	VaultResponse read(String path, boolean versioned) {
+
+		return this.vaultOperations.doWithSession(restOperations -> {
+
+			try {
+				return restOperations.execute(path, HttpMethod.GET, null, response -> {
+					try (InputStream body = response.getBody()) {
+						return parse(body, versioned);
+					}
+				});
+			}
+			catch (HttpStatusCodeException e) {
+
+				if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+					return null;
+				}
+
+				throw VaultResponses.buildException(e, path);
+			}
+		});
+	}
+
+	/**
+	 * Parse a Vault response.
+	 * @param body the response body.
+	 * @param versioned whether to unwrap a versioned Key-Value response.
+	 * @return the response or {@literal null} if the body is empty or the secret data
+	 * is absent.
+	 * @throws IOException if the body cannot be parsed.
+	 */
+	@Nullable
+	static FlattenedVaultResponse parse(InputStream body, boolean versioned) throws IOException {
+
+		try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(body)) {
+
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+
+			FlattenedVaultResponse response = new FlattenedVaultResponse();
+			boolean hasData = false;
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+				String field = parser.getCurrentName();
+				JsonToken token = parser.nextToken();
+
+				if (token == JsonToken.VALUE_NULL) {
+					continue;
+				}
+
+				switch (field) {
+				case "data":
+					hasData = versioned ? readVersionedData(parser, response) : readData(parser, response);
+					break;
+				case "request_id":
+					response.setRequestId(parser.getValueAsString());
+					break;
+				case "lease_id":
+					response.setLeaseId(parser.getValueAsString());
+					break;
+				case "renewable":
+					response.setRenewable(parser.getValueAsBoolean());
+					break;
+				case "lease_duration":
+					response.setLeaseDuration(parser.getValueAsLong());
+					break;
+				case "auth":
+					response.setAuth(parser.readValueAs(MAP_TYPE));
+					break;
+				case "wrap_info":
+					response.setWrapInfo(parser.readValueAs(STRING_MAP_TYPE));
+					break;
+				case "warnings":
+					response.setWarnings(parser.readValueAs(LIST_TYPE));
+					break;
+				default:
+					parser.skipChildren();
+				}
+			}
+
+			return hasData ? response : null;
+		}
+	}
+
+	private static boolean readData(JsonParser parser, FlattenedVaultResponse response) throws IOException {
+
+		Map<String, Object> data = new LinkedHashMap<>();
+		flatten(parser, "", data);
+		response.setData(data);
+
+		return true;
+	}
+
+	private static boolean readVersionedData(JsonParser parser, FlattenedVaultResponse response)
+			throws IOException {
+
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			parser.skipChildren();
+			return false;
+		}
+
+		boolean hasData = false;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+
+			if (token == JsonToken.VALUE_NULL) {
+				continue;
+			}
+
+			if ("data".equals(field) && token == JsonToken.START_OBJECT) {
+				hasData = readData(parser, response);
+			}
+			else if ("metadata".equals(field) && token == JsonToken.START_OBJECT) {
+				response.setMetadata(parser.readValueAs(MAP_TYPE));
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+
+		return hasData;
+	}
+
+	/**
+	 * Flatten the current JSON value into {@code target}. Mirrors
+	 * {@link JsonMapFlattener#flatten(Map)}: empty objects and arrays do not emit any
+	 * property.
+	 */
+	private static void flatten(JsonParser parser, String key, Map<String, Object> target) throws IOException {
+
+		switch (parser.currentToken()) {
+		case START_OBJECT:
+
+			String prefix = key.isEmpty() ? "" : key + ".";
+
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+				String field = parser.getCurrentName();
+				parser.nextToken();
+				flatten(parser, prefix.isEmpty() ? field : prefix + field, target);
+			}
+			return;
+		case START_ARRAY:
+
+			int index = 0;
+
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				flatten(parser, key + "[" + index++ + "]", target);
+			}
+			return;
+		case VALUE_STRING:
+			target.put(key, parser.getText());
+			return;
+		case VALUE_NUMBER_INT:
+			target.put(key, parser.getNumberValue());
+			return;
+		case VALUE_NUMBER_FLOAT:
+			target.put(key, parser.getDoubleValue());
+			return;
+		case VALUE_TRUE:
+			target.put(key, Boolean.TRUE);
+			return;
+		case VALUE_FALSE:
+			target.put(key, Boolean.FALSE);
+			return;
+		case VALUE_NULL:
+			target.put(key, null);
+			return;
+		default:
+			throw new VaultException(String.format("Unexpected JSON token %s at %s", parser.currentToken(), key));
+		}
+	}
+
+	/**
+	 * {@link VaultResponse} whose data is already flattened.
+	 */
+	static class FlattenedVaultResponse extends VaultResponse {
+
+	}
+
+}
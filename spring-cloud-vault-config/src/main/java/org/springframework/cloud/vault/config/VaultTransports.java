@@ -0,0 +1,247 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cloud.vault.config.VaultReactiveAutoConfiguration.ClientHttpConnectorWrapper;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.vault.config.AbstractVaultConfiguration.ClientFactoryWrapper;
+
+/**
+ * Registry of reference-counted HTTP transports ({@link ClientHttpRequestFactory} and
+ * {@link ClientHttpConnector}). Transports are keyed by a SHA-256 digest of their SSL,
+ * timeout and HTTP configuration so that the bootstrap context and the application
+ * context share a single HTTP client (including key store loading, SSL context creation
+ * and the connection pool) per configuration. A transport is initialized when it is
+ * acquired for the first time and destroyed once the last wrapper referencing it was
+ * destroyed.
+ * <p>
+ * The registry is scoped to the bootstrap context and promoted to the application
+ * context. It is not shared across unrelated application contexts.
+ *
+ * @author Mark Paluch
+ * @since 3.1
+ */
+class VaultTransports {
+
+	private static final Log logger = LogFactory.getLog(VaultTransports.class);
+
+	private final Map<String, Transport> transports = new HashMap<>();
+
+	/**
+	 * Acquire a shared {@link ClientHttpRequestFactory} for {@code vaultProperties}.
+	 * @param vaultProperties the properties determining the transport configuration.
+	 * @param factorySupplier supplier to create the factory if no shared factory exists.
+	 * @return a {@link ClientFactoryWrapper} holding a reference to the shared factory.
+	 * Destroying the wrapper releases the reference.
+	 */
+	ClientFactoryWrapper acquireRequestFactory(VaultProperties vaultProperties,
+			Supplier<ClientHttpRequestFactory> factorySupplier) {
+
+		String key = createKey("imperative", vaultProperties);
+		ClientHttpRequestFactory factory = (ClientHttpRequestFactory) acquire(key, factorySupplier);
+
+		return new SharedClientFactoryWrapper(factory, () -> release(key));
+	}
+
+	/**
+	 * Acquire a shared {@link ClientHttpConnector} for {@code vaultProperties}.
+	 * @param vaultProperties the properties determining the transport configuration.
+	 * @param connectorSupplier supplier to create the connector if no shared connector
+	 * exists.
+	 * @return a {@link ClientHttpConnectorWrapper} holding a reference to the shared
+	 * connector. Destroying the wrapper releases the reference.
+	 */
+	ClientHttpConnectorWrapper acquireConnector(VaultProperties vaultProperties,
+			Supplier<ClientHttpConnector> connectorSupplier) {
+
+		String key = createKey("reactive", vaultProperties);
+		ClientHttpConnector connector = (ClientHttpConnector) acquire(key, connectorSupplier);
+
+		return new SharedClientHttpConnectorWrapper(connector, () -> release(key));
+	}
+
+	private synchronized Object acquire(String key, Supplier<?> supplier) {
+
+		Transport transport = this.transports.get(key);
+
+		if (transport == null) {
+
+			Object resource = supplier.get();
+
+			if (resource instanceof InitializingBean) {
+				try {
+					((InitializingBean) resource).afterPropertiesSet();
+				}
+				catch (Exception e) {
+					ReflectionUtils.rethrowRuntimeException(e);
+				}
+			}
+
+			transport = new Transport(resource);
+			this.transports.put(key, transport);
+		}
+
+		transport.references++;
+		return transport.resource;
+	}
+
+	private void release(String key) {
+
+		Object resource;
+
+		synchronized (this) {
+
+			Transport transport = this.transports.get(key);
+
+			if (transport == null || --transport.references > 0) {
+				return;
+			}
+
+			this.transports.remove(key);
+			resource = transport.resource;
+		}
+
+		if (resource instanceof DisposableBean) {
+			try {
+				((DisposableBean) resource).destroy();
+			}
+			catch (Exception e) {
+				logger.warn(String.format("Cannot destroy HTTP transport %s", resource), e);
+			}
+		}
+	}
+
+	/**
+	 * @param kind transport kind, {@code imperative} or {@code reactive}.
+	 * @param vaultProperties the properties determining the transport configuration.
+	 * @return the number of references to the transport for {@code vaultProperties}.
+	 */
+	synchronized int getReferenceCount(String kind, VaultProperties vaultProperties) {
+
+		Transport transport = this.transports.get(createKey(kind, vaultProperties));
+		return transport != null ? transport.references : 0;
+	}
+
+	/**
+	 * Create the registry key for a transport. The key is a digest so that key store
+	 * passwords are not retained in plain text.
+	 * @param kind transport kind, {@code imperative} or {@code reactive}.
+	 * @param vaultProperties the properties determining the transport configuration.
+	 * @return the key.
+	 */
+	static String createKey(String kind, VaultProperties vaultProperties) {
+
+		VaultProperties.Ssl ssl = vaultProperties.getSsl();
+		VaultProperties.Http http = vaultProperties.getHttp();
+
+		Object configuration = Arrays.asList(kind, vaultProperties.getConnectionTimeout(),
+				vaultProperties.getReadTimeout(), ssl.getKeyStore(), ssl.getKeyStorePassword(), ssl.getKeyStoreType(),
+				ssl.getTrustStore(), ssl.getTrustStorePassword(), ssl.getTrustStoreType(),
+				new ArrayList<>(ssl.getEnabledProtocols()), new ArrayList<>(ssl.getEnabledCipherSuites()),
+				http.getMaxConnections(), http.getMaxConnectionsPerRoute(), http.getIdleTimeout(), http.getKeepAlive(),
+				http.isPreferHttp2(), http.getTcpNoDelay(), http.getSoKeepAlive());
+
+		return VaultSnapshotStore.sha256(configuration.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Shared transport along with its reference count.
+	 */
+	static class Transport {
+
+		final Object resource;
+
+		int references;
+
+		Transport(Object resource) {
+			this.resource = resource;
+		}
+
+	}
+
+	/**
+	 * {@link ClientFactoryWrapper} referencing a shared {@link ClientHttpRequestFactory}.
+	 * The factory is initialized by the registry.
+	 */
+	static class SharedClientFactoryWrapper extends ClientFactoryWrapper {
+
+		private final Runnable release;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		SharedClientFactoryWrapper(ClientHttpRequestFactory clientHttpRequestFactory, Runnable release) {
+			super(clientHttpRequestFactory);
+			this.release = release;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+		}
+
+		@Override
+		public void destroy() {
+			if (this.released.compareAndSet(false, true)) {
+				this.release.run();
+			}
+		}
+
+	}
+
+	/**
+	 * {@link ClientHttpConnectorWrapper} referencing a shared {@link ClientHttpConnector}.
+	 * The connector is initialized by the registry.
+	 */
+	static class SharedClientHttpConnectorWrapper extends ClientHttpConnectorWrapper {
+
+		private final Runnable release;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		SharedClientHttpConnectorWrapper(ClientHttpConnector connector, Runnable release) {
+			super(connector);
+			this.release = release;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+		}
+
+		@Override
+		public void destroy() {
+			if (this.released.compareAndSet(false, true)) {
+				this.release.run();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.cloud.vault.config.VaultHealthCache.Sample;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.core.VaultSysOperations;
+import org.springframework.vault.support.VaultHealth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CachingVaultHealthIndicator}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingVaultHealthIndicatorUnitTests {
+
+	@Mock
+	VaultOperations vaultOperations;
+
+	@Mock
+	VaultSysOperations vaultSysOperations;
+
+	@Mock
+	VaultHealth healthResponse;
+
+	@Mock
+	TaskScheduler taskScheduler;
+
+	MutableClock clock = new MutableClock();
+
+	VaultHealthCache cache;
+
+	CachingVaultHealthIndicator healthIndicator;
+
+	@Before
+	public void before() {
+
+		this.cache = new VaultHealthCache(Duration.ofSeconds(30), this.clock);
+		this.healthIndicator = new CachingVaultHealthIndicator(this.vaultOperations, this.taskScheduler, this.cache,
+				Duration.ofMillis(50));
+	}
+
+	@Test
+	public void shouldRefreshMissingHealth() {
+
+		runScheduledTasks();
+		when(this.vaultSysOperations.health()).thenReturn(this.healthResponse);
+		when(this.healthResponse.isInitialized()).thenReturn(true);
+
+		Health health = this.healthIndicator.health();
+
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("age", "PT0S");
+	}
+
+	@Test
+	public void shouldServeCachedHealth() {
+
+		runScheduledTasks();
+		when(this.vaultSysOperations.health()).thenReturn(this.healthResponse);
+		when(this.healthResponse.isInitialized()).thenReturn(true);
+
+		this.healthIndicator.health();
+		this.clock.advance(Duration.ofSeconds(10));
+		Health health = this.healthIndicator.health();
+
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsEntry("age", "PT10S");
+		verify(this.vaultSysOperations).health();
+	}
+
+	@Test
+	public void shouldRefreshStaleHealth() {
+
+		runScheduledTasks();
+		when(this.vaultSysOperations.health()).thenReturn(this.healthResponse);
+		when(this.healthResponse.isInitialized()).thenReturn(true);
+
+		this.healthIndicator.health();
+		this.clock.advance(Duration.ofSeconds(31));
+		Health health = this.healthIndicator.health();
+
+		assertThat(health.getDetails()).containsEntry("age", "PT0S");
+		verify(this.vaultSysOperations, times(2)).health();
+	}
+
+	@Test
+	public void shouldCacheFailures() {
+
+		runScheduledTasks();
+		when(this.vaultSysOperations.health()).thenThrow(new IllegalStateException("Connection refused"));
+
+		this.healthIndicator.health();
+		Health health = this.healthIndicator.health();
+
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error", "java.lang.IllegalStateException: Connection refused");
+		verify(this.vaultSysOperations).health();
+	}
+
+	@Test
+	public void shouldReportTimeoutWithAgeOfStaleHealth() {
+
+		this.cache.refresh((refresh) -> refresh.success(this.healthResponse));
+		this.clock.advance(Duration.ofMinutes(1));
+
+		Health health = this.healthIndicator.health();
+
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("age", "PT1M");
+		assertThat((String) health.getDetails().get("error")).contains("timed out");
+	}
+
+	@Test
+	public void shouldShareConcurrentRefresh() {
+
+		AtomicInteger refreshes = new AtomicInteger();
+		CompletableFuture<Sample> first = this.cache.refresh((refresh) -> refreshes.incrementAndGet());
+		CompletableFuture<Sample> second = this.cache.refresh((refresh) -> refreshes.incrementAndGet());
+
+		assertThat(refreshes).hasValue(1);
+		assertThat(first).isNotDone();
+		assertThat(second).isNotDone();
+	}
+
+	private void runScheduledTasks() {
+
+		when(this.taskScheduler.schedule(any(Runnable.class), any(Date.class))).then(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return null;
+		});
+		when(this.vaultOperations.opsForSys()).thenReturn(this.vaultSysOperations);
+	}
+
+	static class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2021-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
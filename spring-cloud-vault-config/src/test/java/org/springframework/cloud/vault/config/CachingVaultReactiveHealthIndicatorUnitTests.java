@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.cloud.vault.config.CachingVaultHealthIndicatorUnitTests.MutableClock;
+import org.springframework.cloud.vault.config.VaultReactiveHealthIndicator.VaultHealthImpl;
+import org.springframework.vault.core.ReactiveVaultOperations;
+import org.springframework.vault.support.VaultHealth;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CachingVaultReactiveHealthIndicator}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingVaultReactiveHealthIndicatorUnitTests {
+
+	@Mock
+	ReactiveVaultOperations vaultOperations;
+
+	@Mock
+	ClientResponse clientResponse;
+
+	@Mock
+	VaultHealth healthResponse;
+
+	MutableClock clock = new MutableClock();
+
+	VaultHealthCache cache;
+
+	CachingVaultReactiveHealthIndicator healthIndicator;
+
+	@Before
+	public void before() {
+
+		this.cache = new VaultHealthCache(Duration.ofSeconds(30), this.clock);
+		this.healthIndicator = new CachingVaultReactiveHealthIndicator(this.vaultOperations, this.cache,
+				Duration.ofSeconds(1));
+	}
+
+	@Test
+	public void shouldRefreshMissingHealth() {
+
+		respondWith(Mono.just(this.healthResponse));
+		when(this.healthResponse.isInitialized()).thenReturn(true);
+
+		this.healthIndicator.health().as(StepVerifier::create).consumeNextWith(health -> {
+			assertThat(health.getStatus()).isEqualTo(Status.UP);
+			assertThat(health.getDetails()).containsEntry("age", "PT0S");
+		}).verifyComplete();
+	}
+
+	@Test
+	public void shouldServeCachedHealth() {
+
+		respondWith(Mono.just(this.healthResponse));
+		when(this.healthResponse.isInitialized()).thenReturn(true);
+
+		this.healthIndicator.health().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+		this.clock.advance(Duration.ofSeconds(10));
+
+		this.healthIndicator.health().as(StepVerifier::create).consumeNextWith(health -> {
+			assertThat(health.getStatus()).isEqualTo(Status.UP);
+			assertThat(health.getDetails()).containsEntry("age", "PT10S");
+		}).verifyComplete();
+
+		verify(this.vaultOperations).doWithSession(any());
+	}
+
+	@Test
+	public void shouldRefreshStaleHealth() {
+
+		respondWith(Mono.just(this.healthResponse));
+		when(this.healthResponse.isInitialized()).thenReturn(true);
+
+		this.healthIndicator.health().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+		this.clock.advance(Duration.ofSeconds(31));
+
+		this.healthIndicator.health().as(StepVerifier::create)
+				.consumeNextWith(health -> assertThat(health.getDetails()).containsEntry("age", "PT0S"))
+				.verifyComplete();
+
+		verify(this.vaultOperations, times(2)).doWithSession(any());
+	}
+
+	@Test
+	public void shouldReportFailures() {
+
+		respondWith(Mono.error(new IllegalStateException("Connection refused")));
+
+		this.healthIndicator.health().as(StepVerifier::create).consumeNextWith(health -> {
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(health.getDetails()).containsEntry("error",
+					"java.lang.IllegalStateException: Connection refused");
+		}).verifyComplete();
+	}
+
+	@Test
+	public void shouldReportTimeout() {
+
+		this.healthIndicator = new CachingVaultReactiveHealthIndicator(this.vaultOperations, this.cache,
+				Duration.ofMillis(50));
+		respondWith(Mono.never());
+
+		this.healthIndicator.health().as(StepVerifier::create).consumeNextWith(health -> {
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat((String) health.getDetails().get("error")).contains("timed out");
+		}).verifyComplete();
+	}
+
+	@Test
+	public void shouldRefreshInBackground() throws InterruptedException {
+
+		CountDownLatch refreshed = new CountDownLatch(1);
+		doReturn(Mono.just(this.clientResponse).doOnNext(it -> refreshed.countDown())).when(this.vaultOperations)
+				.doWithSession(any());
+		doReturn(Mono.just(this.healthResponse)).when(this.clientResponse).bodyToMono(VaultHealthImpl.class);
+
+		this.healthIndicator.start(Duration.ofHours(1));
+
+		try {
+			assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			this.healthIndicator.stop();
+		}
+
+		verify(this.vaultOperations).doWithSession(any());
+	}
+
+	private void respondWith(Mono<VaultHealth> health) {
+
+		doReturn(Mono.just(this.clientResponse)).when(this.vaultOperations).doWithSession(any());
+		doReturn(health).when(this.clientResponse).bodyToMono(VaultHealthImpl.class);
+	}
+
+}
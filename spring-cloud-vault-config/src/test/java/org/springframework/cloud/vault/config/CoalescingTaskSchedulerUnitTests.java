@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link CoalescingTaskScheduler}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CoalescingTaskSchedulerUnitTests {
+
+	@Mock
+	TaskScheduler delegate;
+
+	@Mock
+	ScheduledFuture<?> future;
+
+	@Test
+	public void shouldCoalesceTasksWithinTolerance() {
+
+		CoalescingTaskScheduler scheduler = new CoalescingTaskScheduler(this.delegate, Duration.ofSeconds(10));
+		AtomicInteger counter = new AtomicInteger();
+		long now = System.currentTimeMillis();
+
+		ScheduledFuture<?> first = scheduler.schedule(counter::incrementAndGet, new Date(now + 60_000));
+		ScheduledFuture<?> second = scheduler.schedule(counter::incrementAndGet, new Date(now + 65_000));
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(this.delegate).schedule(captor.capture(), eq(new Date(now + 60_000)));
+		assertThat(scheduler.getBatchCount()).isEqualTo(1);
+		assertThat(second.getDelay(TimeUnit.MILLISECONDS)).isLessThanOrEqualTo(60_000);
+
+		captor.getValue().run();
+
+		assertThat(counter).hasValue(2);
+		assertThat(first.isDone()).isTrue();
+		assertThat(second.isDone()).isTrue();
+		assertThat(scheduler.getBatchCount()).isZero();
+	}
+
+	@Test
+	public void shouldNotPostponeExecutions() {
+
+		CoalescingTaskScheduler scheduler = new CoalescingTaskScheduler(this.delegate, Duration.ofSeconds(10));
+		long now = System.currentTimeMillis();
+
+		scheduler.schedule(() -> {
+		}, new Date(now + 60_000));
+		scheduler.schedule(() -> {
+		}, new Date(now + 55_000));
+		scheduler.schedule(() -> {
+		}, new Date(now + 75_000));
+
+		verify(this.delegate, times(3)).schedule(any(Runnable.class), any(Date.class));
+		assertThat(scheduler.getBatchCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldCancelBatchWhenAllTasksAreCancelled() {
+
+		doReturn(this.future).when(this.delegate).schedule(any(Runnable.class), any(Date.class));
+
+		CoalescingTaskScheduler scheduler = new CoalescingTaskScheduler(this.delegate, Duration.ofSeconds(10));
+		long now = System.currentTimeMillis();
+
+		ScheduledFuture<?> first = scheduler.schedule(() -> {
+		}, new Date(now + 60_000));
+		ScheduledFuture<?> second = scheduler.schedule(() -> {
+		}, new Date(now + 61_000));
+
+		assertThat(first.cancel(false)).isTrue();
+		assertThat(first.isCancelled()).isTrue();
+		assertThat(scheduler.getBatchCount()).isEqualTo(1);
+
+		second.cancel(false);
+
+		verify(this.future).cancel(false);
+		assertThat(scheduler.getBatchCount()).isZero();
+	}
+
+	@Test
+	public void shouldContinueBatchAfterFailingTask() {
+
+		CoalescingTaskScheduler scheduler = new CoalescingTaskScheduler(this.delegate, Duration.ofSeconds(10));
+		AtomicBoolean executed = new AtomicBoolean();
+		long now = System.currentTimeMillis();
+
+		scheduler.schedule(() -> {
+			throw new IllegalStateException("Renewal failed");
+		}, new Date(now + 60_000));
+		scheduler.schedule(() -> executed.set(true), new Date(now + 61_000));
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(this.delegate).schedule(captor.capture(), any(Date.class));
+
+		captor.getValue().run();
+
+		assertThat(executed).isTrue();
+	}
+
+	@Test
+	public void shouldCompleteOneShotTrigger() {
+
+		CoalescingTaskScheduler scheduler = new CoalescingTaskScheduler(this.delegate, Duration.ofSeconds(10));
+		AtomicBoolean fired = new AtomicBoolean();
+		long now = System.currentTimeMillis();
+
+		Trigger oneShot = triggerContext -> fired.compareAndSet(false, true) ? new Date(now + 60_000) : null;
+
+		ScheduledFuture<?> future = scheduler.schedule(() -> {
+		}, oneShot);
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(this.delegate).schedule(captor.capture(), eq(new Date(now + 60_000)));
+
+		captor.getValue().run();
+
+		assertThat(future.isDone()).isTrue();
+		assertThat(scheduler.getBatchCount()).isZero();
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.vault.core.lease.SecretLeaseContainer;
+import org.springframework.vault.core.lease.domain.Lease;
+import org.springframework.vault.core.lease.domain.RequestedSecret;
+import org.springframework.vault.core.lease.event.LeaseListener;
+import org.springframework.vault.core.lease.event.SecretLeaseCreatedEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseExpiredEvent;
+import org.springframework.vault.core.util.PropertyTransformers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link CompactLeaseAwareVaultPropertySource}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CompactLeaseAwareVaultPropertySourceUnitTests {
+
+	@Mock
+	SecretLeaseContainer secretLeaseContainer;
+
+	RequestedSecret requestedSecret = RequestedSecret.rotating("secret/application");
+
+	@Test
+	public void shouldServeUpdatedProperties() {
+
+		CompactLeaseAwareVaultPropertySource propertySource = createPropertySource();
+
+		publish(new SecretLeaseCreatedEvent(this.requestedSecret, Lease.none(),
+				Collections.singletonMap("key", "value")));
+		assertThat(propertySource.getProperty("key")).isEqualTo("value");
+
+		publish(new SecretLeaseCreatedEvent(this.requestedSecret, Lease.none(),
+				Collections.singletonMap("key", "changed")));
+		assertThat(propertySource.getProperty("key")).isEqualTo("changed");
+	}
+
+	@Test
+	public void shouldReplacePropertiesOnRotation() {
+
+		CompactLeaseAwareVaultPropertySource propertySource = createPropertySource();
+
+		Map<String, Object> v1 = new LinkedHashMap<>();
+		v1.put("key", "value");
+		v1.put("removed", "value");
+
+		publish(new SecretLeaseCreatedEvent(this.requestedSecret, Lease.none(), v1));
+		publish(new SecretLeaseCreatedEvent(this.requestedSecret, Lease.none(),
+				Collections.singletonMap("key", "changed")));
+
+		assertThat(propertySource.getPropertyNames()).containsExactly("key");
+		assertThat(propertySource.containsProperty("removed")).isFalse();
+	}
+
+	@Test
+	public void shouldReturnPrecomputedPropertyNames() {
+
+		CompactLeaseAwareVaultPropertySource propertySource = createPropertySource();
+
+		publish(new SecretLeaseCreatedEvent(this.requestedSecret, Lease.none(),
+				Collections.singletonMap("key", "value")));
+
+		assertThat(propertySource.getPropertyNames()).isSameAs(propertySource.getPropertyNames());
+	}
+
+	@Test
+	public void shouldClearPropertiesOnRenewableLeaseExpiry() {
+
+		RequestedSecret renewable = RequestedSecret.renewable("database/creds/readonly");
+		CompactLeaseAwareVaultPropertySource propertySource = new CompactLeaseAwareVaultPropertySource("vault",
+				this.secretLeaseContainer, renewable, PropertyTransformers.noop());
+		Lease lease = Lease.of("lease-id", Duration.ofHours(1), true);
+
+		publish(new SecretLeaseCreatedEvent(renewable, lease, Collections.singletonMap("username", "user")));
+		publish(new SecretLeaseExpiredEvent(renewable, lease));
+
+		assertThat(propertySource.getPropertyNames()).isEmpty();
+	}
+
+	@Test
+	public void shouldRemoveLeaseListenerOnClose() {
+
+		CompactLeaseAwareVaultPropertySource propertySource = createPropertySource();
+
+		ArgumentCaptor<LeaseListener> captor = ArgumentCaptor.forClass(LeaseListener.class);
+		verify(this.secretLeaseContainer).addLeaseListener(captor.capture());
+
+		propertySource.close();
+
+		verify(this.secretLeaseContainer).removeLeaseListener(captor.getValue());
+	}
+
+	private CompactLeaseAwareVaultPropertySource createPropertySource() {
+		return new CompactLeaseAwareVaultPropertySource("vault", this.secretLeaseContainer, this.requestedSecret,
+				PropertyTransformers.noop());
+	}
+
+	private void publish(SecretLeaseEvent event) {
+
+		ArgumentCaptor<LeaseListener> captor = ArgumentCaptor.forClass(LeaseListener.class);
+		verify(this.secretLeaseContainer, atLeastOnce()).addLeaseListener(captor.capture());
+
+		for (LeaseListener listener : captor.getAllValues()) {
+			listener.onLeaseEvent(event);
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CompactPropertyStore}.
+ *
+ * @author Mark Paluch
+ */
+public class CompactPropertyStoreUnitTests {
+
+	@Test
+	public void emptyStoreShouldNotContainProperties() {
+
+		CompactPropertyStore store = CompactPropertyStore.of(Collections.emptyMap());
+
+		assertThat(store.getNames()).isEmpty();
+		assertThat(store.get("key")).isNull();
+		assertThat(store.contains("key")).isFalse();
+	}
+
+	@Test
+	public void shouldRetainAllPropertiesInOrder() {
+
+		Map<String, Object> properties = new LinkedHashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			properties.put("key" + i, i);
+		}
+		properties.put("nullValue", null);
+
+		CompactPropertyStore store = CompactPropertyStore.of(properties);
+
+		assertThat(store.size()).isEqualTo(1001);
+		assertThat(store.getNames()).containsExactly(properties.keySet().toArray(new String[0]));
+
+		properties.forEach((key, value) -> {
+			assertThat(store.contains(key)).isTrue();
+			assertThat(store.get(key)).isEqualTo(value);
+		});
+
+		assertThat(store.contains("unknown")).isFalse();
+		assertThat(store.get("unknown")).isNull();
+	}
+
+	@Test
+	public void shouldHandleCollidingHashCodes() {
+
+		// "Aa" and "BB" share the same hash code
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("Aa", "first");
+		properties.put("BB", "second");
+
+		CompactPropertyStore store = CompactPropertyStore.of(properties);
+
+		assertThat(store.get("Aa")).isEqualTo("first");
+		assertThat(store.get("BB")).isEqualTo("second");
+	}
+
+	@Test
+	public void shouldReturnCachedNames() {
+
+		CompactPropertyStore store = CompactPropertyStore.of(Collections.singletonMap("key", "value"));
+
+		assertThat(store.getNames()).isSameAs(store.getNames());
+	}
+
+}
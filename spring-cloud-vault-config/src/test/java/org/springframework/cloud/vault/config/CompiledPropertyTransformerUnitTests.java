@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.vault.core.util.PropertyTransformer;
+import org.springframework.vault.core.util.PropertyTransformers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CompiledPropertyTransformer}.
+ *
+ * @author Mark Paluch
+ */
+public class CompiledPropertyTransformerUnitTests {
+
+	@Test
+	public void emptyTransformerShouldReturnInput() {
+
+		Map<String, Object> input = Collections.singletonMap("key", "value");
+
+		assertThat(CompiledPropertyTransformer.builder().build().transformProperties(input)).isSameAs(input);
+	}
+
+	@Test
+	public void shouldApplyRulesInOrder() {
+
+		Map<String, Object> input = new LinkedHashMap<>();
+		input.put("data.username", "walter");
+		input.put("data.password", "secret");
+		input.put("other", "value");
+
+		CompiledPropertyTransformer transformer = CompiledPropertyTransformer.builder().unwrap("data")
+				.rename("username", "spring.datasource.username").prefix("my.").build();
+
+		assertThat(transformer.isKeyBased()).isTrue();
+		assertThat(transformer.transformProperties(input)).containsEntry("my.spring.datasource.username", "walter")
+				.containsEntry("my.password", "secret").containsEntry("my.other", "value").hasSize(3);
+	}
+
+	@Test
+	public void shouldMergeAdjacentRules() {
+
+		CompiledPropertyTransformer transformer = CompiledPropertyTransformer.builder().rename("a", "b")
+				.rename("b", "c").prefix("x.").prefix("y.").build();
+
+		assertThat(transformer.transformKey("a")).isEqualTo("y.x.c");
+		assertThat(transformer.transformKey("b")).isEqualTo("y.x.c");
+		assertThat(transformer.transformKey("d")).isEqualTo("y.x.d");
+	}
+
+	@Test
+	public void shouldInlineKnownTransformers() {
+
+		PropertyNameTransformer nameTransformer = new PropertyNameTransformer();
+		nameTransformer.addKeyTransformation("username", "spring.rabbitmq.username");
+
+		CompiledPropertyTransformer transformer = CompiledPropertyTransformer.compile(
+				KeyValueSecretBackendMetadata.UnwrappingPropertyTransformer.unwrap("data"), nameTransformer,
+				PropertyTransformers.noop());
+
+		assertThat(transformer.isKeyBased()).isTrue();
+		assertThat(transformer.transformKey("data.username")).isEqualTo("spring.rabbitmq.username");
+	}
+
+	@Test
+	public void shouldApplyCustomTransformerAsStage() {
+
+		PropertyTransformer upperCase = input -> {
+			Map<String, Object> result = new LinkedHashMap<>();
+			input.forEach((key, value) -> result.put(key.toUpperCase(), value));
+			return result;
+		};
+
+		CompiledPropertyTransformer transformer = CompiledPropertyTransformer.builder().unwrap("data")
+				.transformer(upperCase).prefix("my.").build();
+
+		assertThat(transformer.isKeyBased()).isFalse();
+		assertThat(transformer.transformProperties(Collections.singletonMap("data.key", "value")))
+				.containsEntry("my.KEY", "value");
+	}
+
+}
@@ -61,6 +61,40 @@ public class DiscoveryClientVaultBootstrapConfigurationTests {
 					VaultEndpointProvider endpointProvider = context.getBean(VaultEndpointProvider.class);
 					VaultEndpoint vaultEndpoint = endpointProvider.getVaultEndpoint();
 					assertThat(vaultEndpoint.getPort()).isEqualTo(1234);
+
+					assertThat(context).doesNotHaveBean("vaultEndpointStatisticsRestTemplateCustomizer");
+				});
+	}
+
+	@Test
+	public void shouldRegisterInstanceSelection() {
+
+		this.contextRunner.withUserConfiguration(DiscoveryConfiguration.class)
+				.withPropertyValues("spring.cloud.vault.token=foo", "spring.cloud.vault.discovery.enabled=true",
+						"spring.cloud.vault.discovery.selection-strategy=least-outstanding-requests",
+						"spring.cloud.bootstrap.enabled=true")
+				.run(context -> {
+
+					assertThat(context).hasSingleBean(VaultServiceInstanceSelector.class)
+							.hasSingleBean(VaultEndpointStatistics.class)
+							.hasBean("vaultEndpointStatisticsRestTemplateCustomizer");
+
+					VaultEndpointProvider endpointProvider = context.getBean(VaultEndpointProvider.class);
+					assertThat(endpointProvider.getVaultEndpoint().getHost()).isEqualTo("foo");
+				});
+	}
+
+	@Test
+	public void shouldNotRecordStatisticsForRoundRobinSelection() {
+
+		this.contextRunner.withUserConfiguration(DiscoveryConfiguration.class)
+				.withPropertyValues("spring.cloud.vault.token=foo", "spring.cloud.vault.discovery.enabled=true",
+						"spring.cloud.vault.discovery.selection-strategy=round-robin",
+						"spring.cloud.bootstrap.enabled=true")
+				.run(context -> {
+
+					assertThat(context).hasSingleBean(VaultServiceInstanceSelector.class)
+							.doesNotHaveBean("vaultEndpointStatisticsRestTemplateCustomizer");
 				});
 	}
 
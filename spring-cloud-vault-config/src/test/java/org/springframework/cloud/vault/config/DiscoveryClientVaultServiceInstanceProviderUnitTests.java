@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link DiscoveryClientVaultServiceInstanceProvider}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DiscoveryClientVaultServiceInstanceProviderUnitTests {
+
+	@Mock
+	DiscoveryClient discoveryClient;
+
+	ServiceInstance vault1 = new DefaultServiceInstance("vault-1", "vault", "vault1", 8200, true);
+
+	ServiceInstance vault2 = new DefaultServiceInstance("vault-2", "vault", "vault2", 8200, true);
+
+	@Test
+	public void shouldLookupInstancesOnEachCallWithoutCache() {
+
+		when(this.discoveryClient.getInstances("vault")).thenReturn(Arrays.asList(this.vault1, this.vault2));
+
+		DiscoveryClientVaultServiceInstanceProvider provider = new DiscoveryClientVaultServiceInstanceProvider(
+				this.discoveryClient);
+
+		assertThat(provider.getVaultServerInstance("vault")).isSameAs(this.vault1);
+		assertThat(provider.getVaultServerInstance("vault")).isSameAs(this.vault1);
+
+		verify(this.discoveryClient, times(2)).getInstances("vault");
+	}
+
+	@Test
+	public void shouldCacheInstancesAndApplySelector() {
+
+		when(this.discoveryClient.getInstances("vault")).thenReturn(Arrays.asList(this.vault1, this.vault2));
+
+		DiscoveryClientVaultServiceInstanceProvider provider = new DiscoveryClientVaultServiceInstanceProvider(
+				this.discoveryClient, Duration.ofMinutes(1), VaultServiceInstanceSelectors.roundRobin());
+
+		assertThat(provider.getVaultServerInstance("vault")).isSameAs(this.vault1);
+		assertThat(provider.getVaultServerInstance("vault")).isSameAs(this.vault2);
+
+		verify(this.discoveryClient).getInstances("vault");
+	}
+
+	@Test
+	public void shouldNotCacheMissingInstances() {
+
+		when(this.discoveryClient.getInstances("vault")).thenReturn(Collections.emptyList(),
+				Collections.singletonList(this.vault2));
+
+		DiscoveryClientVaultServiceInstanceProvider provider = new DiscoveryClientVaultServiceInstanceProvider(
+				this.discoveryClient, Duration.ofMinutes(1), VaultServiceInstanceSelectors.first());
+
+		assertThatIllegalStateException().isThrownBy(() -> provider.getVaultServerInstance("vault"))
+				.withMessageContaining("No instances found");
+		assertThat(provider.getVaultServerInstance("vault")).isSameAs(this.vault2);
+	}
+
+}
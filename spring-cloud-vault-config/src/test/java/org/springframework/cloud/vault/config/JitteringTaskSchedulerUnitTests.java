@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link JitteringTaskScheduler}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JitteringTaskSchedulerUnitTests {
+
+	@Mock
+	TaskScheduler delegate;
+
+	@Test
+	public void shouldBringExecutionForward() {
+
+		JitteringTaskScheduler scheduler = new JitteringTaskScheduler(this.delegate, 0.5, 0, () -> 1);
+
+		long now = System.currentTimeMillis();
+		Date jittered = scheduler.jitter(new Date(now + 100_000));
+
+		assertThat(jittered.getTime()).isBetween(now + 49_000, now + 51_000);
+	}
+
+	@Test
+	public void shouldNotJitterPastExecutions() {
+
+		JitteringTaskScheduler scheduler = new JitteringTaskScheduler(this.delegate, 1, 0, () -> 1);
+
+		Date past = new Date(System.currentTimeMillis() - 1000);
+
+		assertThat(scheduler.jitter(past)).isEqualTo(past);
+	}
+
+	@Test
+	public void shouldJitterTriggerExecutions() {
+
+		JitteringTaskScheduler scheduler = new JitteringTaskScheduler(this.delegate, 1, 0, () -> 0.5);
+		long now = System.currentTimeMillis();
+		Trigger trigger = triggerContext -> new Date(now + 100_000);
+
+		Runnable task = () -> {
+		};
+		scheduler.schedule(task, trigger);
+
+		ArgumentCaptor<Trigger> captor = ArgumentCaptor.forClass(Trigger.class);
+		verify(this.delegate).schedule(eq(task), captor.capture());
+
+		Date executionTime = captor.getValue().nextExecutionTime(new SimpleTriggerContext());
+		assertThat(executionTime.getTime()).isBetween(now + 49_000, now + 51_000);
+	}
+
+	@Test
+	public void shouldLimitConcurrency() throws InterruptedException {
+
+		JitteringTaskScheduler scheduler = new JitteringTaskScheduler(this.delegate, 0, 1);
+
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(4);
+
+		Runnable task = () -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(10);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+			latch.countDown();
+		};
+
+		Date startTime = new Date();
+		scheduler.schedule(task, startTime);
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(this.delegate).schedule(captor.capture(), any(Date.class));
+
+		for (int i = 0; i < 4; i++) {
+			new Thread(captor.getValue()).start();
+		}
+
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxRunning).hasValue(1);
+	}
+
+	@Test
+	public void shouldRejectInvalidJitter() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new JitteringTaskScheduler(this.delegate, 1.5, 0));
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link OffloadingTaskScheduler}.
+ *
+ * @author Mark Paluch
+ */
+public class OffloadingTaskSchedulerUnitTests {
+
+	OffloadingTaskScheduler scheduler;
+
+	@Before
+	public void before() {
+
+		this.scheduler = new OffloadingTaskScheduler(
+				OffloadingTaskScheduler.createBoundedExecutor(1, "OffloadingTaskSchedulerUnitTests-"));
+		this.scheduler.setThreadNamePrefix("Scheduler-");
+		this.scheduler.afterPropertiesSet();
+	}
+
+	@After
+	public void after() {
+		this.scheduler.destroy();
+	}
+
+	@Test
+	public void shouldRunOneShotTaskOnExecutor() throws Exception {
+
+		CompletableFuture<String> threadName = new CompletableFuture<>();
+
+		this.scheduler.schedule(() -> threadName.complete(Thread.currentThread().getName()), new Date());
+
+		assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("OffloadingTaskSchedulerUnitTests-");
+	}
+
+	@Test
+	public void shouldRunPeriodicTaskOnScheduler() throws Exception {
+
+		CompletableFuture<String> threadName = new CompletableFuture<>();
+
+		this.scheduler.scheduleAtFixedRate(() -> threadName.complete(Thread.currentThread().getName()), 1000);
+
+		assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("Scheduler-");
+	}
+
+	@Test
+	public void shouldSuppressTaskErrors() throws Exception {
+
+		CompletableFuture<String> threadName = new CompletableFuture<>();
+
+		this.scheduler.schedule(() -> {
+			throw new IllegalStateException("Renewal failed");
+		}, new Date());
+		this.scheduler.schedule(() -> threadName.complete(Thread.currentThread().getName()), new Date());
+
+		assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("OffloadingTaskSchedulerUnitTests-1");
+	}
+
+	@Test
+	public void shouldShutdownExecutor() {
+
+		ExecutorService executor = this.scheduler.getExecutor();
+
+		this.scheduler.destroy();
+
+		assertThat(executor.isShutdown()).isTrue();
+	}
+
+}
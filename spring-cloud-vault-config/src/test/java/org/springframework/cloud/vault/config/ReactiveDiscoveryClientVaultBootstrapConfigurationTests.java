@@ -68,6 +68,21 @@ public class ReactiveDiscoveryClientVaultBootstrapConfigurationTests {
 				});
 	}
 
+	@Test
+	public void shouldRecordStatisticsOnlyForStatisticsBasedSelection() {
+
+		this.contextRunner.withUserConfiguration(ReactiveDiscoveryConfiguration.class)
+				.withPropertyValues("spring.cloud.vault.token=foo", "spring.cloud.vault.discovery.enabled=true",
+						"spring.cloud.bootstrap.enabled=true")
+				.run(context -> assertThat(context).doesNotHaveBean("vaultEndpointStatisticsWebClientCustomizer"));
+
+		this.contextRunner.withUserConfiguration(ReactiveDiscoveryConfiguration.class)
+				.withPropertyValues("spring.cloud.vault.token=foo", "spring.cloud.vault.discovery.enabled=true",
+						"spring.cloud.vault.discovery.selection-strategy=latency-weighted",
+						"spring.cloud.bootstrap.enabled=true")
+				.run(context -> assertThat(context).hasBean("vaultEndpointStatisticsWebClientCustomizer"));
+	}
+
 	@Test
 	public void shouldRegisterVaultEndpointAdapterBean() {
 
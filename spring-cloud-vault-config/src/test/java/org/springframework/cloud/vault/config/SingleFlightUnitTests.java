@@ -0,0 +1,110 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ *
+ * @author Mark Paluch
+ */
+public class SingleFlightUnitTests {
+
+	@Test
+	public void concurrentCallersShouldShareExecution() throws Exception {
+
+		SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ZERO);
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+			executions.incrementAndGet();
+			started.countDown();
+			await(release);
+			return "value";
+		}));
+
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		CompletableFuture<String> follower = new CompletableFuture<>();
+		Thread thread = new Thread(() -> follower.complete(singleFlight.execute("key", () -> "other")));
+		thread.start();
+
+		// wait until the follower waits for the leader
+		long deadline = System.currentTimeMillis() + 5000;
+		while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(executions).hasValue(1);
+	}
+
+	@Test
+	public void shouldNotRetainResultWithoutCoalescingWindow() {
+
+		SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ZERO);
+
+		assertThat(singleFlight.execute("key", () -> "first")).isEqualTo("first");
+		assertThat(singleFlight.execute("key", () -> "second")).isEqualTo("second");
+	}
+
+	@Test
+	public void shouldRetainResultWithinCoalescingWindow() {
+
+		SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMinutes(1));
+
+		assertThat(singleFlight.execute("key", () -> "first")).isEqualTo("first");
+		assertThat(singleFlight.execute("key", () -> "second")).isEqualTo("first");
+		assertThat(singleFlight.execute("other", () -> "third")).isEqualTo("third");
+	}
+
+	@Test
+	public void shouldNotRetainFailures() {
+
+		SingleFlight<String, String> singleFlight = new SingleFlight<>(Duration.ofMinutes(1));
+
+		assertThatIllegalStateException().isThrownBy(() -> singleFlight.execute("key", () -> {
+			throw new IllegalStateException("Status 500");
+		}));
+
+		assertThat(singleFlight.execute("key", () -> "value")).isEqualTo("value");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
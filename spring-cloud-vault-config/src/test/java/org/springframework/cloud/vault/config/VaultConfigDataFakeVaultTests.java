@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.cloud.vault.util.FakeVaultServer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests using Spring Boot's ConfigData API against {@link FakeVaultServer}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultConfigDataFakeVaultTests {
+
+	FakeVaultServer vault;
+
+	@Before
+	public void before() {
+		this.vault = FakeVaultServer.start();
+	}
+
+	@After
+	public void after() {
+		this.vault.close();
+	}
+
+	@Test
+	public void shouldLoadVersionedSecret() {
+
+		this.vault.putSecret("secret/my-app", Collections.singletonMap("vault-key", "hello"));
+
+		try (ConfigurableApplicationContext context = application()
+				.properties("spring.config.import=vault://secret/my-app").run()) {
+
+			assertThat(context.getEnvironment().getProperty("vault-key")).isEqualTo("hello");
+		}
+
+		assertThat(this.vault.getRequestCount("secret/data/my-app")).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRenewAndRevokeDatabaseLeases() {
+
+		try (ConfigurableApplicationContext context = application()
+				.properties("spring.config.import=vault://database/creds/readonly",
+						"spring.cloud.vault.config.lifecycle.enabled=true")
+				.run()) {
+
+			assertThat(context.getEnvironment().getProperty("username")).startsWith("v-");
+			assertThat(this.vault.getActiveLeaseCount()).isEqualTo(1);
+		}
+
+		assertThat(this.vault.getActiveLeaseCount()).isZero();
+	}
+
+	@Test
+	public void shouldFailFastOnInjectedErrors() {
+
+		this.vault.putSecret("secret/my-app", Collections.singletonMap("vault-key", "hello"));
+		this.vault.setErrorPaths(path -> path.startsWith("secret/"));
+		this.vault.setErrorRate(1);
+
+		assertThatThrownBy(() -> application()
+				.properties("spring.config.import=vault://secret/my-app", "spring.cloud.vault.fail-fast=true").run()
+				.close()).hasMessageContaining("500");
+	}
+
+	private SpringApplicationBuilder application() {
+		return new SpringApplicationBuilder(TestApplication.class).web(WebApplicationType.NONE)
+				.properties(this.vault.getProperties());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableAutoConfiguration(exclude = RefreshAutoConfiguration.class)
+	static class TestApplication {
+
+	}
+
+}
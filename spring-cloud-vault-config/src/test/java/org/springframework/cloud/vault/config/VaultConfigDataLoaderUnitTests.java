@@ -16,12 +16,15 @@
 
 package org.springframework.cloud.vault.config;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 
 import org.springframework.boot.DefaultBootstrapContext;
 import org.springframework.boot.context.config.ConfigData;
 import org.springframework.boot.logging.DeferredLogs;
 import org.springframework.cloud.vault.util.IntegrationTestSupport;
+import org.springframework.context.support.GenericApplicationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -48,4 +51,28 @@ public class VaultConfigDataLoaderUnitTests extends IntegrationTestSupport {
 		assertThat(vaultDisabled).isNull();
 	}
 
+	@Test
+	public void shouldRegisterLazyBeans() {
+
+		DefaultBootstrapContext context = new DefaultBootstrapContext();
+		AtomicInteger creations = new AtomicInteger();
+
+		VaultConfigDataLoader.registerLazilyIfAbsent(context, "myString", String.class, ctx -> {
+			creations.incrementAndGet();
+			return "value";
+		});
+
+		GenericApplicationContext applicationContext = new GenericApplicationContext();
+		context.close(applicationContext);
+		applicationContext.refresh();
+
+		assertThat(applicationContext.getBeanFactory().getBeanDefinition("myString").isLazyInit()).isTrue();
+		assertThat(creations).hasValue(0);
+
+		assertThat(applicationContext.getBean("myString")).isEqualTo("value");
+		assertThat(creations).hasValue(1);
+
+		applicationContext.close();
+	}
+
 }
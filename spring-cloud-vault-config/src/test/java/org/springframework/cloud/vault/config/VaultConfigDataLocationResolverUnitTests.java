@@ -28,10 +28,12 @@ import org.springframework.boot.context.config.ConfigDataLocation;
 import org.springframework.boot.context.config.ConfigDataLocationResolverContext;
 import org.springframework.boot.context.config.Profiles;
 import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -121,4 +123,52 @@ public class VaultConfigDataLocationResolverUnitTests {
 				.transformProperties(Collections.singletonMap("key", "value"))).containsEntry("key", "value");
 	}
 
+	@Test
+	public void shouldNotRegisterPrefetchByDefault() {
+
+		VaultConfigDataLocationResolver resolver = new VaultConfigDataLocationResolver();
+
+		resolver.resolveProfileSpecific(this.contextMock, ConfigDataLocation.of("vault://my/context/path"),
+				this.profilesMock);
+
+		assertThat(this.bootstrapContext.isRegistered(VaultConfigPrefetch.class)).isFalse();
+	}
+
+	@Test
+	public void shouldRegisterResolvedLocationsForPrefetch() {
+
+		when(this.contextMock.getBinder()).thenReturn(new Binder(new MapConfigurationPropertySource(
+				Collections.singletonMap("spring.cloud.vault.config.prefetch.enabled", "true"))));
+
+		VaultConfigDataLocationResolver resolver = new VaultConfigDataLocationResolver();
+
+		resolver.resolveProfileSpecific(this.contextMock, ConfigDataLocation.of("vault://my/context/path"),
+				this.profilesMock);
+		resolver.resolveProfileSpecific(this.contextMock, ConfigDataLocation.of("vault://other/path"),
+				this.profilesMock);
+
+		assertThat(this.bootstrapContext.isRegistered(VaultConfigPrefetch.class)).isTrue();
+
+		VaultConfigTemplate templateMock = mock(VaultConfigTemplate.class);
+		this.bootstrapContext.get(VaultConfigPrefetch.class).prefetch(templateMock);
+
+		verify(templateMock).prefetch(Arrays.asList("my/context/path", "other/path"), 4);
+	}
+
+	@Test
+	public void shouldPrefetchKeyValueLocationsOnly() {
+
+		SecretBackendMetadata database = mock(SecretBackendMetadata.class);
+		when(database.getPath()).thenReturn("database/creds/readonly");
+
+		VaultConfigPrefetch prefetch = new VaultConfigPrefetch(4);
+		prefetch.add(
+				Arrays.asList(new VaultConfigLocation("secret/my-app", false), new VaultConfigLocation(database, false)));
+
+		VaultConfigTemplate templateMock = mock(VaultConfigTemplate.class);
+		prefetch.prefetch(templateMock);
+
+		verify(templateMock).prefetch(Collections.singletonList("secret/my-app"), 4);
+	}
+
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.util.PropertyTransformer;
+import org.springframework.vault.core.util.PropertyTransformers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link VaultConfigPrefetch}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultConfigPrefetchUnitTests {
+
+	@Test
+	public void shouldIssueLeasedLocationsConcurrently() {
+
+		VaultConfigLocation readonly = new VaultConfigLocation(new Metadata("database/creds/readonly"), false);
+		VaultConfigLocation readwrite = new VaultConfigLocation(new Metadata("database/creds/readwrite"), false);
+
+		VaultConfigPrefetch prefetch = new VaultConfigPrefetch(2);
+		prefetch.add(Arrays.asList(readonly, readwrite));
+
+		CountDownLatch started = new CountDownLatch(2);
+
+		prefetch.issue(location -> {
+
+			started.countDown();
+
+			try {
+				// both issuances must be in flight at the same time to proceed
+				if (!started.await(5, TimeUnit.SECONDS)) {
+					throw new VaultException("Issuance did not overlap");
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new VaultException("Interrupted", e);
+			}
+
+			return new MapPropertySource(location.getSecretBackendMetadata().getPath(), Collections.emptyMap());
+		});
+
+		assertThat(prefetch.getIssued(readonly).getName()).isEqualTo("database/creds/readonly");
+		assertThat(prefetch.getIssued(readwrite).getName()).isEqualTo("database/creds/readwrite");
+	}
+
+	@Test
+	public void shouldIssueLeasedLocationsOnlyOnce() {
+
+		VaultConfigLocation location = new VaultConfigLocation(new Metadata("database/creds/readonly"), false);
+		AtomicInteger issuances = new AtomicInteger();
+
+		VaultConfigPrefetch prefetch = new VaultConfigPrefetch(2);
+		prefetch.add(Collections.singletonList(location));
+		prefetch.add(Collections.singletonList(location));
+
+		prefetch.issue(it -> {
+			issuances.incrementAndGet();
+			return new MapPropertySource("vault", Collections.emptyMap());
+		});
+		prefetch.issue(it -> {
+			issuances.incrementAndGet();
+			return new MapPropertySource("vault", Collections.emptyMap());
+		});
+
+		assertThat(prefetch.getIssued(location)).isNotNull();
+		assertThat(prefetch.getIssued(location)).isNull();
+		assertThat(issuances).hasValue(1);
+	}
+
+	@Test
+	public void shouldNotIssueKeyValueLocations() {
+
+		VaultConfigLocation location = new VaultConfigLocation("secret/application", false);
+
+		VaultConfigPrefetch prefetch = new VaultConfigPrefetch(2);
+		prefetch.add(Collections.singletonList(location));
+
+		prefetch.issue(it -> new MapPropertySource("vault", Collections.emptyMap()));
+
+		assertThat(prefetch.getIssued(location)).isNull();
+	}
+
+	@Test
+	public void shouldPropagateIssuanceFailure() {
+
+		VaultConfigLocation location = new VaultConfigLocation(new Metadata("database/creds/readonly"), false);
+
+		VaultConfigPrefetch prefetch = new VaultConfigPrefetch(2);
+		prefetch.add(Collections.singletonList(location));
+
+		prefetch.issue(it -> {
+			throw new VaultException("Permission denied");
+		});
+
+		assertThatExceptionOfType(VaultException.class).isThrownBy(() -> prefetch.getIssued(location))
+				.withMessage("Permission denied");
+	}
+
+	static class Metadata implements SecretBackendMetadata {
+
+		private final String path;
+
+		Metadata(String path) {
+			this.path = path;
+		}
+
+		@Override
+		public String getName() {
+			return this.path;
+		}
+
+		@Override
+		public String getPath() {
+			return this.path;
+		}
+
+		@Override
+		public PropertyTransformer getPropertyTransformer() {
+			return PropertyTransformers.noop();
+		}
+
+		@Override
+		public Map<String, String> getVariables() {
+			return Collections.emptyMap();
+		}
+
+	}
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.core.lease.domain.Lease;
+import org.springframework.vault.core.lease.domain.RequestedSecret;
+import org.springframework.vault.core.lease.event.SecretLeaseCreatedEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseEvent;
+import org.springframework.vault.core.lease.event.SecretLeaseExpiredEvent;
+import org.springframework.vault.core.lease.event.SecretNotFoundEvent;
+import org.springframework.vault.support.VaultResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link VaultConfigSecretLeaseContainer}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VaultConfigSecretLeaseContainerUnitTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Mock
+	VaultOperations vaultOperations;
+
+	@Mock
+	TaskScheduler taskScheduler;
+
+	VaultConfigSecretLeaseContainer container;
+
+	List<SecretLeaseEvent> leaseEvents = new ArrayList<>();
+
+	List<Object> applicationEvents = new ArrayList<>();
+
+	@Before
+	public void before() {
+
+		this.container = new VaultConfigSecretLeaseContainer(
+				new VaultConfigTemplate(this.vaultOperations, new VaultProperties()), this.taskScheduler);
+		this.container.setVersionPollingInterval(Duration.ofMinutes(1));
+		this.container.addLeaseListener(this.leaseEvents::add);
+		this.container.setApplicationEventPublisher(this.applicationEvents::add);
+	}
+
+	@Test
+	public void shouldReadSecretOnlyIfVersionChanged() {
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/secret/application"))
+				.thenReturn(mountResponse("secret/", "2"));
+
+		RequestedSecret secret = RequestedSecret.rotating("secret/application");
+
+		Map<String, Object> v1 = new LinkedHashMap<>();
+		v1.put("unchanged", "value");
+		v1.put("modified", "old");
+		v1.put("removed", "value");
+
+		Map<String, Object> v2 = new LinkedHashMap<>();
+		v2.put("unchanged", "value");
+		v2.put("modified", "new");
+		v2.put("added", "value");
+
+		when(this.vaultOperations.read("secret/data/application")).thenReturn(secretResponse(v1, 1));
+		this.container.doGetSecrets(secret);
+
+		verify(this.taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class),
+				eq(Duration.ofMinutes(1)));
+
+		when(this.vaultOperations.read("secret/metadata/application")).thenReturn(metadataResponse(1));
+		this.container.pollVersions();
+
+		verify(this.vaultOperations, times(1)).read("secret/data/application");
+		assertThat(this.leaseEvents).isEmpty();
+		assertThat(this.applicationEvents).isEmpty();
+
+		when(this.vaultOperations.read("secret/data/application")).thenReturn(secretResponse(v2, 2));
+		when(this.vaultOperations.read("secret/metadata/application")).thenReturn(metadataResponse(2));
+		this.container.pollVersions();
+
+		verify(this.vaultOperations, times(2)).read("secret/data/application");
+		assertThat(this.leaseEvents).hasSize(2);
+		assertThat(this.leaseEvents.get(0)).isInstanceOf(SecretLeaseExpiredEvent.class);
+		assertThat(this.leaseEvents.get(1)).isInstanceOf(SecretLeaseCreatedEvent.class);
+		assertThat(((SecretLeaseCreatedEvent) this.leaseEvents.get(1)).getSecrets()).isEqualTo(v2);
+
+		assertThat(this.applicationEvents).hasSize(1);
+		SecretChangedEvent event = (SecretChangedEvent) this.applicationEvents.get(0);
+		assertThat(event.getSource()).isSameAs(secret);
+		assertThat(event.getVersion()).isEqualTo(2);
+		assertThat(event.getChangedPropertyNames()).containsExactly("modified", "added", "removed");
+	}
+
+	@Test
+	public void shouldNotTrackUnversionedSecrets() {
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/kv/application"))
+				.thenReturn(mountResponse("kv/", "1"));
+		when(this.vaultOperations.read("kv/application"))
+				.thenReturn(secretResponse(Collections.singletonMap("key", "value"), null));
+
+		this.container.doGetSecrets(RequestedSecret.rotating("kv/application"));
+		this.container.pollVersions();
+
+		verify(this.vaultOperations, times(1)).read("kv/application");
+		assertThat(this.leaseEvents).isEmpty();
+	}
+
+	@Test
+	public void shouldPublishSecretNotFoundEvent() {
+
+		RequestedSecret secret = RequestedSecret.rotating("kv/absent");
+
+		assertThat(this.container.doGetSecrets(secret)).isNull();
+
+		assertThat(this.leaseEvents).hasSize(1);
+		assertThat(this.leaseEvents.get(0)).isInstanceOf(SecretNotFoundEvent.class);
+		assertThat(this.leaseEvents.get(0).getSource()).isEqualTo(secret);
+	}
+
+	@Test
+	public void shouldReusePersistedLease() {
+
+		VaultSnapshotStore leaseStore = new VaultSnapshotStore(leaseDirectory(),
+				"my-key");
+		leaseStore.write("lease:RENEW:database/creds/readonly",
+				leaseEntry("database/creds/readonly/persisted", Collections.singletonMap("username", "persisted")));
+
+		when(this.vaultOperations.doWithSession(any()))
+				.thenReturn(Lease.of("database/creds/readonly/persisted", Duration.ofHours(1), true));
+
+		this.container.setLeaseStore(leaseStore);
+		VaultResponse response = (VaultResponse) this.container
+				.doGetSecrets(RequestedSecret.renewable("database/creds/readonly"));
+
+		assertThat(response.getLeaseId()).isEqualTo("database/creds/readonly/persisted");
+		assertThat(response.getLeaseDuration()).isEqualTo(3600);
+		assertThat(response.getData()).containsEntry("username", "persisted");
+		verify(this.vaultOperations, never()).read("database/creds/readonly");
+	}
+
+	@Test
+	public void shouldRequestNewSecretsIfPersistedLeaseCannotBeRenewed() {
+
+		VaultSnapshotStore leaseStore = new VaultSnapshotStore(leaseDirectory(),
+				"my-key");
+		leaseStore.write("lease:RENEW:database/creds/readonly",
+				leaseEntry("database/creds/readonly/persisted", Collections.singletonMap("username", "persisted")));
+
+		VaultResponse issued = new VaultResponse();
+		issued.setLeaseId("database/creds/readonly/issued");
+		issued.setLeaseDuration(3600);
+		issued.setRenewable(true);
+		issued.setData(Collections.singletonMap("username", "issued"));
+
+		when(this.vaultOperations.doWithSession(any())).thenThrow(new VaultException("lease not found"));
+		when(this.vaultOperations.read("database/creds/readonly")).thenReturn(issued);
+
+		this.container.setLeaseStore(leaseStore);
+		VaultResponse response = (VaultResponse) this.container
+				.doGetSecrets(RequestedSecret.renewable("database/creds/readonly"));
+
+		assertThat(response.getData()).containsEntry("username", "issued");
+		assertThat(leaseStore.read("lease:RENEW:database/creds/readonly")).containsEntry("lease_id",
+				"database/creds/readonly/issued");
+	}
+
+	@Test
+	public void shouldRevokePersistedLeasesByDefault() {
+
+		VaultSnapshotStore leaseStore = new VaultSnapshotStore(leaseDirectory(), "my-key");
+		leaseStore.write("lease:RENEW:database/creds/readonly",
+				leaseEntry("database/creds/readonly/issued", Collections.singletonMap("username", "issued")));
+
+		this.container.setLeaseStore(leaseStore);
+
+		this.container.doRevokeLease(RequestedSecret.renewable("database/creds/readonly"),
+				Lease.of("database/creds/readonly/issued", Duration.ofHours(1), true));
+
+		verify(this.vaultOperations).doWithSession(any());
+		assertThat(leaseStore.read("lease:RENEW:database/creds/readonly")).isNull();
+	}
+
+	@Test
+	public void shouldNotRevokeRetainedLeases() {
+
+		this.container.setLeaseStore(new VaultSnapshotStore(leaseDirectory(), "my-key"));
+		this.container.setRetainLeases(true);
+
+		this.container.doRevokeLease(RequestedSecret.renewable("database/creds/readonly"),
+				Lease.of("database/creds/readonly/issued", Duration.ofHours(1), true));
+
+		verify(this.vaultOperations, never()).doWithSession(any());
+	}
+
+	private String leaseDirectory() {
+		return new File(this.temporaryFolder.getRoot(), "leases").getAbsolutePath();
+	}
+
+	private static Map<String, Object> leaseEntry(String leaseId, Map<String, Object> data) {
+
+		Map<String, Object> entry = new LinkedHashMap<>();
+		entry.put("lease_id", leaseId);
+		entry.put("data", data);
+		return entry;
+	}
+
+	private static VaultResponse secretResponse(Map<String, Object> secret, Integer version) {
+
+		Map<String, Object> data = new HashMap<>();
+		VaultResponse response = new VaultResponse();
+
+		if (version != null) {
+			data.put("data", secret);
+			data.put("metadata", Collections.singletonMap("version", version));
+		}
+		else {
+			data.putAll(secret);
+		}
+
+		response.setData(data);
+		return response;
+	}
+
+	private static VaultResponse metadataResponse(int currentVersion) {
+
+		VaultResponse response = new VaultResponse();
+		response.setData(Collections.singletonMap("current_version", currentVersion));
+		return response;
+	}
+
+	private static VaultResponse mountResponse(String path, String version) {
+
+		Map<String, Object> data = new HashMap<>();
+		data.put("path", path);
+		data.put("type", "kv");
+		data.put("options", Collections.singletonMap("version", version));
+
+		VaultResponse response = new VaultResponse();
+		response.setData(data);
+		return response;
+	}
+
+}
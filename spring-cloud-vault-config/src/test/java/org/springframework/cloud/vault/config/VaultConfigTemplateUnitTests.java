@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.support.VaultResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link VaultConfigTemplate}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VaultConfigTemplateUnitTests {
+
+	@Mock
+	VaultOperations vaultOperations;
+
+	VaultConfigTemplate template;
+
+	@Before
+	public void before() {
+		this.template = new VaultConfigTemplate(this.vaultOperations, new VaultProperties());
+	}
+
+	@Test
+	public void shouldConsumePrefetchedSecretOnce() {
+
+		VaultResponse response = new VaultResponse();
+		response.setData(Collections.singletonMap("key", "value"));
+		when(this.vaultOperations.read("secret/foo")).thenReturn(response);
+
+		this.template.prefetch(Arrays.asList("secret/foo", "secret/foo"), 2);
+
+		assertThat(this.template.readSecret("secret/foo")).isSameAs(response);
+		verify(this.vaultOperations, times(1)).read("secret/foo");
+
+		assertThat(this.template.readSecret("secret/foo")).isSameAs(response);
+		verify(this.vaultOperations, times(2)).read("secret/foo");
+	}
+
+	@Test
+	public void shouldDiscardUnusedPrefetchedSecrets() {
+
+		VaultResponse response = new VaultResponse();
+		response.setData(Collections.singletonMap("key", "value"));
+		when(this.vaultOperations.read("secret/foo")).thenReturn(response);
+
+		this.template.prefetch(Collections.singletonList("secret/foo"), 1);
+		verify(this.vaultOperations, timeout(1000)).read("secret/foo");
+
+		this.template.clearPrefetched();
+		this.template.readSecret("secret/foo");
+
+		verify(this.vaultOperations, times(2)).read("secret/foo");
+	}
+
+	@Test
+	public void shouldPropagatePrefetchFailure() {
+
+		when(this.vaultOperations.read("secret/foo")).thenThrow(new VaultException("Status 500"));
+
+		this.template.prefetch(Collections.singletonList("secret/foo"), 1);
+
+		assertThatExceptionOfType(VaultException.class).isThrownBy(() -> this.template.readSecret("secret/foo"))
+				.withMessage("Status 500");
+	}
+
+	@Test
+	public void shouldShareReadsWithinCoalescingWindow() {
+
+		VaultProperties properties = new VaultProperties();
+		properties.getConfig().setCoalescingWindow(Duration.ofMinutes(1));
+		VaultConfigTemplate template = new VaultConfigTemplate(this.vaultOperations, properties);
+
+		VaultResponse response = new VaultResponse();
+		response.setData(Collections.singletonMap("key", "value"));
+		when(this.vaultOperations.read("secret/foo")).thenReturn(response);
+
+		SecretBackendMetadata metadata = KeyValueSecretBackendMetadata.create("secret", "foo");
+
+		Secrets first = template.read(metadata);
+		Secrets second = template.read(metadata);
+
+		assertThat(first.getData()).containsEntry("key", "value");
+		assertThat(second).isSameAs(first);
+		verify(this.vaultOperations, times(1)).read("secret/foo");
+	}
+
+	@Test
+	public void shouldRecordReadStartupStep() {
+
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(16);
+		this.template.setApplicationStartup(applicationStartup);
+
+		VaultResponse response = new VaultResponse();
+		response.setData(Collections.singletonMap("key", "value"));
+		when(this.vaultOperations.read("secret/foo")).thenReturn(response);
+
+		this.template.read(KeyValueSecretBackendMetadata.create("secret", "foo"));
+
+		List<TimelineEvent> events = applicationStartup.getBufferedTimeline().getEvents();
+		assertThat(events).hasSize(1);
+
+		StartupStep step = events.get(0).getStartupStep();
+		Map<String, String> tags = new LinkedHashMap<>();
+		step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+
+		assertThat(step.getName()).isEqualTo("spring.cloud.vault.config.read");
+		assertThat(tags).containsEntry("path", "secret/foo").containsEntry("backend", "secret")
+				.containsEntry("status", "200").containsEntry("properties", "1");
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+
+import org.junit.Test;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.vault.support.ClientOptions;
+import org.springframework.vault.support.SslConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link VaultHttpClientFactory}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultHttpClientFactoryUnitTests {
+
+	@Test
+	public void shouldConsiderHttpPropertiesAsCustomization() {
+
+		VaultProperties.Http http = new VaultProperties.Http();
+
+		assertThat(VaultHttpClientFactory.isCustomized(http)).isFalse();
+
+		http.setMaxConnections(10);
+
+		assertThat(VaultHttpClientFactory.isCustomized(http)).isTrue();
+	}
+
+	@Test
+	public void shouldCreatePooledHttpComponentsClient() {
+
+		VaultProperties.Http http = new VaultProperties.Http();
+		http.setMaxConnections(10);
+		http.setMaxConnectionsPerRoute(5);
+		http.setIdleTimeout(Duration.ofSeconds(30));
+		http.setKeepAlive(Duration.ofMinutes(2));
+		http.setTcpNoDelay(true);
+
+		ClientHttpRequestFactory factory = VaultHttpClientFactory.create(new ClientOptions(),
+				SslConfiguration.unconfigured(), http);
+
+		assertThat(factory).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+	}
+
+	@Test
+	public void shouldCreateReactorNettyConnector() {
+
+		VaultProperties.Http http = new VaultProperties.Http();
+		http.setMaxConnections(10);
+		http.setPreferHttp2(true);
+		http.setSoKeepAlive(true);
+
+		ClientHttpConnector connector = VaultHttpClientFactory.createConnector(new ClientOptions(),
+				SslConfiguration.unconfigured(), http);
+
+		assertThat(connector).isInstanceOf(ReactorClientHttpConnector.class);
+	}
+
+}
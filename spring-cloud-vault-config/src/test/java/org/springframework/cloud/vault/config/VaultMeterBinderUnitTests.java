@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.vault.core.lease.SecretLeaseContainer;
+import org.springframework.vault.core.lease.domain.Lease;
+import org.springframework.vault.core.lease.domain.RequestedSecret;
+import org.springframework.vault.core.lease.event.AfterSecretLeaseRenewedEvent;
+import org.springframework.vault.core.lease.event.LeaseListener;
+import org.springframework.vault.core.lease.event.SecretLeaseExpiredEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link VaultMeterBinder}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VaultMeterBinderUnitTests {
+
+	@Mock
+	SecretLeaseContainer secretLeaseContainer;
+
+	MeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	public void shouldReplayRecordingsMadeBeforeBinding() {
+
+		VaultMetricsRecorder recorder = new VaultMetricsRecorder();
+		recorder.recordRead("secret/foo", VaultMetricsRecorder.SUCCESS, 1000);
+		recorder.recordLogin("approle", VaultMetricsRecorder.SUCCESS, 1000);
+
+		new VaultMeterBinder(recorder, null, null).bindTo(this.registry);
+
+		recorder.recordRead("secret/foo", VaultMetricsRecorder.SUCCESS, 1000);
+		recorder.recordRead("secret/bar", VaultMetricsRecorder.NOT_FOUND, 1000);
+
+		assertThat(this.registry.get("vault.secret.read").tags("backend", "secret", "outcome", "success").timer()
+				.count()).isEqualTo(2);
+		assertThat(this.registry.get("vault.secret.read").tags("backend", "secret", "outcome", "not_found").timer()
+				.count()).isEqualTo(1);
+		assertThat(this.registry.find("vault.secret.read").tagKeys("path").timer()).isNull();
+		assertThat(this.registry.get("vault.login").tags("method", "approle", "outcome", "success").timer().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void shouldCountLeaseEvents() {
+
+		new VaultMeterBinder(null, null, this.secretLeaseContainer).bindTo(this.registry);
+
+		ArgumentCaptor<LeaseListener> captor = ArgumentCaptor.forClass(LeaseListener.class);
+		verify(this.secretLeaseContainer).addLeaseListener(captor.capture());
+
+		RequestedSecret secret = RequestedSecret.rotating("database/creds/readonly");
+		Lease lease = Lease.of("lease", Duration.ofHours(1), true);
+
+		captor.getValue().onLeaseEvent(new AfterSecretLeaseRenewedEvent(secret, lease));
+		captor.getValue().onLeaseEvent(new AfterSecretLeaseRenewedEvent(secret, lease));
+		captor.getValue().onLeaseEvent(new SecretLeaseExpiredEvent(secret, lease));
+
+		assertThat(this.registry.get("vault.lease.renewals").tag("backend", "database").counter().count())
+				.isEqualTo(2);
+		assertThat(this.registry.get("vault.lease.expirations").tag("backend", "database").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void shouldTagWithPathIfEnabled() {
+
+		VaultMetricsRecorder recorder = new VaultMetricsRecorder();
+
+		new VaultMeterBinder(recorder, null, null, true).bindTo(this.registry);
+
+		recorder.recordRead("secret/foo", VaultMetricsRecorder.SUCCESS, 1000);
+
+		assertThat(this.registry.get("vault.secret.read").tags("backend", "secret", "path", "secret/foo").timer()
+				.count()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.support.VaultResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link VaultMountCache}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VaultMountCacheUnitTests {
+
+	@Mock
+	VaultOperations vaultOperations;
+
+	@Test
+	public void shouldResolveMountOncePerMount() {
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/secret/application"))
+				.thenReturn(mountResponse("secret/", "2"));
+
+		VaultMountCache cache = new VaultMountCache(this.vaultOperations, false);
+
+		assertThat(cache.isVersioned("secret/application")).isTrue();
+		assertThat(cache.isVersioned("secret/my-app")).isTrue();
+		assertThat(cache.isVersioned("secret/my-app/cloud")).isTrue();
+
+		verify(this.vaultOperations, times(1)).read(anyString());
+	}
+
+	@Test
+	public void shouldRememberUnavailableMounts() {
+
+		VaultMountCache cache = new VaultMountCache(this.vaultOperations, false);
+
+		assertThat(cache.isVersioned("secret/application")).isFalse();
+		assertThat(cache.isVersioned("secret/application")).isFalse();
+
+		verify(this.vaultOperations, times(1)).read("sys/internal/ui/mounts/secret/application");
+	}
+
+	@Test
+	public void shouldResolveMountsFromListing() {
+
+		Map<String, Object> secret = new HashMap<>();
+		secret.put("secret/", mountInfo("2"));
+		secret.put("kv/", mountInfo("1"));
+
+		VaultResponse response = new VaultResponse();
+		response.setData(Collections.singletonMap("secret", secret));
+		when(this.vaultOperations.read("sys/internal/ui/mounts")).thenReturn(response);
+
+		VaultMountCache cache = new VaultMountCache(this.vaultOperations, true);
+
+		assertThat(cache.isVersioned("secret/application")).isTrue();
+		assertThat(cache.isVersioned("kv/application")).isFalse();
+		assertThat(cache.isVersioned("unknown/application")).isFalse();
+
+		verify(this.vaultOperations, times(1)).read(anyString());
+	}
+
+	@Test
+	public void shouldConsiderOnlyKeyValueMountsVersioned() {
+
+		Map<String, Object> other = new HashMap<>(mountInfo("2"));
+		other.put("type", "database");
+
+		Map<String, Object> mounts = new HashMap<>();
+		mounts.put("secret/", mountInfo("2"));
+		mounts.put("database/", other);
+
+		VaultResponse response = new VaultResponse();
+		response.setData(Collections.singletonMap("secret", mounts));
+		when(this.vaultOperations.read("sys/internal/ui/mounts")).thenReturn(response);
+
+		VaultMountCache cache = new VaultMountCache(this.vaultOperations, true);
+
+		assertThat(cache.isVersioned("secret/application")).isTrue();
+		assertThat(cache.isVersioned("database/creds/readonly")).isFalse();
+	}
+
+	@Test
+	public void shouldPreferLongestMountPath() {
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/secret/application"))
+				.thenReturn(mountResponse("secret/", "1"));
+		when(this.vaultOperations.read("sys/internal/ui/mounts/secret/nested/application"))
+				.thenReturn(mountResponse("secret/nested/", "2"));
+
+		VaultMountCache cache = new VaultMountCache(this.vaultOperations, false);
+
+		assertThat(cache.getMount("secret/nested/application").getPath()).isEqualTo("secret/nested/");
+		assertThat(cache.getMount("secret/application").getPath()).isEqualTo("secret/");
+		assertThat(cache.getMount("secret/nested/other").getPath()).isEqualTo("secret/nested/");
+	}
+
+	@Test
+	public void shouldReadAndUnwrapVersionedSecret() {
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/secret/application"))
+				.thenReturn(mountResponse("secret/", "2"));
+
+		Map<String, Object> data = new HashMap<>();
+		data.put("data", Collections.singletonMap("key", "value"));
+		data.put("metadata", Collections.singletonMap("version", 1));
+
+		VaultResponse secret = new VaultResponse();
+		secret.setData(data);
+		when(this.vaultOperations.read("secret/data/application")).thenReturn(secret);
+
+		VaultMountCache cache = new VaultMountCache(this.vaultOperations, false);
+
+		VaultResponse response = cache.read("secret/application");
+
+		assertThat(response.getData()).containsEntry("key", "value");
+		assertThat(response.getMetadata()).containsEntry("version", 1);
+		verify(this.vaultOperations, never()).read("secret/application");
+	}
+
+	private static VaultResponse mountResponse(String path, String version) {
+
+		Map<String, Object> data = new HashMap<>(mountInfo(version));
+		data.put("path", path);
+
+		VaultResponse response = new VaultResponse();
+		response.setData(data);
+		return response;
+	}
+
+	private static Map<String, Object> mountInfo(String version) {
+
+		Map<String, Object> info = new HashMap<>();
+		info.put("type", "kv");
+		info.put("options", Collections.singletonMap("version", version));
+		return info;
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.vault.VaultException;
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.support.VaultResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link VaultNegativeCache}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VaultNegativeCacheUnitTests {
+
+	@Mock
+	VaultOperations vaultOperations;
+
+	VaultProperties.ConfigNegativeCache properties = new VaultProperties.ConfigNegativeCache();
+
+	@Test
+	public void shouldNotCacheWhenDisabled() {
+
+		VaultNegativeCache cache = create();
+		cache.notFound("secret/my-app/cloud");
+
+		assertThat(cache.isAbsent("secret/my-app/cloud")).isFalse();
+	}
+
+	@Test
+	public void shouldCacheAbsentSecret() {
+
+		this.properties.setEnabled(true);
+
+		VaultNegativeCache cache = create();
+		cache.notFound("secret/my-app/cloud");
+
+		assertThat(cache.isAbsent("secret/my-app/cloud")).isTrue();
+		assertThat(cache.isAbsent("secret/my-app")).isFalse();
+	}
+
+	@Test
+	public void shouldExpireAbsentSecret() {
+
+		this.properties.setEnabled(true);
+		this.properties.setTtl(Duration.ZERO);
+
+		VaultNegativeCache cache = create();
+		cache.notFound("secret/my-app/cloud");
+
+		assertThat(cache.isAbsent("secret/my-app/cloud")).isFalse();
+	}
+
+	@Test
+	public void shouldPruneSecretsUsingFolderListing() {
+
+		this.properties.setPrune(true);
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/secret/my-app/cloud"))
+				.thenReturn(mountResponse("secret/", "2"));
+		when(this.vaultOperations.list("secret/metadata/my-app/")).thenReturn(Arrays.asList("cloud", "local/"));
+
+		VaultNegativeCache cache = create();
+
+		assertThat(cache.isAbsent("secret/my-app/cloud")).isFalse();
+		assertThat(cache.isAbsent("secret/my-app/local")).isTrue();
+		assertThat(cache.isAbsent("secret/my-app/dev")).isTrue();
+
+		verify(this.vaultOperations, times(1)).list("secret/metadata/my-app/");
+	}
+
+	@Test
+	public void shouldNotListMountRoot() {
+
+		this.properties.setPrune(true);
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/secret/my-app"))
+				.thenReturn(mountResponse("secret/", "2"));
+
+		VaultNegativeCache cache = create();
+
+		assertThat(cache.isAbsent("secret/my-app")).isFalse();
+
+		verify(this.vaultOperations, never()).list(anyString());
+	}
+
+	@Test
+	public void shouldNotPruneIfListingFails() {
+
+		this.properties.setPrune(true);
+
+		when(this.vaultOperations.read("sys/internal/ui/mounts/kv/my-app/cloud")).thenReturn(mountResponse("kv/", "1"));
+		when(this.vaultOperations.list("kv/my-app/")).thenThrow(new VaultException("Status 403"));
+
+		VaultNegativeCache cache = create();
+
+		assertThat(cache.isAbsent("kv/my-app/cloud")).isFalse();
+	}
+
+	private VaultNegativeCache create() {
+		return new VaultNegativeCache(this.vaultOperations, new VaultMountCache(this.vaultOperations, false),
+				this.properties);
+	}
+
+	private static VaultResponse mountResponse(String path, String version) {
+
+		Map<String, Object> data = new HashMap<>();
+		data.put("path", path);
+		data.put("type", "kv");
+		data.put("options", Collections.singletonMap("version", version));
+
+		VaultResponse response = new VaultResponse();
+		response.setData(data);
+		return response;
+	}
+
+}
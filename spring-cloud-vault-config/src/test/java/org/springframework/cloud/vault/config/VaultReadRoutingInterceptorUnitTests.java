@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.cloud.vault.config.VaultReactiveHealthIndicator.VaultHealthImpl;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.vault.client.VaultEndpoint;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link VaultReadRoutingInterceptor}.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class VaultReadRoutingInterceptorUnitTests {
+
+	static final VaultHealthImpl PERFORMANCE_STANDBY = new VaultHealthImpl(true, false, false, true, null, 0, "1.7.0");
+
+	static final VaultHealthImpl ACTIVE = new VaultHealthImpl(true, false, false, false, null, 0, "1.7.0");
+
+	@Mock
+	RestOperations healthClient;
+
+	@Mock
+	HttpRequest request;
+
+	@Mock
+	ClientHttpRequestExecution execution;
+
+	VaultEndpoint active = VaultEndpoint.create("active", 8200);
+
+	VaultEndpoint standby = VaultEndpoint.create("standby", 8200);
+
+	VaultEndpoint unavailable = VaultEndpoint.create("unavailable", 8200);
+
+	VaultReadRoutingInterceptor interceptor;
+
+	@Before
+	public void before() {
+
+		this.interceptor = new VaultReadRoutingInterceptor(new VaultProperties.ReadRouting(),
+				() -> Arrays.asList(this.active, this.standby, this.unavailable), this.healthClient, Runnable::run);
+	}
+
+	@Test
+	public void shouldClassifyRequests() {
+
+		assertThat(this.interceptor.isRead(HttpMethod.GET, URI.create("https://active:8200/v1/secret/data/app")))
+				.isTrue();
+		assertThat(this.interceptor.isRead(HttpMethod.GET, URI.create("https://active:8200/v1/database/creds/app")))
+				.isFalse();
+		assertThat(this.interceptor.isRead(HttpMethod.PUT, URI.create("https://active:8200/v1/sys/leases/lookup")))
+				.isTrue();
+		assertThat(this.interceptor.isRead(HttpMethod.PUT, URI.create("https://active:8200/v1/sys/leases/renew")))
+				.isFalse();
+		assertThat(this.interceptor.isRead(HttpMethod.POST, URI.create("https://active:8200/v1/auth/approle/login")))
+				.isFalse();
+	}
+
+	@Test
+	public void shouldRetainHealthyPerformanceStandbys() {
+
+		mockHealth();
+
+		this.interceptor.refresh();
+
+		assertThat(this.interceptor.getStandbys()).containsOnly(this.standby);
+	}
+
+	@Test
+	public void shouldRouteReadsToPerformanceStandby() throws IOException {
+
+		mockHealth();
+		when(this.request.getMethod()).thenReturn(HttpMethod.GET);
+		when(this.request.getURI()).thenReturn(URI.create("https://active:8200/v1/secret/data/app?version=2"));
+
+		this.interceptor.intercept(this.request, new byte[0], this.execution);
+
+		ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+		verify(this.execution).execute(captor.capture(), any());
+
+		assertThat(captor.getValue().getURI())
+				.isEqualTo(URI.create("https://standby:8200/v1/secret/data/app?version=2"));
+	}
+
+	@Test
+	public void shouldRouteWritesToActiveNode() throws IOException {
+
+		when(this.request.getMethod()).thenReturn(HttpMethod.POST);
+		when(this.request.getURI()).thenReturn(URI.create("https://active:8200/v1/auth/approle/login"));
+
+		this.interceptor.intercept(this.request, new byte[0], this.execution);
+
+		verify(this.execution).execute(eq(this.request), any());
+	}
+
+	@Test
+	public void shouldShutDownHealthCheckExecutorOnDestroy() {
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		VaultReadRoutingInterceptor interceptor = new VaultReadRoutingInterceptor(new VaultProperties.ReadRouting(),
+				Collections::emptyList, this.healthClient, executor);
+
+		interceptor.destroy();
+
+		assertThat(executor.isShutdown()).isTrue();
+	}
+
+	private void mockHealth() {
+
+		when(this.healthClient.getForObject(any(URI.class), eq(VaultHealthImpl.class))).then(invocation -> {
+
+			URI uri = invocation.getArgument(0);
+
+			if (uri.getHost().equals("unavailable")) {
+				throw new ResourceAccessException("Connection refused");
+			}
+
+			return uri.getHost().equals("standby") ? PERFORMANCE_STANDBY : ACTIVE;
+		});
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link VaultServiceInstanceSelectors}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultServiceInstanceSelectorsUnitTests {
+
+	static final URI VAULT_1_HEALTH = URI.create("https://vault1:8200/v1/sys/health");
+
+	static final URI VAULT_2_HEALTH = URI.create("https://vault2:8200/v1/sys/health");
+
+	ServiceInstance vault1 = new DefaultServiceInstance("vault-1", "vault", "vault1", 8200, true);
+
+	ServiceInstance vault2 = new DefaultServiceInstance("vault-2", "vault", "vault2", 8200, true);
+
+	List<ServiceInstance> instances = Arrays.asList(this.vault1, this.vault2);
+
+	VaultEndpointStatistics statistics = new VaultEndpointStatistics();
+
+	@Test
+	public void firstShouldSelectFirstInstance() {
+
+		VaultServiceInstanceSelector selector = VaultServiceInstanceSelectors.first();
+
+		assertThat(selector.select(this.instances)).isSameAs(this.vault1);
+		assertThat(selector.select(this.instances)).isSameAs(this.vault1);
+	}
+
+	@Test
+	public void roundRobinShouldSelectInstancesInTurn() {
+
+		VaultServiceInstanceSelector selector = VaultServiceInstanceSelectors.roundRobin();
+
+		assertThat(selector.select(this.instances)).isSameAs(this.vault1);
+		assertThat(selector.select(this.instances)).isSameAs(this.vault2);
+		assertThat(selector.select(this.instances)).isSameAs(this.vault1);
+	}
+
+	@Test
+	public void leastOutstandingRequestsShouldSelectLeastBusyInstance() {
+
+		VaultServiceInstanceSelector selector = VaultServiceInstanceSelectors
+				.leastOutstandingRequests(this.statistics);
+
+		VaultEndpointStatistics.Request request = this.statistics.start(VAULT_1_HEALTH);
+
+		assertThat(selector.select(this.instances)).isSameAs(this.vault2);
+		assertThat(selector.select(this.instances)).isSameAs(this.vault2);
+
+		request.complete();
+
+		assertThat(this.statistics.getOutstandingRequests(this.vault1)).isZero();
+	}
+
+	@Test
+	public void latencyWeightedShouldPreferFasterInstance() {
+
+		VaultServiceInstanceSelector selector = VaultServiceInstanceSelectors.latencyWeighted(this.statistics);
+
+		this.statistics.start(VAULT_1_HEALTH).complete();
+		this.statistics.start(VAULT_2_HEALTH).complete();
+
+		assertThat(this.statistics.getLatency(this.vault1)).isNotNull();
+		assertThat(this.statistics.getLatency(this.vault2)).isNotNull();
+		assertThat(selector.select(this.instances)).isIn(this.vault1, this.vault2);
+	}
+
+	@Test
+	public void statisticsShouldResolveDefaultPort() {
+
+		ServiceInstance instance = new DefaultServiceInstance("vault-1", "vault", "vault1", 443, true);
+
+		this.statistics.start(URI.create("https://vault1/v1/sys/health"));
+
+		assertThat(this.statistics.getOutstandingRequests(instance)).isOne();
+		assertThat(this.statistics.getLatency(instance)).isNull();
+	}
+
+}
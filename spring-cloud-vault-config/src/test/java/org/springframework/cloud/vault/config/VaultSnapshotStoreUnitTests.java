@@ -0,0 +1,172 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.task.SyncTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Unit tests for {@link VaultSnapshotStore}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultSnapshotStoreUnitTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	VaultProperties.ConfigSnapshot properties = new VaultProperties.ConfigSnapshot();
+
+	@Before
+	public void before() throws Exception {
+		this.properties.setDirectory(new File(this.temporaryFolder.getRoot(), "snapshots").getAbsolutePath());
+		this.properties.setKey("my-key");
+	}
+
+	@Test
+	public void shouldReturnNullForAbsentSnapshot() {
+		assertThat(newStore().load("secret/my-app")).isNull();
+	}
+
+	@Test
+	public void shouldStoreAndLoadSnapshot() {
+
+		VaultSnapshotStore store = newStore();
+		store.save("secret/my-app", new VaultSnapshotStore.Snapshot(Collections.singletonMap("key", "value"), 3));
+
+		VaultSnapshotStore.Snapshot snapshot = newStore().load("secret/my-app");
+
+		assertThat(snapshot).isNotNull();
+		assertThat(snapshot.getData()).containsEntry("key", "value");
+		assertThat(snapshot.getVersion()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldEncryptSnapshot() throws Exception {
+
+		VaultSnapshotStore store = newStore();
+		store.save("secret/my-app", new VaultSnapshotStore.Snapshot(Collections.singletonMap("key", "s3cr3t"), null));
+
+		for (File file : new File(this.properties.getDirectory()).listFiles()) {
+			assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.ISO_8859_1))
+					.doesNotContain("s3cr3t");
+		}
+	}
+
+	@Test
+	public void shouldNotLoadSnapshotWithDifferentKey() {
+
+		newStore().save("secret/my-app",
+				new VaultSnapshotStore.Snapshot(Collections.singletonMap("key", "value"), null));
+
+		this.properties.setKey("other-key");
+
+		assertThat(newStore().load("secret/my-app")).isNull();
+	}
+
+	@Test
+	public void shouldSkipWritingUnchangedContent() throws Exception {
+
+		VaultSnapshotStore store = newStore();
+		Map<String, Object> entry = Collections.singletonMap("key", "value");
+
+		store.write("secret/my-app", entry);
+		byte[] written = readSnapshotFile();
+
+		store.write("secret/my-app", entry);
+		assertThat(readSnapshotFile()).isEqualTo(written);
+
+		store.write("secret/my-app", Collections.singletonMap("key", "changed"));
+		assertThat(readSnapshotFile()).isNotEqualTo(written);
+	}
+
+	@Test
+	public void shouldRequireDirectory() {
+
+		this.properties.setDirectory(null);
+
+		assertThatIllegalStateException().isThrownBy(() -> new VaultSnapshotStore(this.properties))
+				.withMessageContaining("spring.cloud.vault.config.snapshot.directory");
+	}
+
+	@Test
+	public void shouldRequireKey() {
+
+		this.properties.setKey(null);
+
+		assertThatIllegalStateException().isThrownBy(() -> new VaultSnapshotStore(this.properties))
+				.withMessageContaining("spring.cloud.vault.config.snapshot.key");
+	}
+
+	@Test
+	public void shouldCreateDirectoryWithOwnerOnlyPermissions() throws Exception {
+
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+		new VaultSnapshotStore(this.properties);
+
+		assertThat(PosixFilePermissions.toString(
+				Files.getPosixFilePermissions(new File(this.properties.getDirectory()).toPath())))
+						.isEqualTo("rwx------");
+	}
+
+	@Test
+	public void shouldRejectDirectoryAccessibleByOthers() throws Exception {
+
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+		Path directory = this.temporaryFolder.newFolder().toPath();
+		Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxr-xr-x"));
+		this.properties.setDirectory(directory.toString());
+
+		assertThatIllegalStateException().isThrownBy(() -> new VaultSnapshotStore(this.properties))
+				.withMessageContaining("must not be accessible by group or others");
+	}
+
+	private VaultSnapshotStore newStore() {
+		return new VaultSnapshotStore(this.properties.getDirectory(), this.properties.getKey(), new SyncTaskExecutor());
+	}
+
+	private byte[] readSnapshotFile() throws Exception {
+
+		for (File file : new File(this.properties.getDirectory()).listFiles()) {
+			if (file.getName().endsWith(".snapshot")) {
+				return Files.readAllBytes(file.toPath());
+			}
+		}
+
+		throw new IllegalStateException("No snapshot file found");
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.vault.VaultException;
+import org.springframework.vault.authentication.ClientAuthentication;
+import org.springframework.vault.support.VaultToken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link VaultStartup}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultStartupUnitTests {
+
+	BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(16);
+
+	@Test
+	public void shouldRecordLoginStep() {
+
+		ClientAuthentication authentication = VaultStartup.recordLogin(() -> VaultToken.of("token"),
+				this.applicationStartup, VaultProperties.AuthenticationMethod.APPROLE);
+
+		assertThat(authentication.login()).isEqualTo(VaultToken.of("token"));
+
+		StartupStep step = getSingleStep();
+		assertThat(step.getName()).isEqualTo("spring.cloud.vault.authentication.login");
+		assertThat(getTags(step)).containsEntry("method", "APPROLE").containsEntry("status", "success");
+	}
+
+	@Test
+	public void shouldRecordFailedLoginStep() {
+
+		ClientAuthentication authentication = VaultStartup.recordLogin(() -> {
+			throw new VaultException("Permission denied");
+		}, this.applicationStartup, VaultProperties.AuthenticationMethod.APPROLE);
+
+		assertThatExceptionOfType(VaultException.class).isThrownBy(authentication::login);
+
+		assertThat(getTags(getSingleStep())).containsEntry("status", "error");
+	}
+
+	private StartupStep getSingleStep() {
+
+		List<TimelineEvent> events = this.applicationStartup.getBufferedTimeline().getEvents();
+		assertThat(events).hasSize(1);
+
+		return events.get(0).getStartupStep();
+	}
+
+	private static Map<String, String> getTags(StartupStep step) {
+
+		Map<String, String> tags = new HashMap<>();
+		step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+		return tags;
+	}
+
+}
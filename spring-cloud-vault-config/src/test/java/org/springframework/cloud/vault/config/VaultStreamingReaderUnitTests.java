@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import org.springframework.vault.support.JsonMapFlattener;
+import org.springframework.vault.support.VaultResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link VaultStreamingReader}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultStreamingReaderUnitTests {
+
+	static final String DATA = "{\"key\":\"value\",\"int\":42,\"long\":12345678901,\"double\":1.5,\"bool\":true,"
+			+ "\"null\":null,\"nested\":{\"a\":\"b\",\"deeper\":{\"c\":[1,{\"d\":\"e\"},[\"f\"]]}},"
+			+ "\"emptyMap\":{},\"emptyList\":[],\"list\":[\"x\",\"y\"]}";
+
+	@Test
+	public void shouldFlattenLikeJsonMapFlattener() throws IOException {
+
+		String json = "{\"request_id\":\"req\",\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":2764800,"
+				+ "\"data\":" + DATA + ",\"wrap_info\":null,\"warnings\":null,\"auth\":null}";
+
+		VaultResponse expected = new ObjectMapper().readValue(json, VaultResponse.class);
+		VaultResponse response = parse(json, false);
+
+		assertThat(response.getData()).isEqualTo(JsonMapFlattener.flatten(expected.getRequiredData()));
+		assertThat(response.getData()).containsEntry("nested.deeper.c[1].d", "e")
+				.containsEntry("nested.deeper.c[2][0]", "f").containsKey("null").doesNotContainKey("emptyMap")
+				.doesNotContainKey("emptyList");
+		assertThat(response.getRequestId()).isEqualTo("req");
+		assertThat(response.getLeaseDuration()).isEqualTo(2764800);
+		assertThat(response.isRenewable()).isFalse();
+	}
+
+	@Test
+	public void shouldUnwrapVersionedResponse() throws IOException {
+
+		String json = "{\"request_id\":\"req\",\"data\":{\"data\":" + DATA
+				+ ",\"metadata\":{\"version\":3,\"deletion_time\":\"\"}},\"warnings\":[\"warning\"]}";
+
+		VaultResponse response = parse(json, true);
+
+		assertThat(response.getData()).containsEntry("key", "value").containsEntry("nested.a", "b");
+		assertThat(response.getMetadata()).containsEntry("version", 3);
+		assertThat(response.getWarnings()).containsExactly("warning");
+	}
+
+	@Test
+	public void shouldReturnNullForDeletedVersionedSecret() throws IOException {
+
+		String json = "{\"data\":{\"data\":null,\"metadata\":{\"version\":3}}}";
+
+		assertThat(parse(json, true)).isNull();
+	}
+
+	@Test
+	public void shouldReturnNullForEmptyBody() throws IOException {
+		assertThat(parse("", false)).isNull();
+	}
+
+	private static VaultResponse parse(String json, boolean versioned) throws IOException {
+		return VaultStreamingReader.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+				versioned);
+	}
+
+}
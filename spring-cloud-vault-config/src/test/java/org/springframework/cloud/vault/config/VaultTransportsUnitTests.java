@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.vault.config.AbstractVaultConfiguration.ClientFactoryWrapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link VaultTransports}.
+ *
+ * @author Mark Paluch
+ */
+public class VaultTransportsUnitTests {
+
+	VaultTransports transports = new VaultTransports();
+
+	@Test
+	public void shouldShareTransportForSameConfiguration() throws Exception {
+
+		VaultProperties properties = new VaultProperties();
+		properties.setReadTimeout(12345);
+		AtomicInteger creations = new AtomicInteger();
+
+		ClientFactoryWrapper first = this.transports.acquireRequestFactory(properties, () -> {
+			creations.incrementAndGet();
+			return new SimpleClientHttpRequestFactory();
+		});
+		ClientFactoryWrapper second = this.transports.acquireRequestFactory(properties, () -> {
+			creations.incrementAndGet();
+			return new SimpleClientHttpRequestFactory();
+		});
+
+		assertThat(second.getClientHttpRequestFactory()).isSameAs(first.getClientHttpRequestFactory());
+		assertThat(creations).hasValue(1);
+		assertThat(this.transports.getReferenceCount("imperative", properties)).isEqualTo(2);
+
+		first.destroy();
+		first.destroy();
+		assertThat(this.transports.getReferenceCount("imperative", properties)).isEqualTo(1);
+
+		second.destroy();
+		assertThat(this.transports.getReferenceCount("imperative", properties)).isZero();
+	}
+
+	@Test
+	public void shouldNotShareTransportForDifferentConfiguration() throws Exception {
+
+		VaultProperties first = new VaultProperties();
+		first.setReadTimeout(1111);
+
+		VaultProperties second = new VaultProperties();
+		second.setReadTimeout(1111);
+		second.getHttp().setMaxConnections(5);
+
+		ClientFactoryWrapper firstWrapper = this.transports.acquireRequestFactory(first,
+				SimpleClientHttpRequestFactory::new);
+		ClientFactoryWrapper secondWrapper = this.transports.acquireRequestFactory(second,
+				SimpleClientHttpRequestFactory::new);
+
+		assertThat(secondWrapper.getClientHttpRequestFactory())
+				.isNotSameAs(firstWrapper.getClientHttpRequestFactory());
+
+		firstWrapper.destroy();
+		secondWrapper.destroy();
+	}
+
+	@Test
+	public void shouldNotShareTransportAcrossRegistries() throws Exception {
+
+		VaultProperties properties = new VaultProperties();
+
+		ClientFactoryWrapper first = this.transports.acquireRequestFactory(properties,
+				SimpleClientHttpRequestFactory::new);
+		ClientFactoryWrapper second = new VaultTransports().acquireRequestFactory(properties,
+				SimpleClientHttpRequestFactory::new);
+
+		assertThat(second.getClientHttpRequestFactory()).isNotSameAs(first.getClientHttpRequestFactory());
+
+		first.destroy();
+		second.destroy();
+	}
+
+	@Test
+	public void shouldNotRetainPasswordsInKey() {
+
+		VaultProperties properties = new VaultProperties();
+		properties.getSsl().setKeyStorePassword("key-store-secret");
+		properties.getSsl().setTrustStorePassword("trust-store-secret");
+
+		assertThat(VaultTransports.createKey("imperative", properties)).doesNotContain("key-store-secret")
+				.doesNotContain("trust-store-secret").hasSize(64);
+	}
+
+}
@@ -0,0 +1,636 @@
+/*
+ * Copyright 2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.vault.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.springframework.cloud.vault.config.VaultProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * In-process stand-in for Vault serving the HTTP API subset used by Spring Cloud Vault
+ * during startup and lifecycle management:
+ * <ul>
+ * <li>Key-Value secrets (version 1 and 2, including {@code metadata}).</li>
+ * <li>Mount discovery through {@code sys/internal/ui/mounts}.</li>
+ * <li>Logins through {@code auth/<mount>/login} for any authentication method, token
+ * {@code lookup-self}, {@code renew-self} and {@code revoke-self}.</li>
+ * <li>Dynamic database credentials through {@code <mount>/creds/<role>} along with
+ * lease renewal and revocation.</li>
+ * <li>{@code sys/health}.</li>
+ * </ul>
+ * Requests can be delayed by a {@link #setLatency(Duration) latency} and fail through
+ * {@link #setErrorRate(double) error injection}. Tokens are not validated. The server
+ * binds to the loopback interface on an ephemeral port and serves plain HTTP.
+ *
+ * <pre class="code">
+ * try (FakeVaultServer vault = FakeVaultServer.start()) {
+ *
+ * 	vault.putSecret("secret/my-app", Collections.singletonMap("key", "value"));
+ * 	vault.applyTo(vaultProperties);
+ * 	// …
+ * }
+ * </pre>
+ *
+ * @author Mark Paluch
+ */
+public class FakeVaultServer implements Closeable {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	private final Map<String, Mount> mounts = new ConcurrentHashMap<>();
+
+	private final Map<String, Secret> secrets = new ConcurrentHashMap<>();
+
+	private final Set<String> leases = ConcurrentHashMap.newKeySet();
+
+	private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+	private volatile Duration latency = Duration.ZERO;
+
+	private volatile double errorRate;
+
+	private volatile Predicate<String> errorPaths = path -> true;
+
+	private volatile Duration tokenTtl = Duration.ofHours(1);
+
+	private FakeVaultServer() throws IOException {
+
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("fake-vault-");
+		threadFactory.setDaemon(true);
+
+		this.executor = Executors.newCachedThreadPool(threadFactory);
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/v1/", this::handle);
+
+		mountKeyValue("secret", 2);
+		mountDatabase("database", Duration.ofMinutes(5));
+	}
+
+	/**
+	 * Start a new {@link FakeVaultServer} with a versioned Key-Value mount at
+	 * {@code secret/} and a database mount at {@code database/}.
+	 * @return the started server.
+	 */
+	public static FakeVaultServer start() {
+
+		try {
+			FakeVaultServer server = new FakeVaultServer();
+			server.server.start();
+			return server;
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Cannot start fake Vault server", e);
+		}
+	}
+
+	/**
+	 * Mount a Key-Value backend.
+	 * @param path the mount path.
+	 * @param version the Key-Value backend version, {@code 1} or {@code 2}.
+	 * @return {@code this} server.
+	 */
+	public FakeVaultServer mountKeyValue(String path, int version) {
+
+		Assert.isTrue(version == 1 || version == 2, "Version must be 1 or 2");
+
+		Mount mount = new Mount(normalize(path), "kv", version == 2, Duration.ZERO);
+		this.mounts.put(mount.path, mount);
+		return this;
+	}
+
+	/**
+	 * Mount a database backend issuing credentials for any role.
+	 * @param path the mount path.
+	 * @param leaseDuration duration of issued leases.
+	 * @return {@code this} server.
+	 */
+	public FakeVaultServer mountDatabase(String path, Duration leaseDuration) {
+
+		Mount mount = new Mount(normalize(path), "database", false, leaseDuration);
+		this.mounts.put(mount.path, mount);
+		return this;
+	}
+
+	/**
+	 * Store a secret. Storing a secret in a versioned Key-Value backend creates a new
+	 * version.
+	 * @param path the secret path including the mount path, e.g.
+	 * {@code secret/my-app}.
+	 * @param data the secret data.
+	 * @return {@code this} server.
+	 */
+	public FakeVaultServer putSecret(String path, Map<String, ?> data) {
+
+		this.secrets.compute(path, (key, existing) -> new Secret(new LinkedHashMap<>(data),
+				existing != null ? existing.version + 1 : 1));
+		return this;
+	}
+
+	/**
+	 * Delay each response by {@code latency}.
+	 * @param latency the latency, must not be {@literal null}.
+	 */
+	public void setLatency(Duration latency) {
+
+		Assert.notNull(latency, "Latency must not be null");
+
+		this.latency = latency;
+	}
+
+	/**
+	 * Fail the given fraction of requests with {@code 500 Internal Server Error}.
+	 * @param errorRate value between {@code 0} (no errors) and {@code 1} (all requests
+	 * fail).
+	 */
+	public void setErrorRate(double errorRate) {
+
+		Assert.isTrue(errorRate >= 0 && errorRate <= 1, "Error rate must be between 0 and 1");
+
+		this.errorRate = errorRate;
+	}
+
+	/**
+	 * Restrict error injection to paths matching {@code errorPaths}.
+	 * @param errorPaths predicate applied to the request path (without {@code /v1/}).
+	 */
+	public void setErrorPaths(Predicate<String> errorPaths) {
+
+		Assert.notNull(errorPaths, "Error paths must not be null");
+
+		this.errorPaths = errorPaths;
+	}
+
+	/**
+	 * Set the TTL of tokens issued through login and renewal.
+	 * @param tokenTtl the token TTL.
+	 */
+	public void setTokenTtl(Duration tokenTtl) {
+
+		Assert.notNull(tokenTtl, "Token TTL must not be null");
+
+		this.tokenTtl = tokenTtl;
+	}
+
+	/**
+	 * @return the server {@link URI}, e.g. {@code http://127.0.0.1:54321}.
+	 */
+	public URI getUri() {
+
+		InetSocketAddress address = this.server.getAddress();
+		return URI.create(String.format("http://%s:%d", address.getHostString(), address.getPort()));
+	}
+
+	/**
+	 * Configure {@link VaultProperties} to connect to this server.
+	 * @param vaultProperties the properties to configure.
+	 */
+	public void applyTo(VaultProperties vaultProperties) {
+
+		vaultProperties.setScheme("http");
+		vaultProperties.setHost(this.server.getAddress().getHostString());
+		vaultProperties.setPort(this.server.getAddress().getPort());
+		vaultProperties.setUri(null);
+	}
+
+	/**
+	 * @return properties to connect to this server using {@code spring.cloud.vault.*}.
+	 */
+	public Map<String, Object> getProperties() {
+
+		Map<String, Object> properties = new LinkedHashMap<>();
+		properties.put("spring.cloud.vault.uri", getUri().toString());
+		properties.put("spring.cloud.vault.token", "fake-token");
+		return properties;
+	}
+
+	/**
+	 * @return total number of requests.
+	 */
+	public int getRequestCount() {
+		return this.requestCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+	}
+
+	/**
+	 * @param path the request path (without {@code /v1/}).
+	 * @return number of requests to {@code path}.
+	 */
+	public int getRequestCount(String path) {
+
+		AtomicInteger count = this.requestCounts.get(path);
+		return count != null ? count.get() : 0;
+	}
+
+	/**
+	 * @return number of active (issued and not revoked) leases.
+	 */
+	public int getActiveLeaseCount() {
+		return this.leases.size();
+	}
+
+	@Override
+	public void close() {
+		this.server.stop(0);
+		this.executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+
+		try {
+
+			String path = exchange.getRequestURI().getPath().substring("/v1/".length());
+			this.requestCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+
+			Duration latency = this.latency;
+			if (!latency.isZero()) {
+				Thread.sleep(latency.toMillis());
+			}
+
+			if (this.errorRate > 0 && this.errorPaths.test(path)
+					&& ThreadLocalRandom.current().nextDouble() < this.errorRate) {
+				respond(exchange, 500, errors("injected error"));
+				return;
+			}
+
+			Response response = route(exchange.getRequestMethod(), path, readBody(exchange));
+			respond(exchange, response.status, response.body);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			respond(exchange, 503, errors("interrupted"));
+		}
+		catch (RuntimeException e) {
+			respond(exchange, 500, errors(e.toString()));
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private Response route(String method, String path, Map<String, Object> body) {
+
+		if (path.equals("sys/health")) {
+			return Response.ok(health());
+		}
+
+		if (path.equals("sys/internal/ui/mounts")) {
+			return Response.ok(data(Collections.singletonMap("secret", listMounts())));
+		}
+
+		if (path.startsWith("sys/internal/ui/mounts/")) {
+
+			Mount mount = findMount(path.substring("sys/internal/ui/mounts/".length()));
+			return mount != null ? Response.ok(data(mount.describe())) : Response.notFound();
+		}
+
+		if (path.startsWith("sys/leases/renew") || path.startsWith("sys/renew")) {
+			return renewLease(getLeaseId(path, body));
+		}
+
+		if (path.startsWith("sys/leases/revoke") || path.startsWith("sys/revoke")) {
+			this.leases.remove(getLeaseId(path, body));
+			return Response.noContent();
+		}
+
+		if (path.equals("auth/token/lookup-self")) {
+			return Response.ok(data(tokenInfo()));
+		}
+
+		if (path.equals("auth/token/renew-self") || path.endsWith("/login")) {
+			return Response.ok(auth());
+		}
+
+		if (path.equals("auth/token/revoke-self")) {
+			return Response.noContent();
+		}
+
+		Mount mount = findMount(path);
+
+		if (mount == null) {
+			return Response.notFound();
+		}
+
+		return mount.type.equals("database") ? databaseCredentials(mount, path)
+				: keyValue(mount, method, path, body);
+	}
+
+	private Response keyValue(Mount mount, String method, String path, Map<String, Object> body) {
+
+		String relative = path.substring(mount.path.length());
+
+		if (!mount.versioned) {
+
+			if (method.equals("GET")) {
+				Secret secret = this.secrets.get(path);
+				return secret != null ? Response.ok(data(secret.data)) : Response.notFound();
+			}
+
+			putSecret(path, body);
+			return Response.noContent();
+		}
+
+		if (relative.startsWith("data/")) {
+
+			String secretPath = mount.path + relative.substring("data/".length());
+
+			if (!method.equals("GET")) {
+				Object data = body.get("data");
+				putSecret(secretPath, data instanceof Map ? asMap(data) : body);
+				return Response.ok(data(Collections.singletonMap("version", this.secrets.get(secretPath).version)));
+			}
+
+			Secret secret = this.secrets.get(secretPath);
+
+			if (secret == null) {
+				return Response.notFound();
+			}
+
+			Map<String, Object> data = new LinkedHashMap<>();
+			data.put("data", secret.data);
+			data.put("metadata", Collections.singletonMap("version", secret.version));
+			return Response.ok(data(data));
+		}
+
+		if (relative.startsWith("metadata/")) {
+
+			Secret secret = this.secrets.get(mount.path + relative.substring("metadata/".length()));
+
+			if (secret == null) {
+				return Response.notFound();
+			}
+
+			Map<String, Object> metadata = new LinkedHashMap<>();
+			metadata.put("current_version", secret.version);
+			metadata.put("oldest_version", 1);
+			return Response.ok(data(metadata));
+		}
+
+		return Response.notFound();
+	}
+
+	private Response databaseCredentials(Mount mount, String path) {
+
+		if (!path.startsWith(mount.path + "creds/")) {
+			return Response.notFound();
+		}
+
+		String leaseId = path + "/" + UUID.randomUUID();
+		this.leases.add(leaseId);
+
+		Map<String, Object> credentials = new LinkedHashMap<>();
+		credentials.put("username", "v-" + UUID.randomUUID().toString().substring(0, 8));
+		credentials.put("password", UUID.randomUUID().toString());
+
+		Map<String, Object> response = lease(leaseId, mount.leaseDuration);
+		response.put("data", credentials);
+		return Response.ok(response);
+	}
+
+	private Response renewLease(String leaseId) {
+
+		if (!this.leases.contains(leaseId)) {
+			return new Response(400, errors("lease not found"));
+		}
+
+		Mount mount = findMount(leaseId);
+		return Response.ok(lease(leaseId, mount != null ? mount.leaseDuration : Duration.ofMinutes(5)));
+	}
+
+	/**
+	 * Obtain the lease id from the request body or from the path for
+	 * {@code sys/(leases/)renew|revoke/<lease id>} requests.
+	 */
+	private static String getLeaseId(String path, Map<String, Object> body) {
+
+		Object leaseId = body.get("lease_id");
+
+		if (leaseId instanceof String) {
+			return (String) leaseId;
+		}
+
+		String operation = path.startsWith("sys/leases/") ? path.substring("sys/leases/".length())
+				: path.substring("sys/".length());
+		int slash = operation.indexOf('/');
+
+		return slash != -1 ? operation.substring(slash + 1) : "";
+	}
+
+	@Nullable
+	private Mount findMount(String path) {
+
+		for (Mount mount : this.mounts.values()) {
+			if (path.startsWith(mount.path)) {
+				return mount;
+			}
+		}
+
+		return null;
+	}
+
+	private Map<String, Object> listMounts() {
+
+		Map<String, Object> mounts = new LinkedHashMap<>();
+		this.mounts.values().forEach(mount -> mounts.put(mount.path, mount.describe()));
+		return mounts;
+	}
+
+	private Map<String, Object> health() {
+
+		Map<String, Object> health = new LinkedHashMap<>();
+		health.put("initialized", true);
+		health.put("sealed", false);
+		health.put("standby", false);
+		health.put("performance_standby", false);
+		health.put("version", "1.6.0");
+		health.put("server_time_utc", System.currentTimeMillis() / 1000);
+		return health;
+	}
+
+	private Map<String, Object> tokenInfo() {
+
+		Map<String, Object> info = new LinkedHashMap<>();
+		info.put("accessor", UUID.randomUUID().toString());
+		info.put("ttl", this.tokenTtl.getSeconds());
+		info.put("renewable", true);
+		info.put("type", "service");
+		return info;
+	}
+
+	private Map<String, Object> auth() {
+
+		Map<String, Object> auth = new LinkedHashMap<>();
+		auth.put("client_token", "s." + UUID.randomUUID());
+		auth.put("accessor", UUID.randomUUID().toString());
+		auth.put("lease_duration", this.tokenTtl.getSeconds());
+		auth.put("renewable", true);
+		auth.put("token_type", "service");
+
+		return Collections.singletonMap("auth", auth);
+	}
+
+	private static Map<String, Object> lease(String leaseId, Duration leaseDuration) {
+
+		Map<String, Object> lease = new LinkedHashMap<>();
+		lease.put("lease_id", leaseId);
+		lease.put("lease_duration", leaseDuration.getSeconds());
+		lease.put("renewable", true);
+		return lease;
+	}
+
+	private static Map<String, Object> data(Object data) {
+		return Collections.singletonMap("data", data);
+	}
+
+	private static Map<String, Object> errors(String message) {
+		return Collections.singletonMap("errors", Collections.singletonList(message));
+	}
+
+	private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+
+		try (InputStream body = exchange.getRequestBody()) {
+
+			byte[] bytes = StreamUtils.copyToByteArray(body);
+			return bytes.length == 0 ? Collections.emptyMap() : asMap(OBJECT_MAPPER.readValue(bytes, Map.class));
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, @Nullable Object body) throws IOException {
+
+		if (body == null) {
+			exchange.sendResponseHeaders(status, -1);
+			return;
+		}
+
+		byte[] bytes = OBJECT_MAPPER.writeValueAsBytes(body);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> asMap(Object object) {
+		return (Map<String, Object>) object;
+	}
+
+	private static String normalize(String path) {
+		return path.endsWith("/") ? path : path + "/";
+	}
+
+	static class Mount {
+
+		final String path;
+
+		final String type;
+
+		final boolean versioned;
+
+		final Duration leaseDuration;
+
+		Mount(String path, String type, boolean versioned, Duration leaseDuration) {
+			this.path = path;
+			this.type = type;
+			this.versioned = versioned;
+			this.leaseDuration = leaseDuration;
+		}
+
+		Map<String, Object> describe() {
+
+			Map<String, Object> description = new LinkedHashMap<>();
+			description.put("path", this.path);
+			description.put("type", this.type);
+			description.put("options",
+					this.type.equals("kv") ? Collections.singletonMap("version", this.versioned ? "2" : "1")
+							: Collections.emptyMap());
+			return description;
+		}
+
+	}
+
+	static class Secret {
+
+		final Map<String, Object> data;
+
+		final int version;
+
+		Secret(Map<String, Object> data, int version) {
+			this.data = data;
+			this.version = version;
+		}
+
+	}
+
+	static class Response {
+
+		final int status;
+
+		@Nullable
+		final Object body;
+
+		Response(int status, @Nullable Object body) {
+			this.status = status;
+			this.body = body;
+		}
+
+		static Response ok(Object body) {
+			return new Response(200, body);
+		}
+
+		static Response noContent() {
+			return new Response(204, null);
+		}
+
+		static Response notFound() {
+			return new Response(404, Collections.singletonMap("errors", Collections.emptyList()));
+		}
+
+	}
+
+}